@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.benchmark;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.heimuheimu.util.grafana.dashboard.Dashboard;
+import com.heimuheimu.util.grafana.dashboard.DashboardClient;
+import com.heimuheimu.util.grafana.dashboard.DashboardJsonModule;
+import com.heimuheimu.util.grafana.datasource.DataSource;
+import com.heimuheimu.util.grafana.datasource.DataSourceClient;
+import com.heimuheimu.util.grafana.folder.FolderClient;
+import com.heimuheimu.util.grafana.http.GrafanaHttpClient;
+import com.heimuheimu.util.grafana.organization.OrganizationClient;
+import com.heimuheimu.util.grafana.support.mysql.MysqlDashboardsBuilder;
+import com.heimuheimu.util.grafana.support.redis.client.RedisClientDashboardsBuilder;
+import com.heimuheimu.util.grafana.support.redis.lock.RedisLockDashboardsBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 Jackson Bean 序列化与 {@link DashboardJsonModule} 流式序列化的性能，使用生成的最大的若干个 dashboard 作为样本，
+ * 两者均使用规范化 JSON 的配置（属性及 Map 的 Key 按字母顺序排列）。
+ *
+ * <p>运行方式：在项目根目录执行 {@code mvn install}，然后在 benchmark 目录执行 {@code mvn package && java -jar target/benchmarks.jar}。</p>
+ *
+ * @author heimuheimu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardSerializationBenchmark {
+
+    /**
+     * 样本 dashboard 数量
+     */
+    private static final int SAMPLE_SIZE = 3;
+
+    /**
+     * 使用 Bean 序列化的 ObjectMapper
+     */
+    private final ObjectMapper beanObjectMapper = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    /**
+     * 使用 DashboardJsonModule 序列化的 ObjectMapper
+     */
+    private final ObjectMapper moduleObjectMapper = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .registerModule(new DashboardJsonModule());
+
+    /**
+     * 样本 dashboard 列表
+     */
+    private List<Dashboard> dashboardList;
+
+    @Setup
+    public void setup() throws Exception {
+        GrafanaHttpClient grafanaHttpClient = new GrafanaHttpClient("admin", "admin", "127.0.0.1", 3000, false);
+        OrganizationClient organizationClient = new OrganizationClient(grafanaHttpClient);
+        DataSourceClient dataSourceClient = new DataSourceClient(grafanaHttpClient);
+        FolderClient folderClient = new FolderClient(grafanaHttpClient);
+        DashboardClient dashboardClient = new DashboardClient(grafanaHttpClient);
+        DataSource dataSource = new DataSource();
+        dataSource.setName("Prometheus");
+        dataSource.setUrl("http://127.0.0.1:9090");
+
+        List<Dashboard> allDashboardList = new ArrayList<>();
+        new RedisClientDashboardsBuilder(organizationClient, dataSourceClient, dataSource, folderClient, dashboardClient) {{
+            allDashboardList.addAll(getDashboardList("benchmark", "30s"));
+        }};
+        new RedisLockDashboardsBuilder(organizationClient, dataSourceClient, dataSource, folderClient, dashboardClient) {{
+            allDashboardList.addAll(getDashboardList("benchmark", "30s"));
+        }};
+        new MysqlDashboardsBuilder(organizationClient, dataSourceClient, dataSource, folderClient, dashboardClient) {{
+            allDashboardList.addAll(getDashboardList("benchmark", "30s"));
+        }};
+        List<byte[]> beanJsonList = new ArrayList<>();
+        for (Dashboard dashboard : allDashboardList) {
+            beanJsonList.add(beanObjectMapper.writeValueAsBytes(dashboard));
+        }
+        List<Integer> indexList = new ArrayList<>();
+        for (int i = 0; i < allDashboardList.size(); i++) {
+            indexList.add(i);
+        }
+        indexList.sort(Comparator.comparingInt((Integer index) -> beanJsonList.get(index).length).reversed());
+        dashboardList = new ArrayList<>();
+        for (int index : indexList.subList(0, SAMPLE_SIZE)) {
+            Dashboard dashboard = allDashboardList.get(index);
+            if (!Arrays.equals(beanJsonList.get(index), moduleObjectMapper.writeValueAsBytes(dashboard))) {
+                throw new IllegalStateException("Serialization result mismatch. dashboard: `" + dashboard.getTitle() + "`.");
+            }
+            dashboardList.add(dashboard);
+        }
+    }
+
+    @Benchmark
+    public void bean(Blackhole blackhole) throws Exception {
+        for (Dashboard dashboard : dashboardList) {
+            blackhole.consume(beanObjectMapper.writeValueAsBytes(dashboard));
+        }
+    }
+
+    @Benchmark
+    public void module(Blackhole blackhole) throws Exception {
+        for (Dashboard dashboard : dashboardList) {
+            blackhole.consume(moduleObjectMapper.writeValueAsBytes(dashboard));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana;
+
+import com.heimuheimu.util.grafana.dashboard.DashboardDiff;
+import com.heimuheimu.util.grafana.dashboard.DashboardSyncResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * dashboards 生成器的执行计划，包含生成的 dashboards 与 Grafana 中已部署的 dashboards 之间的差异，生成执行计划不会修改 Grafana 中的任何资源。
+ *
+ * <p><strong>说明：</strong>DashboardsPlan 类是非线程安全的，不允许多个线程使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @see PlannableDashboardsBuilder#plan(String, String, java.io.OutputStream)
+ */
+public class DashboardsPlan {
+
+    /**
+     * 组织名称
+     */
+    private String organizationName = "";
+
+    /**
+     * 放置 dashboards 的文件夹名称
+     */
+    private String folderName = "";
+
+    /**
+     * dashboard 差异列表
+     */
+    private List<DashboardDiff> diffList = new ArrayList<>();
+
+    /**
+     * 获得组织名称。
+     *
+     * @return 组织名称
+     */
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    /**
+     * 设置组织名称。
+     *
+     * @param organizationName 组织名称
+     */
+    public void setOrganizationName(String organizationName) {
+        this.organizationName = organizationName;
+    }
+
+    /**
+     * 获得放置 dashboards 的文件夹名称。
+     *
+     * @return 放置 dashboards 的文件夹名称
+     */
+    public String getFolderName() {
+        return folderName;
+    }
+
+    /**
+     * 设置放置 dashboards 的文件夹名称。
+     *
+     * @param folderName 放置 dashboards 的文件夹名称
+     */
+    public void setFolderName(String folderName) {
+        this.folderName = folderName;
+    }
+
+    /**
+     * 获得 dashboard 差异列表。
+     *
+     * @return dashboard 差异列表
+     */
+    public List<DashboardDiff> getDiffList() {
+        return diffList;
+    }
+
+    /**
+     * 设置 dashboard 差异列表。
+     *
+     * @param diffList dashboard 差异列表
+     */
+    public void setDiffList(List<DashboardDiff> diffList) {
+        this.diffList = diffList;
+    }
+
+    /**
+     * 获得将被创建的 dashboard 数量。
+     *
+     * @return 将被创建的 dashboard 数量
+     */
+    public int getCreatedCount() {
+        return count(DashboardSyncResult.CREATED);
+    }
+
+    /**
+     * 获得将被修改的 dashboard 数量。
+     *
+     * @return 将被修改的 dashboard 数量
+     */
+    public int getChangedCount() {
+        return count(DashboardSyncResult.UPDATED);
+    }
+
+    /**
+     * 获得无需修改的 dashboard 数量。
+     *
+     * @return 无需修改的 dashboard 数量
+     */
+    public int getUnchangedCount() {
+        return count(DashboardSyncResult.UNCHANGED);
+    }
+
+    /**
+     * 获得执行计划的简要描述，第一行为汇总信息，后续每行为一个将被创建（以 "+" 开头）或修改（以 "~" 开头）的 dashboard。
+     *
+     * @return 执行计划的简要描述
+     */
+    public String getSummary() {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("Plan `").append(organizationName).append("` [").append(folderName).append("]: ")
+                .append(getCreatedCount()).append(" to create, ")
+                .append(getChangedCount()).append(" to change, ")
+                .append(getUnchangedCount()).append(" unchanged.");
+        for (DashboardDiff diff : diffList) {
+            if (diff.getResult() == DashboardSyncResult.CREATED) {
+                buffer.append("\n  + ").append(diff.getTitle());
+            } else if (diff.getResult() == DashboardSyncResult.UPDATED) {
+                buffer.append("\n  ~ ").append(diff.getTitle());
+                if (!diff.getChangedPanelList().isEmpty()) {
+                    buffer.append(" panels: ").append(diff.getChangedPanelList());
+                }
+                if (!diff.getChangedFieldList().isEmpty()) {
+                    buffer.append(" fields: ").append(diff.getChangedFieldList());
+                }
+                if (diff.isFolderChanged()) {
+                    buffer.append(" folder changed");
+                }
+            }
+        }
+        return buffer.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardsPlan{" +
+                "organizationName='" + organizationName + '\'' +
+                ", folderName='" + folderName + '\'' +
+                ", diffList=" + diffList +
+                '}';
+    }
+
+    private int count(DashboardSyncResult result) {
+        int count = 0;
+        for (DashboardDiff diff : diffList) {
+            if (diff.getResult() == result) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
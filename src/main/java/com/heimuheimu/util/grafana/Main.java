@@ -1,10 +1,13 @@
 package com.heimuheimu.util.grafana;
 
 import com.heimuheimu.util.grafana.dashboard.DashboardClient;
+import com.heimuheimu.util.grafana.datasource.CachingDataSourceClient;
 import com.heimuheimu.util.grafana.datasource.DataSource;
 import com.heimuheimu.util.grafana.datasource.DataSourceClient;
+import com.heimuheimu.util.grafana.folder.CachingFolderClient;
 import com.heimuheimu.util.grafana.folder.FolderClient;
 import com.heimuheimu.util.grafana.http.GrafanaHttpClient;
+import com.heimuheimu.util.grafana.organization.CachingOrganizationClient;
 import com.heimuheimu.util.grafana.organization.OrganizationClient;
 import com.heimuheimu.util.grafana.support.async.consumer.AsyncConsumerDashboardsBuilder;
 import com.heimuheimu.util.grafana.support.async.producer.AsyncProducerDashboardsBuilder;
@@ -131,8 +134,8 @@ public class Main {
         // 设置 Granfana 的管理员账号、密码、主机、端口
         GrafanaHttpClient grafanaHttpClient = new GrafanaHttpClient("admin", "********",
                 "localhost", 8300, false);
-        OrganizationClient organizationClient = new OrganizationClient(grafanaHttpClient);
-        DataSourceClient dataSourceClient = new DataSourceClient(grafanaHttpClient);
+        OrganizationClient organizationClient = new CachingOrganizationClient(grafanaHttpClient);
+        DataSourceClient dataSourceClient = new CachingDataSourceClient(grafanaHttpClient);
         DataSource dataSource = new DataSource();
         // 设置 DataSource 名称
         dataSource.setName("Prometheus");
@@ -140,7 +143,7 @@ public class Main {
         // 设置 DataSource 对应的 Prometheus 访问路径
         dataSource.setUrl("http://localhost:9090");
         dataSource.setAccess(DataSource.ACCESS_MODE_PROXY);
-        FolderClient folderClient = new FolderClient(grafanaHttpClient);
+        FolderClient folderClient = new CachingFolderClient(grafanaHttpClient);
         DashboardClient dashboardClient = new DashboardClient(grafanaHttpClient);
         // hotspot
         HOTSPOT_BUILDER = new HotspotDashboardsBuilder(organizationClient, dataSourceClient, dataSource, folderClient, dashboardClient);
@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana;
+
+import java.io.OutputStream;
+
+/**
+ * 支持生成执行计划的 dashboards 生成器，可在不修改 Grafana 中任何资源的情况下，预览生成的 dashboards 与已部署的 dashboards 之间的差异。
+ *
+ * @author heimuheimu
+ */
+public interface PlannableDashboardsBuilder extends DashboardsBuilder {
+
+    /**
+     * 生成指定组织中 dashboards 的执行计划，获取已部署的 dashboards 并与生成的 dashboards 进行结构化比较，
+     * 该方法不会创建或修改 Grafana 中的任何资源。
+     *
+     * @param organizationName dashboards 所在组织名称，与 Prometheus 中的 job 名称一致，不允许为空或 {@code null}
+     * @param interval 图表目标数据获取周期，例如：30s、1m ...
+     * @param outputStream 用于输出执行计划的输出流，允许为 {@code null}
+     * @return 执行计划，不会为 {@code null}
+     * @throws IllegalArgumentException 如果 organizationName 为空或 {@code null}，将会抛出此异常
+     * @throws RuntimeException 如果生成过程中出现错误，将会抛出此异常
+     */
+    DashboardsPlan plan(String organizationName, String interval, OutputStream outputStream) throws RuntimeException;
+}
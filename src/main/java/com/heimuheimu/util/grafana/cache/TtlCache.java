@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 支持过期时间及空值缓存的本地缓存，用于缓存 Grafana 中的组织、数据源、文件夹等元数据信息。
+ *
+ * <p>同一个 Key 同时只会执行一次加载操作，其它线程将等待加载结果；加载结果为 {@code null} 时将使用空值缓存过期时间，
+ * 加载失败时不会缓存。</p>
+ *
+ * <p><strong>说明：</strong>TtlCache 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @param <K> 缓存 Key 类型
+ * @param <V> 缓存 Value 类型
+ * @author heimuheimu
+ */
+public class TtlCache<K, V> {
+
+    /**
+     * 非空值的缓存过期时间，单位：毫秒
+     */
+    private final long ttlMillis;
+
+    /**
+     * 空值的缓存过期时间，单位：毫秒，如果小于等于 0，则不缓存空值
+     */
+    private final long negativeTtlMillis;
+
+    /**
+     * 缓存 Map
+     */
+    private final ConcurrentHashMap<K, Entry<V>> entryMap = new ConcurrentHashMap<>();
+
+    /**
+     * 构造一个 TtlCache 实例。
+     *
+     * @param ttlMillis 非空值的缓存过期时间，单位：毫秒，不允许小于等于 0
+     * @param negativeTtlMillis 空值的缓存过期时间，单位：毫秒，如果小于等于 0，则不缓存空值
+     * @throws IllegalArgumentException 如果 ttlMillis 小于等于 0，将会抛出此异常
+     */
+    public TtlCache(long ttlMillis, long negativeTtlMillis) throws IllegalArgumentException {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Fails to construct TtlCache: `ttlMillis must be greater than 0`. ttlMillis: `"
+                    + ttlMillis + "`.");
+        }
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+    }
+
+    /**
+     * 获得缓存值，如果缓存不存在或已过期，将通过 loader 加载并缓存。
+     *
+     * @param key 缓存 Key，不允许为 {@code null}
+     * @param loader 缓存值加载器，允许返回 {@code null}
+     * @return 缓存值，可能为 {@code null}
+     * @throws RuntimeException 如果加载过程中出现错误，将会抛出此异常
+     */
+    public V get(K key, Supplier<V> loader) throws RuntimeException {
+        while (true) {
+            Entry<V> entry = entryMap.get(key);
+            if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+                return join(entry.future);
+            }
+            Entry<V> loadingEntry = new Entry<>();
+            boolean claimed = entry == null ? entryMap.putIfAbsent(key, loadingEntry) == null
+                    : entryMap.replace(key, entry, loadingEntry);
+            if (claimed) {
+                V value;
+                try {
+                    value = loader.get();
+                } catch (RuntimeException e) {
+                    entryMap.remove(key, loadingEntry);
+                    loadingEntry.future.completeExceptionally(e);
+                    throw e;
+                }
+                if (value == null && negativeTtlMillis <= 0) {
+                    entryMap.remove(key, loadingEntry);
+                } else {
+                    loadingEntry.expireTime = System.currentTimeMillis() + (value != null ? ttlMillis : negativeTtlMillis);
+                }
+                loadingEntry.future.complete(value);
+                return value;
+            }
+        }
+    }
+
+    /**
+     * 设置缓存值，已存在的缓存将被替换。
+     *
+     * @param key 缓存 Key，不允许为 {@code null}
+     * @param value 缓存值，不允许为 {@code null}
+     */
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>();
+        entry.future.complete(value);
+        entry.expireTime = System.currentTimeMillis() + ttlMillis;
+        entryMap.put(key, entry);
+    }
+
+    /**
+     * 删除指定 Key 的缓存。
+     *
+     * @param key 缓存 Key，不允许为 {@code null}
+     */
+    public void invalidate(K key) {
+        entryMap.remove(key);
+    }
+
+    /**
+     * 删除所有缓存。
+     */
+    public void invalidateAll() {
+        entryMap.clear();
+    }
+
+    /**
+     * 获得当前缓存数量，包括已过期但尚未被替换的缓存。
+     *
+     * @return 当前缓存数量
+     */
+    public int size() {
+        return entryMap.size();
+    }
+
+    private V join(CompletableFuture<V> future) throws RuntimeException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 缓存项。
+     *
+     * @param <V> 缓存 Value 类型
+     */
+    private static class Entry<V> {
+
+        /**
+         * 缓存值，加载中时尚未完成
+         */
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+
+        /**
+         * 过期时间，加载中时为 {@code Long.MAX_VALUE}
+         */
+        private volatile long expireTime = Long.MAX_VALUE;
+
+        private boolean isExpired(long now) {
+            return now >= expireTime;
+        }
+    }
+}
@@ -53,6 +53,11 @@ public class Dashboard {
      */
     private String title = "";
 
+    /**
+     * dashboard 标签列表
+     */
+    private List<String> tags = new ArrayList<>();
+
     /**
      * dashboard 查询时间范围, 例如：last 6 hours, last 7 days 等等
      */
@@ -131,6 +136,24 @@ public class Dashboard {
         this.title = title;
     }
 
+    /**
+     * 获得 dashboard 标签列表。
+     *
+     * @return dashboard 标签列表
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * 设置 dashboard 标签列表。
+     *
+     * @param tags dashboard 标签列表
+     */
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
     /**
      * 获得 dashboard 查询时间范围, 例如：last 6 hours, last 7 days 等等。
      *
@@ -218,6 +241,7 @@ public class Dashboard {
                 "id=" + id +
                 ", uid='" + uid + '\'' +
                 ", title='" + title + '\'' +
+                ", tags=" + tags +
                 ", time=" + time +
                 ", templating=" + templating +
                 ", panels=" + panels +
@@ -26,11 +26,16 @@ package com.heimuheimu.util.grafana.dashboard;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.heimuheimu.util.grafana.http.GrafanaHttpClient;
+import com.heimuheimu.util.grafana.http.JsonFieldSelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Grafana 中的 dashboard 信息 API 客户端，更多信息请参考文档：
@@ -44,6 +49,37 @@ public class DashboardClient {
 
     private final static Logger LOG = LoggerFactory.getLogger(DashboardClient.class);
 
+    /**
+     * 创建 dashboard 时需要读取的响应字段
+     */
+    private final static JsonFieldSelector CREATE_SELECTOR = JsonFieldSelector.of("id", "status");
+
+    /**
+     * 搜索 dashboard 时需要读取的响应字段
+     */
+    private final static JsonFieldSelector SEARCH_SELECTOR = JsonFieldSelector.of("id", "uid", "title", "folderId", "tags");
+
+    /**
+     * 删除 dashboard 时需要读取的响应字段
+     */
+    private final static JsonFieldSelector DELETE_SELECTOR = JsonFieldSelector.of("title", "message");
+
+    /**
+     * 搜索 dashboard 时每页的 dashboard 数量
+     */
+    private final static int SEARCH_PAGE_SIZE = 5000;
+
+    /**
+     * 获取已部署的 dashboard 时需要读取的响应字段
+     */
+    private final static JsonFieldSelector GET_SELECTOR = JsonFieldSelector.of("dashboard", "meta.folderId");
+
+    /**
+     * 同步 dashboard 时需要读取的已存在 dashboard 响应字段，不会读取图表等内容
+     */
+    private final static JsonFieldSelector SYNC_SELECTOR = JsonFieldSelector.of("dashboard.tags", "dashboard.version",
+            "meta.folderId");
+
     /**
      * Grafana http 客户端
      */
@@ -62,6 +98,19 @@ public class DashboardClient {
         this.grafanaHttpClient = grafanaHttpClient;
     }
 
+    /**
+     * 获得指定组织的 DashboardClient 视图，视图发出的请求将设置 "X-Grafana-Org-Id" 请求头，不依赖当前用户在 Grafana 中所选择的组织，
+     * 可在多个组织中同时使用。
+     *
+     * @param organizationId 组织 ID，必须大于 0
+     * @return 指定组织的 DashboardClient
+     * @throws IllegalArgumentException 如果 organizationId 小于等于 0，将会抛出此异常
+     * @see GrafanaHttpClient#withOrganization(int)
+     */
+    public DashboardClient withOrganization(int organizationId) throws IllegalArgumentException {
+        return new DashboardClient(grafanaHttpClient.withOrganization(organizationId));
+    }
+
     /**
      * 创建 dashboard。
      *
@@ -71,27 +120,222 @@ public class DashboardClient {
      * @throws RuntimeException 如果创建过程中出现错误，将会抛出此异常
      */
     public void create(Dashboard dashboard, int folderId) throws RuntimeException {
-        if (dashboard == null) {
-            String errorMessage = "Fails to create dashboard: `dashboard could not be null`.";
+        checkDashboard(dashboard);
+        JsonNode response;
+        try {
+            response = grafanaHttpClient.post("/api/dashboards/db", getCreateBody(dashboard, folderId), CREATE_SELECTOR);
+        } catch (Exception e) {
+            String errorMessage = "Fails to create dashboard. dashboard: `" + dashboard + "`. folderId: `"
+                    + folderId + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        checkCreated(dashboard, folderId, response);
+    }
+
+    /**
+     * 异步创建 dashboard，如果创建过程中出现错误，{@code CompletableFuture} 将以 {@code RuntimeException} 异常结束。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param dashboard 需要创建的 dashboard 信息，不允许为 {@code null}
+     * @param folderId 文件夹 ID，如果小于 0，则不指定
+     * @return 异步创建结果
+     * @throws NullPointerException 如果 dashboard 为 {@code null}，将会抛出此异常
+     * @see #create(Dashboard, int)
+     */
+    public CompletableFuture<Void> createAsync(Dashboard dashboard, int folderId) throws NullPointerException {
+        checkDashboard(dashboard);
+        return grafanaHttpClient.postAsync("/api/dashboards/db", getCreateBody(dashboard, folderId), CREATE_SELECTOR).handle((response, throwable) -> {
+            if (throwable != null) {
+                String errorMessage = "Fails to create dashboard. dashboard: `" + dashboard + "`. folderId: `"
+                        + folderId + "`.";
+                LOG.error(errorMessage, throwable);
+                throw new RuntimeException(errorMessage, throwable);
+            }
+            checkCreated(dashboard, folderId, response);
+            return null;
+        });
+    }
+
+    /**
+     * 根据 UID 获取已部署的 dashboard，返回的 JSON 节点包含 "dashboard" 及 "meta.folderId" 字段，如果不存在，则返回 {@code null}。
+     *
+     * @param uid dashboard UID，不允许为 {@code null} 或空
+     * @return 已部署的 dashboard，可能为 {@code null}
+     * @throws IllegalArgumentException 如果 uid 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public JsonNode getByUid(String uid) throws RuntimeException {
+        if (uid == null || uid.isEmpty()) {
+            String errorMessage = "Fails to get dashboard: `uid could not be null or empty`.";
             LOG.error(errorMessage);
-            throw new NullPointerException(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
         }
         JsonNode response;
         try {
-            String path = "/api/dashboards/db";
-            Map<String, Object> body = new HashMap<>();
-            body.put("dashboard", dashboard);
-            if (folderId >= 0) {
-                body.put("folderId", folderId);
+            response = grafanaHttpClient.get("/api/dashboards/uid/" + uid, GET_SELECTOR);
+        } catch (Exception e) {
+            String errorMessage = "Fails to get dashboard. uid: `" + uid + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        return response.has("dashboard") ? response : null;
+    }
+
+    /**
+     * 获得当前组织中的所有 dashboard 概要信息，将按每页 5000 个 dashboard 分页读取。
+     *
+     * @return dashboard 概要信息列表，不会为 {@code null}
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public List<DashboardSummary> listAll() throws RuntimeException {
+        List<DashboardSummary> summaryList = new ArrayList<>();
+        int page = 1;
+        JsonNode response = null;
+        try {
+            while (true) {
+                response = grafanaHttpClient.get("/api/search", getSearchQuery(page), SEARCH_SELECTOR);
+                if (!response.isArray()) {
+                    throw new IllegalStateException("Unexpected dashboard search response.");
+                }
+                for (JsonNode hit : response) {
+                    DashboardSummary summary = new DashboardSummary();
+                    summary.setId(hit.path("id").intValue());
+                    summary.setUid(hit.path("uid").textValue());
+                    summary.setTitle(hit.path("title").asText(""));
+                    summary.setFolderId(hit.path("folderId").asInt(0));
+                    for (JsonNode tag : hit.path("tags")) {
+                        summary.getTags().add(tag.asText());
+                    }
+                    summaryList.add(summary);
+                }
+                if (response.size() < SEARCH_PAGE_SIZE) {
+                    return summaryList;
+                }
+                page++;
             }
-            body.put("overwrite", false);
-            response = grafanaHttpClient.post(path, body);
         } catch (Exception e) {
-            String errorMessage = "Fails to create dashboard. dashboard: `" + dashboard + "`. folderId: `"
+            String errorMessage = "Fails to list dashboards. page: `" + page + "`. response: `" + response + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    /**
+     * 根据 UID 删除 dashboard，如果 dashboard 不存在，则返回 {@code false}。
+     *
+     * @param uid dashboard UID，不允许为 {@code null} 或空
+     * @return 是否删除成功
+     * @throws IllegalArgumentException 如果 uid 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public boolean deleteByUid(String uid) throws RuntimeException {
+        if (uid == null || uid.isEmpty()) {
+            String errorMessage = "Fails to delete dashboard: `uid could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        JsonNode response;
+        try {
+            response = grafanaHttpClient.delete("/api/dashboards/uid/" + uid, DELETE_SELECTOR);
+        } catch (Exception e) {
+            String errorMessage = "Fails to delete dashboard. uid: `" + uid + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        return response.has("title");
+    }
+
+    /**
+     * 同步 dashboard，dashboard 必须设置 UID，内容哈希值将以标签的形式保存在 dashboard 中。如果 Grafana 中已存在相同 UID 的 dashboard，
+     * 且内容哈希值及所在文件夹均未变化，将跳过保存，否则将以覆盖的方式保存 dashboard。
+     *
+     * <p>判断 dashboard 是否变化时，仅读取已存在 dashboard 的标签、版本号及所在文件夹，不会解析图表等内容。</p>
+     *
+     * @param dashboard 需要同步的 dashboard 信息，不允许为 {@code null}，UID 不允许为 {@code null} 或空
+     * @param folderId 文件夹 ID，如果小于 0，则不指定
+     * @return 同步结果，不会为 {@code null}
+     * @throws NullPointerException 如果 dashboard 为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 dashboard UID 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果同步过程中出现错误，将会抛出此异常
+     * @see DashboardFingerprint
+     */
+    public DashboardSyncResult sync(Dashboard dashboard, int folderId) throws RuntimeException {
+        checkDashboard(dashboard);
+        if (dashboard.getUid() == null || dashboard.getUid().isEmpty()) {
+            String errorMessage = "Fails to sync dashboard: `uid could not be null or empty`. dashboard: `" + dashboard + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        String contentHash = DashboardFingerprint.applyContentHash(dashboard);
+        JsonNode existedResponse;
+        try {
+            existedResponse = grafanaHttpClient.get("/api/dashboards/uid/" + dashboard.getUid(), SYNC_SELECTOR);
+        } catch (Exception e) {
+            String errorMessage = "Fails to sync dashboard: `get existed dashboard failed`. uid: `" + dashboard.getUid()
+                    + "`. title: `" + dashboard.getTitle() + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        JsonNode existedDashboard = existedResponse.get("dashboard");
+        if (existedDashboard != null) {
+            List<String> existedTags = new ArrayList<>();
+            if (existedDashboard.has("tags")) {
+                for (JsonNode tag : existedDashboard.get("tags")) {
+                    existedTags.add(tag.asText());
+                }
+            }
+            boolean sameFolder = folderId < 0 || !existedResponse.has("meta")
+                    || existedResponse.get("meta").path("folderId").asInt(-1) == folderId;
+            if (contentHash.equals(DashboardFingerprint.getContentHash(existedTags)) && sameFolder) {
+                return DashboardSyncResult.UNCHANGED;
+            }
+        }
+        JsonNode response;
+        try {
+            response = grafanaHttpClient.post("/api/dashboards/db", getSaveBody(dashboard, folderId, true), CREATE_SELECTOR);
+        } catch (Exception e) {
+            String errorMessage = "Fails to sync dashboard. dashboard: `" + dashboard + "`. folderId: `"
                     + folderId + "`.";
             LOG.error(errorMessage, e);
             throw new RuntimeException(errorMessage, e);
         }
+        checkCreated(dashboard, folderId, response);
+        return existedDashboard != null ? DashboardSyncResult.UPDATED : DashboardSyncResult.CREATED;
+    }
+
+    private Map<String, String> getSearchQuery(int page) {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("type", "dash-db");
+        query.put("limit", String.valueOf(SEARCH_PAGE_SIZE));
+        query.put("page", String.valueOf(page));
+        return query;
+    }
+
+    private void checkDashboard(Dashboard dashboard) throws NullPointerException {
+        if (dashboard == null) {
+            String errorMessage = "Fails to create dashboard: `dashboard could not be null`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+    }
+
+    private Map<String, Object> getCreateBody(Dashboard dashboard, int folderId) {
+        return getSaveBody(dashboard, folderId, false);
+    }
+
+    private Map<String, Object> getSaveBody(Dashboard dashboard, int folderId, boolean overwrite) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("dashboard", dashboard);
+        if (folderId >= 0) {
+            body.put("folderId", folderId);
+        }
+        body.put("overwrite", overwrite);
+        return body;
+    }
+
+    private void checkCreated(Dashboard dashboard, int folderId, JsonNode response) throws RuntimeException {
         if (!response.has("id")) {
             String errorMessage = "Fails to create dashboard. dashboard: `" + dashboard + "`. folderId: `" + folderId
                     + "`. response: `" + response + "`.";
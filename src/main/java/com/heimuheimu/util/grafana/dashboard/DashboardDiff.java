@@ -0,0 +1,339 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.dashboard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生成的 dashboard 与 Grafana 中已部署的 dashboard 之间的结构化差异。
+ *
+ * <p>比较时仅检查生成的 dashboard 中存在的字段，Grafana 自动补充的字段（例如：schemaVersion）不会被视为变化，
+ * dashboard 的数字 ID、版本号以及内容哈希标签将被忽略。图表按图表 ID 进行匹配，新增、删除或内容变化的图表均会被列出。</p>
+ *
+ * <p><strong>说明：</strong>DashboardDiff 类是非线程安全的，不允许多个线程使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class DashboardDiff {
+
+    /**
+     * 将 dashboard 转换为 JSON 节点使用的 ObjectMapper
+     */
+    private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper().registerModule(new DashboardJsonModule());
+
+    /**
+     * 比较时忽略的 dashboard 字段
+     */
+    private static final List<String> IGNORED_FIELD_LIST = Arrays.asList("id", "version");
+
+    /**
+     * dashboard 标题
+     */
+    private String title = "";
+
+    /**
+     * dashboard UID
+     */
+    private String uid = null;
+
+    /**
+     * 执行保存后的预期结果
+     */
+    private DashboardSyncResult result = DashboardSyncResult.UNCHANGED;
+
+    /**
+     * 发生变化的图表列表，图表使用标题表示，新增的图表以 "+" 开头，删除的图表以 "-" 开头
+     */
+    private List<String> changedPanelList = new ArrayList<>();
+
+    /**
+     * 发生变化的 dashboard 字段列表，不包括图表
+     */
+    private List<String> changedFieldList = new ArrayList<>();
+
+    /**
+     * dashboard 所在文件夹是否发生变化
+     */
+    private boolean folderChanged = false;
+
+    /**
+     * 比较生成的 dashboard 与已部署的 dashboard，返回两者之间的差异，该方法不会修改 dashboard。
+     *
+     * @param dashboard 生成的 dashboard，不允许为 {@code null}
+     * @param deployedDashboard 已部署的 dashboard JSON 内容，如果为 {@code null}，表示该 dashboard 尚未部署
+     * @param folderChanged dashboard 所在文件夹是否发生变化
+     * @return dashboard 差异，不会为 {@code null}
+     */
+    public static DashboardDiff compare(Dashboard dashboard, JsonNode deployedDashboard, boolean folderChanged) {
+        DashboardDiff diff = new DashboardDiff();
+        diff.setTitle(dashboard.getTitle());
+        diff.setUid(dashboard.getUid());
+        if (deployedDashboard == null || !deployedDashboard.isObject()) {
+            diff.setResult(DashboardSyncResult.CREATED);
+            return diff;
+        }
+        ObjectNode generated = JSON_OBJECT_MAPPER.valueToTree(dashboard);
+        ObjectNode deployed = ((ObjectNode) deployedDashboard).deepCopy();
+        removeContentHashTags(generated);
+        removeContentHashTags(deployed);
+        Iterator<Map.Entry<String, JsonNode>> fields = generated.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            if (IGNORED_FIELD_LIST.contains(name)) {
+                continue;
+            }
+            if ("panels".equals(name)) {
+                diff.changedPanelList.addAll(comparePanels(field.getValue(), deployed.path("panels")));
+            } else if (!contains(deployed.get(name), field.getValue())) {
+                diff.changedFieldList.add(name);
+            }
+        }
+        diff.setFolderChanged(folderChanged);
+        if (folderChanged || !diff.changedPanelList.isEmpty() || !diff.changedFieldList.isEmpty()) {
+            diff.setResult(DashboardSyncResult.UPDATED);
+        }
+        return diff;
+    }
+
+    /**
+     * 获得 dashboard 标题。
+     *
+     * @return dashboard 标题
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * 设置 dashboard 标题。
+     *
+     * @param title dashboard 标题
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /**
+     * 获得 dashboard UID。
+     *
+     * @return dashboard UID
+     */
+    public String getUid() {
+        return uid;
+    }
+
+    /**
+     * 设置 dashboard UID。
+     *
+     * @param uid dashboard UID
+     */
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
+    /**
+     * 获得执行保存后的预期结果，{@link DashboardSyncResult#CREATED} 表示将被创建，{@link DashboardSyncResult#UPDATED} 表示将被修改，
+     * {@link DashboardSyncResult#UNCHANGED} 表示无需修改。
+     *
+     * @return 执行保存后的预期结果
+     */
+    public DashboardSyncResult getResult() {
+        return result;
+    }
+
+    /**
+     * 设置执行保存后的预期结果。
+     *
+     * @param result 执行保存后的预期结果
+     */
+    public void setResult(DashboardSyncResult result) {
+        this.result = result;
+    }
+
+    /**
+     * 获得发生变化的图表列表，图表使用标题表示，新增的图表以 "+" 开头，删除的图表以 "-" 开头。
+     *
+     * @return 发生变化的图表列表
+     */
+    public List<String> getChangedPanelList() {
+        return changedPanelList;
+    }
+
+    /**
+     * 设置发生变化的图表列表。
+     *
+     * @param changedPanelList 发生变化的图表列表
+     */
+    public void setChangedPanelList(List<String> changedPanelList) {
+        this.changedPanelList = changedPanelList;
+    }
+
+    /**
+     * 获得发生变化的 dashboard 字段列表，不包括图表。
+     *
+     * @return 发生变化的 dashboard 字段列表
+     */
+    public List<String> getChangedFieldList() {
+        return changedFieldList;
+    }
+
+    /**
+     * 设置发生变化的 dashboard 字段列表。
+     *
+     * @param changedFieldList 发生变化的 dashboard 字段列表
+     */
+    public void setChangedFieldList(List<String> changedFieldList) {
+        this.changedFieldList = changedFieldList;
+    }
+
+    /**
+     * dashboard 所在文件夹是否发生变化。
+     *
+     * @return 所在文件夹是否发生变化
+     */
+    public boolean isFolderChanged() {
+        return folderChanged;
+    }
+
+    /**
+     * 设置 dashboard 所在文件夹是否发生变化。
+     *
+     * @param folderChanged 所在文件夹是否发生变化
+     */
+    public void setFolderChanged(boolean folderChanged) {
+        this.folderChanged = folderChanged;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardDiff{" +
+                "title='" + title + '\'' +
+                ", uid='" + uid + '\'' +
+                ", result=" + result +
+                ", changedPanelList=" + changedPanelList +
+                ", changedFieldList=" + changedFieldList +
+                ", folderChanged=" + folderChanged +
+                '}';
+    }
+
+    private static List<String> comparePanels(JsonNode generatedPanels, JsonNode deployedPanels) {
+        if (!generatedPanels.isArray()) {
+            return Collections.emptyList();
+        }
+        Map<String, JsonNode> deployedPanelMap = new HashMap<>();
+        if (deployedPanels.isArray()) {
+            for (int i = 0; i < deployedPanels.size(); i++) {
+                deployedPanelMap.put(getPanelKey(deployedPanels.get(i), i), deployedPanels.get(i));
+            }
+        }
+        List<String> changedPanelList = new ArrayList<>();
+        for (int i = 0; i < generatedPanels.size(); i++) {
+            JsonNode generatedPanel = generatedPanels.get(i);
+            JsonNode deployedPanel = deployedPanelMap.remove(getPanelKey(generatedPanel, i));
+            if (deployedPanel == null) {
+                changedPanelList.add("+" + getPanelTitle(generatedPanel));
+            } else if (!contains(deployedPanel, generatedPanel)) {
+                changedPanelList.add(getPanelTitle(generatedPanel));
+            }
+        }
+        for (JsonNode removedPanel : deployedPanelMap.values()) {
+            changedPanelList.add("-" + getPanelTitle(removedPanel));
+        }
+        return changedPanelList;
+    }
+
+    private static String getPanelKey(JsonNode panel, int index) {
+        return panel.has("id") ? "id:" + panel.get("id").asText() : "index:" + index;
+    }
+
+    private static String getPanelTitle(JsonNode panel) {
+        String title = panel.path("title").asText("");
+        return title.isEmpty() ? "#" + panel.path("id").asText("") : title;
+    }
+
+    /**
+     * 判断已部署的 JSON 节点是否包含生成的 JSON 节点中的所有字段，对象仅比较生成节点中存在的字段，数组需要长度一致且逐项包含。
+     */
+    private static boolean contains(JsonNode deployed, JsonNode generated) {
+        if (generated == null || generated.isNull()) {
+            return deployed == null || deployed.isNull();
+        }
+        if (deployed == null) {
+            return false;
+        }
+        if (generated.isObject()) {
+            if (!deployed.isObject()) {
+                return false;
+            }
+            Iterator<Map.Entry<String, JsonNode>> fields = generated.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!contains(deployed.get(field.getKey()), field.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (generated.isArray()) {
+            if (!deployed.isArray() || deployed.size() != generated.size()) {
+                return false;
+            }
+            for (int i = 0; i < generated.size(); i++) {
+                if (!contains(deployed.get(i), generated.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (generated.isNumber() && deployed.isNumber()) {
+            return generated.decimalValue().compareTo(deployed.decimalValue()) == 0;
+        } else {
+            return generated.equals(deployed);
+        }
+    }
+
+    private static void removeContentHashTags(ObjectNode dashboard) {
+        JsonNode tags = dashboard.get("tags");
+        if (tags != null && tags.isArray()) {
+            ArrayNode arrayNode = (ArrayNode) tags;
+            for (int i = arrayNode.size() - 1; i >= 0; i--) {
+                if (arrayNode.get(i).asText("").startsWith(DashboardFingerprint.CONTENT_HASH_TAG_PREFIX)) {
+                    arrayNode.remove(i);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.dashboard;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Dashboard 标识工具类，提供确定性的 dashboard UID 以及基于规范化 JSON 的内容哈希值，用于增量同步。
+ *
+ * <p>内容哈希值以 "content-hash:" 为前缀保存在 dashboard 的标签中，计算时将忽略 dashboard 的数字 ID 以及已存在的内容哈希标签，
+ * 对象属性及 Map 的 Key 均按字母顺序排列，因此相同内容的 dashboard 总是得到相同的哈希值。</p>
+ *
+ * <p><strong>说明：</strong>DashboardFingerprint 类是线程安全的，可在多个线程中使用。</p>
+ *
+ * @author heimuheimu
+ */
+public class DashboardFingerprint {
+
+    /**
+     * 由 dashboards 生成器创建的 dashboard 标签，用于识别可被自动清理的 dashboard
+     */
+    public static final String GENERATED_TAG = "util-grafana";
+
+    /**
+     * 内容哈希标签前缀
+     */
+    public static final String CONTENT_HASH_TAG_PREFIX = "content-hash:";
+
+    /**
+     * 生成规范化 JSON 使用的 ObjectMapper，属性及 Map 的 Key 均按字母顺序排列
+     */
+    private static final ObjectMapper CANONICAL_OBJECT_MAPPER = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .registerModule(new DashboardJsonModule());
+
+    private DashboardFingerprint() {
+        // private constructor
+    }
+
+    /**
+     * 根据组织名称、生成器名称及 dashboard 标题生成确定性的 dashboard UID，相同的参数总是生成相同的 UID，长度为 32。
+     *
+     * @param organizationName 组织名称
+     * @param builderName 生成器名称，例如：放置 dashboards 的文件夹名称
+     * @param title dashboard 标题
+     * @return dashboard UID
+     */
+    public static String getUid(String organizationName, String builderName, String title) {
+        return hex(sha256(organizationName + '\u0000' + builderName + '\u0000' + title), 16);
+    }
+
+    /**
+     * 计算 dashboard 的内容哈希值，计算时忽略 dashboard 的数字 ID 以及已存在的内容哈希标签，已存在的内容哈希标签将被移至标签列表末尾。
+     *
+     * @param dashboard dashboard 信息，不允许为 {@code null}
+     * @return 内容哈希值，长度为 32
+     * @throws RuntimeException 如果 dashboard 序列化失败，将会抛出此异常
+     */
+    public static String getContentHash(Dashboard dashboard) throws RuntimeException {
+        List<String> tags = dashboard.getTags();
+        String hashTag = removeContentHashTag(tags);
+        try {
+            return hex(sha256(toCanonicalJson(dashboard)), 16);
+        } finally {
+            if (hashTag != null) {
+                tags.add(hashTag);
+            }
+        }
+    }
+
+    /**
+     * 将 dashboard 序列化为规范化 JSON，序列化时忽略 dashboard 的数字 ID，对象属性及 Map 的 Key 均按字母顺序排列。
+     *
+     * @param dashboard dashboard 信息，不允许为 {@code null}
+     * @return 规范化 JSON，UTF-8 编码
+     * @throws RuntimeException 如果 dashboard 序列化失败，将会抛出此异常
+     */
+    public static byte[] toCanonicalJson(Dashboard dashboard) throws RuntimeException {
+        Integer id = dashboard.getId();
+        dashboard.setId(null);
+        try {
+            return CANONICAL_OBJECT_MAPPER.writeValueAsBytes(dashboard);
+        } catch (Exception e) {
+            throw new RuntimeException("Fails to serialize dashboard. dashboard: `" + dashboard + "`.", e);
+        } finally {
+            dashboard.setId(id);
+        }
+    }
+
+    /**
+     * 计算 dashboard 的内容哈希值，并以内容哈希标签的形式保存在 dashboard 的标签列表中，已存在的内容哈希标签将被替换。
+     *
+     * @param dashboard dashboard 信息，不允许为 {@code null}
+     * @return 内容哈希值
+     * @throws RuntimeException 如果 dashboard 序列化失败，将会抛出此异常
+     */
+    public static String applyContentHash(Dashboard dashboard) throws RuntimeException {
+        String contentHash = getContentHash(dashboard);
+        removeContentHashTag(dashboard.getTags());
+        dashboard.getTags().add(CONTENT_HASH_TAG_PREFIX + contentHash);
+        return contentHash;
+    }
+
+    /**
+     * 从标签列表中获取内容哈希值，如果不存在，将返回 {@code null}。
+     *
+     * @param tags 标签列表，允许为 {@code null}
+     * @return 内容哈希值，可能为 {@code null}
+     */
+    public static String getContentHash(List<String> tags) {
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null && tag.startsWith(CONTENT_HASH_TAG_PREFIX)) {
+                    return tag.substring(CONTENT_HASH_TAG_PREFIX.length());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String removeContentHashTag(List<String> tags) {
+        String hashTag = null;
+        if (tags != null) {
+            for (int i = tags.size() - 1; i >= 0; i--) {
+                String tag = tags.get(i);
+                if (tag != null && tag.startsWith(CONTENT_HASH_TAG_PREFIX)) {
+                    hashTag = tags.remove(i);
+                }
+            }
+        }
+        return hashTag;
+    }
+
+    private static byte[] sha256(String text) {
+        return sha256(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e); // should not happen
+        }
+    }
+
+    private static String hex(byte[] bytes, int length) {
+        char[] digits = "0123456789abcdef".toCharArray();
+        StringBuilder buffer = new StringBuilder(length * 2);
+        for (int i = 0; i < length; i++) {
+            buffer.append(digits[(bytes[i] >> 4) & 0xf]).append(digits[bytes[i] & 0xf]);
+        }
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.dashboard;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.heimuheimu.util.grafana.dashboard.panels.Graph;
+import com.heimuheimu.util.grafana.dashboard.panels.GridPos;
+import com.heimuheimu.util.grafana.dashboard.variables.Constant;
+import com.heimuheimu.util.grafana.dashboard.variables.Query;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard 模型的 Jackson 模块，为 {@link Dashboard}、{@link Graph}、{@link Graph.Target}、{@link GridPos}、{@link Constant}
+ * 及 {@link Query} 提供手写的流式序列化器，序列化时直接调用 getter 写入字段，无需通过反射获取 Bean 属性。
+ *
+ * <p>序列化器按字母顺序输出属性，与开启 {@link com.fasterxml.jackson.databind.MapperFeature#SORT_PROPERTIES_ALPHABETICALLY}
+ * 时的 Bean 序列化结果完全一致，因此不会改变 dashboard 的内容哈希值。模型中的 Map 及 List 由模块直接输出，
+ * 仅在开启 {@link SerializationFeature#ORDER_MAP_ENTRIES_BY_KEYS} 时对 Key 进行排序，其它类型的值仍交由 ObjectMapper 序列化。
+ * 序列化器仅用于上述类本身，子类仍使用 Bean 序列化，避免遗漏子类新增的属性。</p>
+ *
+ * <p><strong>说明：</strong>DashboardJsonModule 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class DashboardJsonModule extends Module {
+
+    /**
+     * 序列化器 Map，Key 为被序列化的类
+     */
+    private static final Map<Class<?>, JsonSerializer<?>> SERIALIZER_MAP = new HashMap<>();
+
+    /**
+     * {@link Graph} 序列化器
+     */
+    private static final GraphSerializer GRAPH_SERIALIZER = new GraphSerializer();
+
+    /**
+     * {@link Graph.Target} 序列化器
+     */
+    private static final TargetSerializer TARGET_SERIALIZER = new TargetSerializer();
+
+    /**
+     * {@link GridPos} 序列化器
+     */
+    private static final GridPosSerializer GRID_POS_SERIALIZER = new GridPosSerializer();
+
+    /**
+     * {@link Constant} 序列化器
+     */
+    private static final ConstantSerializer CONSTANT_SERIALIZER = new ConstantSerializer();
+
+    /**
+     * {@link Query} 序列化器
+     */
+    private static final QuerySerializer QUERY_SERIALIZER = new QuerySerializer();
+
+    static {
+        SERIALIZER_MAP.put(Dashboard.class, new DashboardSerializer());
+        SERIALIZER_MAP.put(Graph.class, GRAPH_SERIALIZER);
+        SERIALIZER_MAP.put(Graph.Target.class, TARGET_SERIALIZER);
+        SERIALIZER_MAP.put(GridPos.class, GRID_POS_SERIALIZER);
+        SERIALIZER_MAP.put(Constant.class, CONSTANT_SERIALIZER);
+        SERIALIZER_MAP.put(Query.class, QUERY_SERIALIZER);
+    }
+
+    @Override
+    public String getModuleName() {
+        return "DashboardJsonModule";
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        context.addSerializers(new Serializers.Base() {
+
+            @Override
+            public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+                return SERIALIZER_MAP.get(type.getRawClass());
+            }
+        });
+    }
+
+    private static void writeList(String fieldName, List<?> list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeFieldName(fieldName);
+        writeList(list, gen, provider);
+    }
+
+    private static void writeList(List<?> list, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (list == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(list.size());
+            for (Object value : list) {
+                writeValue(value, gen, provider);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    private static void writeMap(String fieldName, Map<String, ?> map, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeFieldName(fieldName);
+        writeMap(map, gen, provider);
+    }
+
+    /**
+     * 输出 Map，如果开启了 {@link SerializationFeature#ORDER_MAP_ENTRIES_BY_KEYS}，Key 将按字母顺序输出，
+     * 与 Jackson 的 Map 序列化结果一致，但无需为每个 Map 创建 TreeMap。
+     */
+    private static void writeMap(Map<String, ?> map, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (map == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(map);
+        if (map.size() > 1 && provider.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)) {
+            String[] keys = map.keySet().toArray(new String[0]);
+            Arrays.sort(keys);
+            for (String key : keys) {
+                gen.writeFieldName(key);
+                writeValue(map.get(key), gen, provider);
+            }
+        } else {
+            for (Map.Entry<String, ?> entry : map.entrySet()) {
+                gen.writeFieldName(entry.getKey());
+                writeValue(entry.getValue(), gen, provider);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * 输出模型中出现的值，常见类型直接输出，其它类型交由 ObjectMapper 序列化。
+     */
+    @SuppressWarnings("unchecked")
+    private static void writeValue(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof String) {
+            gen.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            gen.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            gen.writeNumber((Integer) value);
+        } else if (value.getClass() == Graph.class) {
+            GRAPH_SERIALIZER.serialize((Graph) value, gen, provider);
+        } else if (value.getClass() == Graph.Target.class) {
+            TARGET_SERIALIZER.serialize((Graph.Target) value, gen, provider);
+        } else if (value.getClass() == Constant.class) {
+            CONSTANT_SERIALIZER.serialize((Constant) value, gen, provider);
+        } else if (value.getClass() == Query.class) {
+            QUERY_SERIALIZER.serialize((Query) value, gen, provider);
+        } else if (value instanceof List) {
+            writeList((List<?>) value, gen, provider);
+        } else if (value instanceof Map && isStringKeyMap((Map<?, ?>) value)) {
+            writeMap((Map<String, ?>) value, gen, provider);
+        } else {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+
+    private static boolean isStringKeyMap(Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class DashboardSerializer extends StdSerializer<Dashboard> {
+
+        private DashboardSerializer() {
+            super(Dashboard.class);
+        }
+
+        @Override
+        public void serialize(Dashboard value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            if (value.getId() != null) {
+                gen.writeNumberField("id", value.getId());
+            } else {
+                gen.writeNullField("id");
+            }
+            writeList("panels", value.getPanels(), gen, provider);
+            List<String> tags = value.getTags();
+            gen.writeFieldName("tags");
+            if (tags == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(tags.size());
+                for (String tag : tags) {
+                    gen.writeString(tag);
+                }
+                gen.writeEndArray();
+            }
+            writeMap("templating", value.getTemplating(), gen, provider);
+            writeMap("time", value.getTime(), gen, provider);
+            gen.writeStringField("title", value.getTitle());
+            gen.writeStringField("uid", value.getUid());
+            gen.writeEndObject();
+        }
+    }
+
+    private static class GraphSerializer extends StdSerializer<Graph> {
+
+        private GraphSerializer() {
+            super(Graph.class);
+        }
+
+        @Override
+        public void serialize(Graph value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeStringField("datasource", value.getDatasource());
+            gen.writeStringField("description", value.getDescription());
+            gen.writeFieldName("gridPos");
+            GridPos gridPos = value.getGridPos();
+            if (gridPos != null && gridPos.getClass() == GridPos.class) {
+                GRID_POS_SERIALIZER.serialize(gridPos, gen, provider);
+            } else {
+                provider.defaultSerializeValue(gridPos, gen);
+            }
+            gen.writeNumberField("id", value.getId());
+            gen.writeStringField("interval", value.getInterval());
+            writeList("targets", value.getTargets(), gen, provider);
+            gen.writeStringField("title", value.getTitle());
+            gen.writeStringField("type", value.getType());
+            gen.writeEndObject();
+        }
+    }
+
+    private static class TargetSerializer extends StdSerializer<Graph.Target> {
+
+        private TargetSerializer() {
+            super(Graph.Target.class);
+        }
+
+        @Override
+        public void serialize(Graph.Target value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeStringField("expr", value.getExpr());
+            gen.writeStringField("legendFormat", value.getLegendFormat());
+            gen.writeEndObject();
+        }
+    }
+
+    private static class GridPosSerializer extends StdSerializer<GridPos> {
+
+        private GridPosSerializer() {
+            super(GridPos.class);
+        }
+
+        @Override
+        public void serialize(GridPos value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeNumberField("h", value.getH());
+            gen.writeNumberField("w", value.getW());
+            gen.writeNumberField("x", value.getX());
+            gen.writeNumberField("y", value.getY());
+            gen.writeEndObject();
+        }
+    }
+
+    private static class ConstantSerializer extends StdSerializer<Constant> {
+
+        private ConstantSerializer() {
+            super(Constant.class);
+        }
+
+        @Override
+        public void serialize(Constant value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeMap("current", value.getCurrent(), gen, provider);
+            gen.writeStringField("name", value.getName());
+            writeList("options", value.getOptions(), gen, provider);
+            gen.writeStringField("query", value.getQuery());
+            gen.writeStringField("type", value.getType());
+            gen.writeEndObject();
+        }
+    }
+
+    private static class QuerySerializer extends StdSerializer<Query> {
+
+        private QuerySerializer() {
+            super(Query.class);
+        }
+
+        @Override
+        public void serialize(Query value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeStringField("datasource", value.getDatasource());
+            gen.writeStringField("label", value.getLabel());
+            gen.writeStringField("name", value.getName());
+            gen.writeStringField("query", value.getQuery());
+            gen.writeNumberField("refresh", value.getRefresh());
+            gen.writeStringField("regex", value.getRegex());
+            gen.writeNumberField("sort", value.getSort());
+            gen.writeStringField("type", value.getType());
+            gen.writeEndObject();
+        }
+    }
+}
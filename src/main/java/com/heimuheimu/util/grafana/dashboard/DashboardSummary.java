@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.dashboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grafana 中的 dashboard 概要信息，由 dashboard 搜索接口返回，不包含图表等内容。
+ *
+ * <p><strong>说明：</strong>DashboardSummary 类是非线程安全的，不允许多个线程使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class DashboardSummary {
+
+    /**
+     * dashboard ID
+     */
+    private int id = -1;
+
+    /**
+     * dashboard UID
+     */
+    private String uid = null;
+
+    /**
+     * dashboard 标题
+     */
+    private String title = "";
+
+    /**
+     * dashboard 所在文件夹 ID，如果位于 General 文件夹中，则为 0
+     */
+    private int folderId = 0;
+
+    /**
+     * dashboard 标签列表
+     */
+    private List<String> tags = new ArrayList<>();
+
+    /**
+     * 获得 dashboard ID。
+     *
+     * @return dashboard ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * 设置 dashboard ID。
+     *
+     * @param id dashboard ID
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * 获得 dashboard UID。
+     *
+     * @return dashboard UID
+     */
+    public String getUid() {
+        return uid;
+    }
+
+    /**
+     * 设置 dashboard UID。
+     *
+     * @param uid dashboard UID
+     */
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
+    /**
+     * 获得 dashboard 标题。
+     *
+     * @return dashboard 标题
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * 设置 dashboard 标题。
+     *
+     * @param title dashboard 标题
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /**
+     * 获得 dashboard 所在文件夹 ID，如果位于 General 文件夹中，则为 0。
+     *
+     * @return dashboard 所在文件夹 ID
+     */
+    public int getFolderId() {
+        return folderId;
+    }
+
+    /**
+     * 设置 dashboard 所在文件夹 ID。
+     *
+     * @param folderId dashboard 所在文件夹 ID
+     */
+    public void setFolderId(int folderId) {
+        this.folderId = folderId;
+    }
+
+    /**
+     * 获得 dashboard 标签列表。
+     *
+     * @return dashboard 标签列表
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * 设置 dashboard 标签列表。
+     *
+     * @param tags dashboard 标签列表
+     */
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardSummary{" +
+                "id=" + id +
+                ", uid='" + uid + '\'' +
+                ", title='" + title + '\'' +
+                ", folderId=" + folderId +
+                ", tags=" + tags +
+                '}';
+    }
+}
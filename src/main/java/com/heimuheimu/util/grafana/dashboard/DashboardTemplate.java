@@ -0,0 +1,306 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.dashboard;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 预编译的 dashboard 模版，由 dashboard 工厂编译生成，编译后不可修改。
+ *
+ * <p>编译时使用占位值调用一次 dashboard 工厂，将生成的 dashboard 序列化为规范化 JSON（参考 {@link DashboardFingerprint#toCanonicalJson(Dashboard)}），
+ * 并按 job、interval、数据源名称及 dashboard UID 的位置切分为 UTF-8 字节片段。渲染时仅需将字节片段与转义后的参数值依次拷贝至输出，
+ * 无需重新创建 dashboard 对象图及拼接 PromQL。模版生成的 dashboard 均带有 {@link DashboardFingerprint#GENERATED_TAG} 标签，
+ * 渲染结果与对 dashboard 工厂生成的 dashboard 设置 UID、添加该标签后执行 {@link DashboardFingerprint#toCanonicalJson(Dashboard)}
+ * 的结果完全一致。</p>
+ *
+ * <p>编译时将使用另一组占位值对模版进行校验，如果 dashboard 工厂对参数进行了除原样拼接以外的处理（例如：转换大小写、截取），
+ * 或 dashboard 标题中包含参数，将无法编译为模版。</p>
+ *
+ * <p><strong>说明：</strong>DashboardTemplate 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class DashboardTemplate {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardTemplate.class);
+
+    /**
+     * 编译时使用的占位值，依次为 job、interval、数据源名称、dashboard UID
+     */
+    private static final String[] PLACEHOLDERS = {"@util-grafana:job:0@", "@util-grafana:interval:0@",
+            "@util-grafana:datasource:0@", "@util-grafana:uid:0@"};
+
+    /**
+     * 校验模版时使用的占位值，依次为 job、interval、数据源名称、dashboard UID
+     */
+    private static final String[] VERIFICATION_PLACEHOLDERS = {"@util-grafana:job:1@", "@util-grafana:interval:1@",
+            "@util-grafana:datasource:1@", "@util-grafana:uid:1@"};
+
+    /**
+     * dashboard 标题
+     */
+    private final String title;
+
+    /**
+     * 规范化 JSON 字节片段，片段数量比参数位置数量多 1
+     */
+    private final byte[][] segments;
+
+    /**
+     * 参数位置对应的参数索引，依次为 0：job，1：interval，2：数据源名称，3：dashboard UID
+     */
+    private final int[] slots;
+
+    /**
+     * 各参数出现的次数
+     */
+    private final int[] slotCounts;
+
+    /**
+     * 字节片段总长度
+     */
+    private final int segmentsLength;
+
+    private DashboardTemplate(String title, byte[][] segments, int[] slots) {
+        this.title = title;
+        this.segments = segments;
+        this.slots = slots;
+        this.slotCounts = new int[PLACEHOLDERS.length];
+        for (int slot : slots) {
+            slotCounts[slot]++;
+        }
+        int length = 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        this.segmentsLength = length;
+    }
+
+    /**
+     * 获得 dashboard 标题。
+     *
+     * @return dashboard 标题
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * 渲染 dashboard 规范化 JSON。
+     *
+     * @param job 监控指标对应的 Prometheus job 名称，不允许为 {@code null}
+     * @param interval 图表目标数据获取周期，不允许为 {@code null}
+     * @param datasource 数据源名称，不允许为 {@code null}
+     * @param uid dashboard UID，不允许为 {@code null}
+     * @return dashboard 规范化 JSON，UTF-8 编码
+     * @throws NullPointerException 如果任意参数为 {@code null}，将会抛出此异常
+     */
+    public byte[] render(String job, String interval, String datasource, String uid) throws NullPointerException {
+        byte[][] values = encode(job, interval, datasource, uid);
+        byte[] result = new byte[getLength(values)];
+        int position = 0;
+        for (int i = 0; i < slots.length; i++) {
+            System.arraycopy(segments[i], 0, result, position, segments[i].length);
+            position += segments[i].length;
+            byte[] value = values[slots[i]];
+            System.arraycopy(value, 0, result, position, value.length);
+            position += value.length;
+        }
+        byte[] lastSegment = segments[slots.length];
+        System.arraycopy(lastSegment, 0, result, position, lastSegment.length);
+        return result;
+    }
+
+    /**
+     * 渲染 dashboard 规范化 JSON，并写入输出流中。
+     *
+     * @param outputStream 输出流，不允许为 {@code null}
+     * @param job 监控指标对应的 Prometheus job 名称，不允许为 {@code null}
+     * @param interval 图表目标数据获取周期，不允许为 {@code null}
+     * @param datasource 数据源名称，不允许为 {@code null}
+     * @param uid dashboard UID，不允许为 {@code null}
+     * @throws NullPointerException 如果任意参数为 {@code null}，将会抛出此异常
+     * @throws IOException 如果写入输出流时发生错误，将会抛出此异常
+     */
+    public void writeTo(OutputStream outputStream, String job, String interval, String datasource, String uid)
+            throws NullPointerException, IOException {
+        byte[][] values = encode(job, interval, datasource, uid);
+        for (int i = 0; i < slots.length; i++) {
+            outputStream.write(segments[i]);
+            outputStream.write(values[slots[i]]);
+        }
+        outputStream.write(segments[slots.length]);
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardTemplate{" +
+                "title='" + title + '\'' +
+                ", segments=" + segments.length +
+                ", length=" + segmentsLength +
+                '}';
+    }
+
+    private int getLength(byte[][] values) {
+        int length = segmentsLength;
+        for (int i = 0; i < values.length; i++) {
+            length += slotCounts[i] * values[i].length;
+        }
+        return length;
+    }
+
+    /**
+     * 将 dashboard 工厂编译为 dashboard 模版。
+     *
+     * @param factory dashboard 工厂，不允许为 {@code null}
+     * @return dashboard 模版
+     * @throws NullPointerException 如果 factory 为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 dashboard 工厂无法编译为模版，将会抛出此异常
+     */
+    public static DashboardTemplate compile(Factory factory) throws NullPointerException, IllegalArgumentException {
+        if (factory == null) {
+            String errorMessage = "Fails to compile dashboard template: `factory could not be null`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        Dashboard dashboard = create(factory, PLACEHOLDERS);
+        for (String placeholder : PLACEHOLDERS) {
+            if (dashboard.getTitle().contains(placeholder)) {
+                String errorMessage = "Fails to compile dashboard template: `title could not contain parameters`. factory: `"
+                        + factory + "`. title: `" + dashboard.getTitle() + "`.";
+                LOG.error(errorMessage);
+                throw new IllegalArgumentException(errorMessage);
+            }
+        }
+        DashboardTemplate template = split(dashboard.getTitle(), DashboardFingerprint.toCanonicalJson(dashboard));
+        byte[] expected = DashboardFingerprint.toCanonicalJson(create(factory, VERIFICATION_PLACEHOLDERS));
+        byte[] actual = template.render(VERIFICATION_PLACEHOLDERS[0], VERIFICATION_PLACEHOLDERS[1],
+                VERIFICATION_PLACEHOLDERS[2], VERIFICATION_PLACEHOLDERS[3]);
+        if (!Arrays.equals(expected, actual)) {
+            String errorMessage = "Fails to compile dashboard template: `dashboard is not a plain function of job, interval and datasource`. factory: `"
+                    + factory + "`. title: `" + dashboard.getTitle() + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        return template;
+    }
+
+    private static Dashboard create(Factory factory, String[] parameters) {
+        Dashboard dashboard = factory.create(parameters[0], parameters[1], parameters[2]);
+        dashboard.setUid(parameters[3]);
+        if (!dashboard.getTags().contains(DashboardFingerprint.GENERATED_TAG)) {
+            dashboard.getTags().add(DashboardFingerprint.GENERATED_TAG);
+        }
+        return dashboard;
+    }
+
+    private static DashboardTemplate split(String title, byte[] json) {
+        byte[][] placeholders = new byte[PLACEHOLDERS.length][];
+        for (int i = 0; i < PLACEHOLDERS.length; i++) {
+            placeholders[i] = PLACEHOLDERS[i].getBytes(StandardCharsets.UTF_8);
+        }
+        List<byte[]> segmentList = new ArrayList<>();
+        List<Integer> slotList = new ArrayList<>();
+        int segmentStart = 0;
+        int position = 0;
+        while (position < json.length) {
+            int slot = match(json, position, placeholders);
+            if (slot >= 0) {
+                segmentList.add(Arrays.copyOfRange(json, segmentStart, position));
+                slotList.add(slot);
+                position += placeholders[slot].length;
+                segmentStart = position;
+            } else {
+                position++;
+            }
+        }
+        segmentList.add(Arrays.copyOfRange(json, segmentStart, json.length));
+        int[] slots = new int[slotList.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = slotList.get(i);
+        }
+        return new DashboardTemplate(title, segmentList.toArray(new byte[0][]), slots);
+    }
+
+    private static int match(byte[] json, int position, byte[][] placeholders) {
+        if (json[position] == '@') {
+            for (int i = 0; i < placeholders.length; i++) {
+                byte[] placeholder = placeholders[i];
+                if (position + placeholder.length <= json.length) {
+                    boolean isMatched = true;
+                    for (int j = 1; j < placeholder.length; j++) {
+                        if (json[position + j] != placeholder[j]) {
+                            isMatched = false;
+                            break;
+                        }
+                    }
+                    if (isMatched) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static byte[][] encode(String job, String interval, String datasource, String uid) throws NullPointerException {
+        if (job == null || interval == null || datasource == null || uid == null) {
+            String errorMessage = "Fails to render dashboard template: `job, interval, datasource and uid could not be null`. job: `"
+                    + job + "`. interval: `" + interval + "`. datasource: `" + datasource + "`. uid: `" + uid + "`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        return new byte[][] {encoder.quoteAsUTF8(job), encoder.quoteAsUTF8(interval), encoder.quoteAsUTF8(datasource),
+                encoder.quoteAsUTF8(uid)};
+    }
+
+    /**
+     * Dashboard 工厂，根据 Prometheus job 名称、图表目标数据获取周期及数据源名称生成 dashboard。
+     */
+    @FunctionalInterface
+    public interface Factory {
+
+        /**
+         * 生成 dashboard。
+         *
+         * @param job 监控指标对应的 Prometheus job 名称
+         * @param interval 图表目标数据获取周期
+         * @param datasource 数据源名称
+         * @return dashboard 信息
+         */
+        Dashboard create(String job, String interval, String datasource);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.datasource;
+
+import com.heimuheimu.util.grafana.cache.TtlCache;
+import com.heimuheimu.util.grafana.http.GrafanaHttpClient;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 带本地缓存的数据源信息 API 客户端，按组织 ID 及数据源名称缓存 {@link #getByName(String)} 的结果，数据源不存在时也将被缓存
+ * （使用较短的过期时间），通过 {@link #create(DataSource)} 创建数据源后将直接更新缓存。
+ *
+ * <p>通过 {@link #withOrganization(int)} 获得的组织视图与当前客户端共享同一个缓存。</p>
+ *
+ * <p><strong>注意：</strong>异步方法不读取缓存，但查询到的数据源信息及创建结果将更新缓存。缓存的数据源信息对象将被多个调用方共享，调用方不应修改。</p>
+ *
+ * <p><strong>说明：</strong>CachingDataSourceClient 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class CachingDataSourceClient extends DataSourceClient {
+
+    /**
+     * 默认的缓存过期时间，单位：毫秒
+     */
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * 默认的空值缓存过期时间，单位：毫秒
+     */
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = 30 * 1000L;
+
+    /**
+     * Grafana http 客户端
+     */
+    private final GrafanaHttpClient grafanaHttpClient;
+
+    /**
+     * 数据源信息缓存，Key 为 "组织 ID:数据源名称"
+     */
+    private final TtlCache<String, DataSource> cache;
+
+    /**
+     * 构造一个 CachingDataSourceClient 实例，使用默认的缓存过期时间。
+     *
+     * @param grafanaHttpClient Grafana http 客户端，不允许为 {@code null}
+     * @throws NullPointerException 如果 grafanaHttpClient 为 {@code null}，将会抛出此异常
+     */
+    public CachingDataSourceClient(GrafanaHttpClient grafanaHttpClient) throws NullPointerException {
+        this(grafanaHttpClient, DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+    }
+
+    /**
+     * 构造一个 CachingDataSourceClient 实例。
+     *
+     * @param grafanaHttpClient Grafana http 客户端，不允许为 {@code null}
+     * @param ttlMillis 数据源信息缓存过期时间，单位：毫秒，不允许小于等于 0
+     * @param negativeTtlMillis 数据源不存在时的缓存过期时间，单位：毫秒，如果小于等于 0，则不缓存
+     * @throws NullPointerException 如果 grafanaHttpClient 为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 ttlMillis 小于等于 0，将会抛出此异常
+     */
+    public CachingDataSourceClient(GrafanaHttpClient grafanaHttpClient, long ttlMillis, long negativeTtlMillis)
+            throws NullPointerException, IllegalArgumentException {
+        this(grafanaHttpClient, new TtlCache<>(ttlMillis, negativeTtlMillis));
+    }
+
+    private CachingDataSourceClient(GrafanaHttpClient grafanaHttpClient, TtlCache<String, DataSource> cache) {
+        super(grafanaHttpClient);
+        this.grafanaHttpClient = grafanaHttpClient;
+        this.cache = cache;
+    }
+
+    @Override
+    public CachingDataSourceClient withOrganization(int organizationId) throws IllegalArgumentException {
+        return new CachingDataSourceClient(grafanaHttpClient.withOrganization(organizationId), cache);
+    }
+
+    @Override
+    public DataSource getByName(String name) throws RuntimeException {
+        return cache.get(getKey(name), () -> super.getByName(name));
+    }
+
+    @Override
+    public DataSource create(DataSource dataSource) throws RuntimeException {
+        if (dataSource != null) {
+            cache.invalidate(getKey(dataSource.getName()));
+        }
+        DataSource createdDataSource = super.create(dataSource);
+        cache.put(getKey(createdDataSource.getName()), createdDataSource);
+        return createdDataSource;
+    }
+
+    @Override
+    public CompletableFuture<DataSource> getByNameAsync(String name) throws IllegalArgumentException {
+        return super.getByNameAsync(name).whenComplete((dataSource, throwable) -> {
+            if (dataSource != null) {
+                cache.put(getKey(name), dataSource);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<DataSource> createAsync(DataSource dataSource) throws NullPointerException {
+        if (dataSource != null) {
+            cache.invalidate(getKey(dataSource.getName()));
+        }
+        return super.createAsync(dataSource).whenComplete((createdDataSource, throwable) -> {
+            if (throwable == null) {
+                cache.put(getKey(createdDataSource.getName()), createdDataSource);
+            } else if (dataSource != null) {
+                cache.invalidate(getKey(dataSource.getName()));
+            }
+        });
+    }
+
+    /**
+     * 删除当前组织中指定数据源名称的缓存。
+     *
+     * @param name 数据源名称
+     */
+    public void invalidate(String name) {
+        cache.invalidate(getKey(name));
+    }
+
+    /**
+     * 删除所有组织的数据源信息缓存。
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private String getKey(String name) {
+        return grafanaHttpClient.getOrganizationId() + ":" + name;
+    }
+}
@@ -26,11 +26,13 @@ package com.heimuheimu.util.grafana.datasource;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.heimuheimu.util.grafana.http.GrafanaHttpClient;
+import com.heimuheimu.util.grafana.http.JsonFieldSelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Grafana 中的数据源信息 API 客户端，更多信息请参考文档：
@@ -44,6 +46,18 @@ public class DataSourceClient {
 
     private final static Logger LOG = LoggerFactory.getLogger(DataSourceClient.class);
 
+    /**
+     * 查询数据源信息时需要读取的响应字段
+     */
+    private final static JsonFieldSelector GET_BY_NAME_SELECTOR = JsonFieldSelector.of("id", "name", "type", "url",
+            "access");
+
+    /**
+     * 创建数据源信息时需要读取的响应字段
+     */
+    private final static JsonFieldSelector CREATE_SELECTOR = JsonFieldSelector.of("datasource.id", "datasource.name",
+            "datasource.type", "datasource.url", "datasource.access");
+
     /**
      * Grafana http 客户端
      */
@@ -62,6 +76,19 @@ public class DataSourceClient {
         this.grafanaHttpClient = grafanaHttpClient;
     }
 
+    /**
+     * 获得指定组织的 DataSourceClient 视图，视图发出的请求将设置 "X-Grafana-Org-Id" 请求头，不依赖当前用户在 Grafana 中所选择的组织，
+     * 可在多个组织中同时使用。
+     *
+     * @param organizationId 组织 ID，必须大于 0
+     * @return 指定组织的 DataSourceClient
+     * @throws IllegalArgumentException 如果 organizationId 小于等于 0，将会抛出此异常
+     * @see GrafanaHttpClient#withOrganization(int)
+     */
+    public DataSourceClient withOrganization(int organizationId) throws IllegalArgumentException {
+        return new DataSourceClient(grafanaHttpClient.withOrganization(organizationId));
+    }
+
     /**
      * 根据数据源名称获得数据源信息，如果不存在，则返回 {@code null}。
      *
@@ -71,26 +98,11 @@ public class DataSourceClient {
      * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
      */
     public DataSource getByName(String name) throws RuntimeException {
-        if (name == null || name.isEmpty()) {
-            String errorMessage = "Fails to get DataSource: `name could not be null or empty`.";
-            LOG.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
+        checkName(name);
         JsonNode response = null;
         try {
-            String path = "/api/datasources/name/" + name;
-            response = grafanaHttpClient.get(path);
-            if (response.has("id") && response.has("name")) {
-                DataSource dataSource = new DataSource();
-                dataSource.setId(response.get("id").intValue());
-                dataSource.setName(response.get("name").textValue());
-                dataSource.setType(response.get("type").textValue());
-                dataSource.setUrl(response.get("url").textValue());
-                dataSource.setAccess(response.get("access").textValue());
-                return dataSource;
-            } else {
-                return null;
-            }
+            response = grafanaHttpClient.get(getByNamePath(name), GET_BY_NAME_SELECTOR);
+            return parseDataSource(response);
         } catch (Exception e) {
             String errorMessage = "Fails to get DataSource. name: `" + name + "`. response: `" + response + "`.";
             LOG.error(errorMessage, e);
@@ -98,6 +110,32 @@ public class DataSourceClient {
         }
     }
 
+    /**
+     * 根据数据源名称异步获得数据源信息，如果不存在，{@code CompletableFuture} 的结果为 {@code null}。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param name 数据源名称，不允许为 {@code null} 或空
+     * @return 异步数据源信息，结果可能为 {@code null}
+     * @throws IllegalArgumentException 如果 name 为 {@code null} 或空，将会抛出此异常
+     * @see #getByName(String)
+     */
+    public CompletableFuture<DataSource> getByNameAsync(String name) throws IllegalArgumentException {
+        checkName(name);
+        return grafanaHttpClient.getAsync(getByNamePath(name), GET_BY_NAME_SELECTOR).handle((response, throwable) -> {
+            try {
+                if (throwable != null) {
+                    throw throwable;
+                }
+                return parseDataSource(response);
+            } catch (Throwable e) {
+                String errorMessage = "Fails to get DataSource. name: `" + name + "`. response: `" + response + "`.";
+                LOG.error(errorMessage, e);
+                throw new RuntimeException(errorMessage, e);
+            }
+        });
+    }
+
     /**
      * 创建指定的数据源并返回设置 ID 后的数据源信息，该方法不会返回 {@code null}。
      *
@@ -107,37 +145,100 @@ public class DataSourceClient {
      * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
      */
     public DataSource create(DataSource dataSource) throws RuntimeException {
-        if (dataSource == null) {
-            String errorMessage = "Fails to create DataSource: `dataSource could not be null`.";
-            LOG.error(errorMessage);
-            throw new NullPointerException(errorMessage);
-        }
-        DataSource result = null;
+        checkDataSource(dataSource);
+        DataSource result;
         JsonNode response = null;
         try {
-            String path = "/api/datasources";
-            Map<String, String> body = new HashMap<>();
-            body.put("name", dataSource.getName());
-            body.put("type", dataSource.getType());
-            body.put("url", dataSource.getUrl());
-            body.put("access", dataSource.getAccess());
-            response = grafanaHttpClient.post(path, body);
-            if (response.has("datasource")) {
-                JsonNode datasourceResponse = response.get("datasource");
-                if (datasourceResponse.has("id") && datasourceResponse.has("name")) {
-                    result = new DataSource();
-                    result.setId(datasourceResponse.get("id").intValue());
-                    result.setName(datasourceResponse.get("name").textValue());
-                    result.setType(datasourceResponse.get("type").textValue());
-                    result.setUrl(datasourceResponse.get("url").textValue());
-                    result.setAccess(datasourceResponse.get("access").textValue());
-                }
-            }
+            response = grafanaHttpClient.post("/api/datasources", getCreateBody(dataSource), CREATE_SELECTOR);
+            result = parseCreateResponse(response);
         } catch (Exception e) {
             String errorMessage = "Fails to create DataSource. dataSource: `" + dataSource + "`. response: `" + response + "`.";
             LOG.error(errorMessage, e);
             throw new RuntimeException(errorMessage, e);
         }
+        return checkCreated(dataSource, result, response);
+    }
+
+    /**
+     * 异步创建指定的数据源，{@code CompletableFuture} 的结果为设置 ID 后的数据源信息，不会为 {@code null}。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param dataSource 数据源信息，数据源 ID 会被忽略
+     * @return 异步数据源信息，结果不会为 {@code null}
+     * @throws NullPointerException 如果 dataSource 为 {@code null}，将会抛出此异常
+     * @see #create(DataSource)
+     */
+    public CompletableFuture<DataSource> createAsync(DataSource dataSource) throws NullPointerException {
+        checkDataSource(dataSource);
+        return grafanaHttpClient.postAsync("/api/datasources", getCreateBody(dataSource), CREATE_SELECTOR).handle((response, throwable) -> {
+            DataSource result;
+            try {
+                if (throwable != null) {
+                    throw throwable;
+                }
+                result = parseCreateResponse(response);
+            } catch (Throwable e) {
+                String errorMessage = "Fails to create DataSource. dataSource: `" + dataSource + "`. response: `" + response + "`.";
+                LOG.error(errorMessage, e);
+                throw new RuntimeException(errorMessage, e);
+            }
+            return checkCreated(dataSource, result, response);
+        });
+    }
+
+    private void checkName(String name) throws IllegalArgumentException {
+        if (name == null || name.isEmpty()) {
+            String errorMessage = "Fails to get DataSource: `name could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    private void checkDataSource(DataSource dataSource) throws NullPointerException {
+        if (dataSource == null) {
+            String errorMessage = "Fails to create DataSource: `dataSource could not be null`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+    }
+
+    private String getByNamePath(String name) {
+        return "/api/datasources/name/" + name;
+    }
+
+    private Map<String, String> getCreateBody(DataSource dataSource) {
+        Map<String, String> body = new HashMap<>();
+        body.put("name", dataSource.getName());
+        body.put("type", dataSource.getType());
+        body.put("url", dataSource.getUrl());
+        body.put("access", dataSource.getAccess());
+        return body;
+    }
+
+    private DataSource parseCreateResponse(JsonNode response) {
+        if (response.has("datasource")) {
+            return parseDataSource(response.get("datasource"));
+        } else {
+            return null;
+        }
+    }
+
+    private DataSource parseDataSource(JsonNode datasourceResponse) {
+        if (datasourceResponse.has("id") && datasourceResponse.has("name")) {
+            DataSource dataSource = new DataSource();
+            dataSource.setId(datasourceResponse.get("id").intValue());
+            dataSource.setName(datasourceResponse.get("name").textValue());
+            dataSource.setType(datasourceResponse.get("type").textValue());
+            dataSource.setUrl(datasourceResponse.get("url").textValue());
+            dataSource.setAccess(datasourceResponse.get("access").textValue());
+            return dataSource;
+        } else {
+            return null;
+        }
+    }
+
+    private DataSource checkCreated(DataSource dataSource, DataSource result, JsonNode response) throws RuntimeException {
         if (result == null) {
             String errorMessage = "Fails to create DataSource. dataSource: `" + dataSource + "`. response: `" + response + "`.";
             LOG.error(errorMessage);
@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.fleet;
+
+import com.heimuheimu.util.grafana.prometheus.PrometheusJobClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * dashboards 生成器类型检测器，通过一次 Prometheus 查询获取 job 上报的所有监控指标名称，根据监控指标名称前缀判断该 job 使用的组件，
+ * 仅返回匹配的 dashboards 生成器类型，避免为 job 创建没有数据的 dashboards。
+ *
+ * <p>监控指标名称前缀通过前缀树进行最长匹配，例如："naiveredis_distributed_lock_" 将优先于 "naiveredis_" 匹配。
+ * 默认已注册本项目中所有生成器对应的前缀，可通过 {@link #register(String, String)} 注册其它前缀。</p>
+ *
+ * <p><strong>说明：</strong>BuilderTypeDetector 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class BuilderTypeDetector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BuilderTypeDetector.class);
+
+    /**
+     * Prometheus job 信息客户端
+     */
+    private final PrometheusJobClient jobClient;
+
+    /**
+     * 监控指标名称前缀树，Value 为 dashboards 生成器类型
+     */
+    private final MetricPrefixTrie<String> prefixTrie = new MetricPrefixTrie<>();
+
+    /**
+     * 构造一个 BuilderTypeDetector 实例，将注册本项目中所有生成器对应的监控指标名称前缀。
+     *
+     * @param jobClient Prometheus job 信息客户端，不允许为 {@code null}
+     * @throws NullPointerException 如果 jobClient 为 {@code null}，将会抛出此异常
+     */
+    public BuilderTypeDetector(PrometheusJobClient jobClient) throws NullPointerException {
+        if (jobClient == null) {
+            String errorMessage = "Fails to construct BuilderTypeDetector: `jobClient could not be null`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        this.jobClient = jobClient;
+        // hotspot
+        register("hotspot_", "hotspot");
+        // mysql-jdbc
+        register("mysql_jdbc_", "mysql-jdbc");
+        // naiverpc
+        register("naiverpc_server_", "rpc-server");
+        register("naiverpc_client_", "rpc-client");
+        // naiveredis
+        register("naiveredis_", "redis-client");
+        register("naiveredis_distributed_lock_", "redis-lock");
+        register("naiveredis_lock_client_", "redis-lock");
+        register("naiveredis_publisher_", "redis-publisher");
+        register("naiveredis_subscriber_", "redis-subscriber");
+        // naivecache
+        register("naivecache_memcached_", "memcached");
+        register("naivecache_local_cache_", "local-cache");
+        // raven
+        register("raven_", "raven");
+        // naiveasync
+        register("naiveasync_producer_", "async-producer");
+        register("naiveasync_consumer_", "async-consumer");
+    }
+
+    /**
+     * 注册监控指标名称前缀对应的 dashboards 生成器类型，相同前缀重复注册时，将覆盖之前的类型。
+     *
+     * @param prefix 监控指标名称前缀，不允许为 {@code null} 或空
+     * @param builderType dashboards 生成器类型，应能被对应生成器的 {@code isSupported(String)} 方法识别，不允许为 {@code null} 或空
+     * @throws IllegalArgumentException 如果 prefix 或 builderType 为 {@code null} 或空，将会抛出此异常
+     */
+    public synchronized void register(String prefix, String builderType) throws IllegalArgumentException {
+        if (prefix == null || prefix.isEmpty() || builderType == null || builderType.isEmpty()) {
+            String errorMessage = "Fails to register metric prefix: `prefix and builderType could not be null or empty`. prefix: `"
+                    + prefix + "`. builderType: `" + builderType + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        prefixTrie.put(prefix, builderType);
+    }
+
+    /**
+     * 检测指定 job 需要的 dashboards 生成器类型列表，列表按首次匹配的顺序排列，不会返回 {@code null}。
+     *
+     * @param jobName job 名称，不允许为 {@code null} 或空
+     * @return dashboards 生成器类型列表，不会为 {@code null}
+     * @throws IllegalArgumentException 如果 jobName 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果查询 Prometheus 时发生错误，将会抛出此异常
+     */
+    public List<String> detect(String jobName) throws RuntimeException {
+        return detect(jobClient.getMetricNames(jobName));
+    }
+
+    /**
+     * 根据监控指标名称列表检测需要的 dashboards 生成器类型列表，列表按首次匹配的顺序排列，不会返回 {@code null}。
+     *
+     * @param metricNameList 监控指标名称列表，不允许为 {@code null}
+     * @return dashboards 生成器类型列表，不会为 {@code null}
+     */
+    public synchronized List<String> detect(List<String> metricNameList) {
+        Set<String> builderTypeSet = new LinkedHashSet<>();
+        for (String metricName : metricNameList) {
+            String builderType = prefixTrie.getLongestMatch(metricName);
+            if (builderType != null) {
+                builderTypeSet.add(builderType);
+            }
+        }
+        return new ArrayList<>(builderTypeSet);
+    }
+
+    /**
+     * 检测指定 job 需要的 dashboards 生成器类型，并返回对应的任务描述信息，如果没有匹配的生成器类型，则返回 {@code null}。
+     * 可作为 {@link FleetReconciler} 的任务描述信息函数使用，例如：{@code job -> detector.getSpec(job, "30s")}。
+     *
+     * @param jobName job 名称，不允许为 {@code null} 或空
+     * @param interval 图表目标数据获取周期，例如：30s、1m ...
+     * @return 任务描述信息，可能为 {@code null}
+     * @throws IllegalArgumentException 如果 jobName 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果查询 Prometheus 时发生错误，将会抛出此异常
+     */
+    public ProvisioningSpec getSpec(String jobName, String interval) throws RuntimeException {
+        List<String> builderTypeList = detect(jobName);
+        if (builderTypeList.isEmpty()) {
+            LOG.debug("No builder type detected. jobName: `{}`.", jobName);
+            return null;
+        }
+        ProvisioningSpec spec = new ProvisioningSpec();
+        spec.setOrganizationName(jobName);
+        spec.setInterval(interval);
+        spec.setBuilderTypes(builderTypeList);
+        return spec;
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.fleet;
+
+import com.heimuheimu.util.grafana.dashboard.DashboardClient;
+import com.heimuheimu.util.grafana.dashboard.DashboardFingerprint;
+import com.heimuheimu.util.grafana.dashboard.DashboardSummary;
+import com.heimuheimu.util.grafana.folder.Folder;
+import com.heimuheimu.util.grafana.folder.FolderClient;
+import com.heimuheimu.util.grafana.organization.Organization;
+import com.heimuheimu.util.grafana.organization.OrganizationClient;
+import com.heimuheimu.util.grafana.prometheus.PrometheusJobClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已下线 job 对应的 Grafana 资源清理器，删除宽限期内在 Prometheus 中已没有监控数据的 job 对应的组织、文件夹及 dashboard。
+ *
+ * <p>仅会删除由 dashboards 生成器创建的资源：dashboard 通过 {@link DashboardFingerprint#GENERATED_TAG} 标签识别，
+ * 文件夹通过 {@link FolderClient#getUid(String)} 生成的确定性 UID 识别。如果组织中存在生成器创建的资源，且不包含其它 dashboard 或文件夹，
+ * 将直接删除该组织，否则仅删除生成器创建的 dashboard，以及删除后为空的生成器文件夹。不包含生成器创建资源的组织不会被处理，
+ * 默认组织（ID 为 1）不会被删除。</p>
+ *
+ * <p>删除操作将按批次执行，每批次执行完成后暂停一段时间，避免对 Grafana 造成压力。演练模式下仅生成清理报告，不会删除任何资源。</p>
+ *
+ * <p><strong>说明：</strong>FleetGarbageCollector 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class FleetGarbageCollector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FleetGarbageCollector.class);
+
+    /**
+     * 默认组织 ID，该组织不会被删除
+     */
+    private static final int MAIN_ORGANIZATION_ID = 1;
+
+    /**
+     * 默认的每批次删除数量
+     */
+    public static final int DEFAULT_BATCH_SIZE = 20;
+
+    /**
+     * 默认的批次间隔时间，单位：毫秒
+     */
+    public static final long DEFAULT_BATCH_INTERVAL_MILLIS = 1000;
+
+    /**
+     * 组织信息 API 客户端
+     */
+    private final OrganizationClient organizationClient;
+
+    /**
+     * 文件夹信息 API 客户端
+     */
+    private final FolderClient folderClient;
+
+    /**
+     * Dashboard 信息 API 客户端
+     */
+    private final DashboardClient dashboardClient;
+
+    /**
+     * Prometheus job 信息客户端
+     */
+    private final PrometheusJobClient jobClient;
+
+    /**
+     * 宽限期，单位：毫秒，宽限期内存在监控数据的 job 不会被清理
+     */
+    private final long gracePeriodMillis;
+
+    /**
+     * 每批次删除数量
+     */
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * 批次间隔时间，单位：毫秒
+     */
+    private volatile long batchIntervalMillis = DEFAULT_BATCH_INTERVAL_MILLIS;
+
+    /**
+     * 构造一个 FleetGarbageCollector 实例。
+     *
+     * @param organizationClient 组织信息 API 客户端，不允许为 {@code null}
+     * @param folderClient 文件夹信息 API 客户端，不允许为 {@code null}
+     * @param dashboardClient Dashboard 信息 API 客户端，不允许为 {@code null}
+     * @param jobClient Prometheus job 信息客户端，不允许为 {@code null}
+     * @param gracePeriodMillis 宽限期，单位：毫秒，宽限期内存在监控数据的 job 不会被清理，不允许小于等于 0
+     * @throws NullPointerException 如果 organizationClient、folderClient、dashboardClient 或 jobClient 为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 gracePeriodMillis 小于等于 0，将会抛出此异常
+     */
+    public FleetGarbageCollector(OrganizationClient organizationClient, FolderClient folderClient, DashboardClient dashboardClient,
+                                 PrometheusJobClient jobClient, long gracePeriodMillis) throws NullPointerException, IllegalArgumentException {
+        if (organizationClient == null || folderClient == null || dashboardClient == null || jobClient == null) {
+            String errorMessage = "Fails to construct FleetGarbageCollector: `clients could not be null`. organizationClient: `"
+                    + organizationClient + "`. folderClient: `" + folderClient + "`. dashboardClient: `" + dashboardClient
+                    + "`. jobClient: `" + jobClient + "`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        if (gracePeriodMillis <= 0) {
+            String errorMessage = "Fails to construct FleetGarbageCollector: `gracePeriodMillis must be greater than 0`. gracePeriodMillis: `"
+                    + gracePeriodMillis + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.organizationClient = organizationClient;
+        this.folderClient = folderClient;
+        this.dashboardClient = dashboardClient;
+        this.jobClient = jobClient;
+        this.gracePeriodMillis = gracePeriodMillis;
+    }
+
+    /**
+     * 清理已下线 job 对应的 Grafana 资源，单个资源删除失败不会影响其它资源的删除，失败信息将记录在清理报告中。
+     *
+     * @param dryRun 是否为演练模式，演练模式下不会删除任何资源
+     * @param outputStream 用于输出清理信息的输出流，允许为 {@code null}
+     * @return 清理报告，不会为 {@code null}
+     * @throws RuntimeException 如果获取 job 列表、组织列表失败，或宽限期内没有任何 job 存在监控数据，将会抛出此异常
+     */
+    public GarbageCollectionReport collect(boolean dryRun, OutputStream outputStream) throws RuntimeException {
+        Set<String> liveJobSet = new HashSet<>(jobClient.getJobNames(gracePeriodMillis));
+        if (liveJobSet.isEmpty()) {
+            // Prometheus 异常时可能返回空列表，此时不应删除任何资源
+            String errorMessage = "Fails to collect garbage: `no live job found in grace period`. gracePeriodMillis: `"
+                    + gracePeriodMillis + "`.";
+            LOG.error(errorMessage);
+            throw new RuntimeException(errorMessage);
+        }
+        GarbageCollectionReport report = new GarbageCollectionReport(dryRun);
+        report.setLiveJobCount(liveJobSet.size());
+        DeletionThrottle throttle = new DeletionThrottle(batchSize, batchIntervalMillis);
+        for (Organization organization : organizationClient.listAll()) {
+            if (organization.getId() != MAIN_ORGANIZATION_ID && !liveJobSet.contains(organization.getName())) {
+                try {
+                    collectOrganization(organization, dryRun, throttle, report, outputStream);
+                } catch (Exception e) {
+                    String errorMessage = "Fails to collect organization garbage. organization: `" + organization + "`. error: `"
+                            + e.getMessage() + "`.";
+                    LOG.error(errorMessage, e);
+                    report.getFailureList().add(errorMessage);
+                }
+            }
+        }
+        write(outputStream, (dryRun ? "[Dry-run] " : "") + "Garbage collection end. organizations: `" + report.getOrganizationList().size()
+                + "`. folders: `" + report.getFolderList().size() + "`. dashboards: `" + report.getDashboardList().size()
+                + "`. failures: `" + report.getFailureList().size() + "`.");
+        return report;
+    }
+
+    /**
+     * 获得每批次删除数量。
+     *
+     * @return 每批次删除数量
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 设置每批次删除数量。
+     *
+     * @param batchSize 每批次删除数量，不允许小于等于 0
+     * @throws IllegalArgumentException 如果 batchSize 小于等于 0，将会抛出此异常
+     */
+    public void setBatchSize(int batchSize) throws IllegalArgumentException {
+        if (batchSize <= 0) {
+            String errorMessage = "Fails to set batch size: `batchSize must be greater than 0`. batchSize: `" + batchSize + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 获得批次间隔时间，单位：毫秒。
+     *
+     * @return 批次间隔时间
+     */
+    public long getBatchIntervalMillis() {
+        return batchIntervalMillis;
+    }
+
+    /**
+     * 设置批次间隔时间，单位：毫秒。
+     *
+     * @param batchIntervalMillis 批次间隔时间，不允许小于 0
+     * @throws IllegalArgumentException 如果 batchIntervalMillis 小于 0，将会抛出此异常
+     */
+    public void setBatchIntervalMillis(long batchIntervalMillis) throws IllegalArgumentException {
+        if (batchIntervalMillis < 0) {
+            String errorMessage = "Fails to set batch interval: `batchIntervalMillis could not be negative`. batchIntervalMillis: `"
+                    + batchIntervalMillis + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.batchIntervalMillis = batchIntervalMillis;
+    }
+
+    private void collectOrganization(Organization organization, boolean dryRun, DeletionThrottle throttle,
+                                     GarbageCollectionReport report, OutputStream outputStream) {
+        String prefix = (dryRun ? "[Dry-run] " : "") + "Delete ";
+        DashboardClient dashboardClient = this.dashboardClient.withOrganization(organization.getId());
+        FolderClient folderClient = this.folderClient.withOrganization(organization.getId());
+        List<DashboardSummary> generatedDashboardList = new ArrayList<>();
+        Set<Integer> occupiedFolderIdSet = new HashSet<>();
+        for (DashboardSummary dashboard : dashboardClient.listAll()) {
+            if (dashboard.getTags().contains(DashboardFingerprint.GENERATED_TAG)) {
+                generatedDashboardList.add(dashboard);
+            } else {
+                occupiedFolderIdSet.add(dashboard.getFolderId());
+            }
+        }
+        List<Folder> generatedFolderList = new ArrayList<>();
+        boolean hasUserFolder = false;
+        for (Folder folder : folderClient.listAll()) {
+            if (FolderClient.getUid(folder.getTitle()).equals(folder.getUid())) {
+                if (!occupiedFolderIdSet.contains(folder.getId())) {
+                    generatedFolderList.add(folder);
+                }
+            } else {
+                hasUserFolder = true;
+            }
+        }
+        if (generatedDashboardList.isEmpty() && generatedFolderList.isEmpty()) {
+            // 组织中不包含生成器创建的资源，不属于清理范围
+            return;
+        }
+        if (occupiedFolderIdSet.isEmpty() && !hasUserFolder) {
+            // 组织中仅包含生成器创建的资源，直接删除组织
+            write(outputStream, prefix + "organization: `" + organization.getName() + "`. folders: `" + generatedFolderList.size()
+                    + "`. dashboards: `" + generatedDashboardList.size() + "`.");
+            if (!dryRun) {
+                throttle.acquire();
+                if (!organizationClient.delete(organization.getId())) {
+                    report.getFailureList().add("Fails to delete organization: `" + organization.getName()
+                            + "`. error: `organization not deleted`.");
+                    return;
+                }
+            }
+            report.getOrganizationList().add(organization.getName());
+            return;
+        }
+        for (DashboardSummary dashboard : generatedDashboardList) {
+            String name = organization.getName() + "/" + dashboard.getTitle();
+            write(outputStream, prefix + "dashboard: `" + name + "`. uid: `" + dashboard.getUid() + "`.");
+            if (!dryRun) {
+                throttle.acquire();
+                String error;
+                try {
+                    error = dashboardClient.deleteByUid(dashboard.getUid()) ? null : "dashboard not deleted";
+                } catch (Exception e) {
+                    error = e.getMessage();
+                }
+                if (error != null) {
+                    report.getFailureList().add("Fails to delete dashboard: `" + name + "`. error: `" + error + "`.");
+                    // 文件夹中可能仍有 dashboard，不删除该文件夹
+                    generatedFolderList.removeIf(folder -> folder.getId() == dashboard.getFolderId());
+                    continue;
+                }
+            }
+            report.getDashboardList().add(name);
+        }
+        for (Folder folder : generatedFolderList) {
+            String name = organization.getName() + "/" + folder.getTitle();
+            write(outputStream, prefix + "folder: `" + name + "`. uid: `" + folder.getUid() + "`.");
+            if (!dryRun) {
+                throttle.acquire();
+                String error;
+                try {
+                    error = folderClient.delete(folder.getUid()) ? null : "folder not deleted";
+                } catch (Exception e) {
+                    error = e.getMessage();
+                }
+                if (error != null) {
+                    report.getFailureList().add("Fails to delete folder: `" + name + "`. error: `" + error + "`.");
+                    continue;
+                }
+            }
+            report.getFolderList().add(name);
+        }
+    }
+
+    private void write(OutputStream outputStream, String text) {
+        if (outputStream != null) {
+            try {
+                outputStream.write((text + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+                outputStream.flush();
+            } catch (IOException e) {
+                LOG.error("Fails to write garbage collection output.", e);
+            }
+        }
+    }
+
+    /**
+     * 删除操作限流器，每执行指定数量的删除操作后暂停一段时间。
+     */
+    private static class DeletionThrottle {
+
+        /**
+         * 每批次删除数量
+         */
+        private final int batchSize;
+
+        /**
+         * 批次间隔时间，单位：毫秒
+         */
+        private final long batchIntervalMillis;
+
+        /**
+         * 当前批次已执行的删除数量
+         */
+        private int count = 0;
+
+        private DeletionThrottle(int batchSize, long batchIntervalMillis) {
+            this.batchSize = batchSize;
+            this.batchIntervalMillis = batchIntervalMillis;
+        }
+
+        private void acquire() {
+            if (count++ == batchSize) {
+                count = 1;
+                try {
+                    TimeUnit.MILLISECONDS.sleep(batchIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Fails to delete: `interrupted`.", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.fleet;
+
+import com.heimuheimu.util.grafana.DashboardsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量 dashboards 生成器，根据任务描述信息列表为多个 Prometheus job 生成多种类型的 dashboards。
+ *
+ * <p>任务将在固定大小的工作线程池中执行，同一组织内的生成器将按顺序依次执行，避免并发创建同一组织、数据源或文件夹，
+ * 不同组织之间并行执行。每个组织的输出信息将在该组织执行完成后整体写入输出流，不会与其它组织的输出信息交错。</p>
+ *
+ * <p><strong>说明：</strong>FleetProvisioner 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class FleetProvisioner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FleetProvisioner.class);
+
+    /**
+     * 可用的 dashboards 生成器列表
+     */
+    private final List<DashboardsBuilder> builderList;
+
+    /**
+     * 工作线程数量
+     */
+    private final int workerCount;
+
+    /**
+     * 构造一个 FleetProvisioner 实例。
+     *
+     * @param builderList 可用的 dashboards 生成器列表，不允许为 {@code null} 或空
+     * @param workerCount 工作线程数量，即允许同时执行的最大组织数量，不允许小于等于 0
+     * @throws IllegalArgumentException 如果 builderList 为 {@code null} 或空，将会抛出此异常
+     * @throws IllegalArgumentException 如果 workerCount 小于等于 0，将会抛出此异常
+     */
+    public FleetProvisioner(List<DashboardsBuilder> builderList, int workerCount) throws IllegalArgumentException {
+        if (builderList == null || builderList.isEmpty()) {
+            String errorMessage = "Fails to construct FleetProvisioner: `builderList could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        if (workerCount <= 0) {
+            String errorMessage = "Fails to construct FleetProvisioner: `workerCount must be greater than 0`. workerCount: `"
+                    + workerCount + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.builderList = new ArrayList<>(builderList);
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * 根据任务描述信息列表批量生成 dashboards，该方法将阻塞至所有任务执行完成，单个任务失败不会影响其它任务的执行。
+     *
+     * @param specList 任务描述信息列表，不允许为 {@code null}
+     * @param outputStream 用于输出创建信息的输出流，允许为 {@code null}
+     * @return 批量生成报告，不会为 {@code null}
+     * @throws NullPointerException 如果 specList 为 {@code null}，将会抛出此异常
+     */
+    public FleetProvisioningReport provision(List<ProvisioningSpec> specList, OutputStream outputStream) throws NullPointerException {
+        if (specList == null) {
+            String errorMessage = "Fails to provision dashboards: `specList could not be null`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        long startTime = System.currentTimeMillis();
+        // 每个任务的执行结果按任务下标保存，保证报告中的结果顺序与任务描述信息的顺序一致
+        List<List<ProvisioningResult>> specResultList = new ArrayList<>(specList.size());
+        // 按组织分组，同一组织内的任务依次执行
+        Map<String, List<Integer>> organizationSpecIndexMap = new LinkedHashMap<>();
+        for (int i = 0; i < specList.size(); i++) {
+            ProvisioningSpec spec = specList.get(i);
+            ProvisioningResult invalidResult = validate(spec);
+            specResultList.add(invalidResult != null ? Collections.singletonList(invalidResult) : null);
+            if (invalidResult == null) {
+                organizationSpecIndexMap.computeIfAbsent(spec.getOrganizationName(), k -> new ArrayList<>()).add(i);
+            }
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(workerCount, Math.max(1, organizationSpecIndexMap.size())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "grafana-fleet-provisioner-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        List<Future<List<List<ProvisioningResult>>>> futureList = new ArrayList<>();
+        try {
+            for (List<Integer> specIndexList : organizationSpecIndexMap.values()) {
+                List<ProvisioningSpec> organizationSpecList = new ArrayList<>(specIndexList.size());
+                for (int specIndex : specIndexList) {
+                    organizationSpecList.add(specList.get(specIndex));
+                }
+                futureList.add(executorService.submit(() -> provisionOrganization(organizationSpecList, outputStream)));
+            }
+            int organizationIndex = 0;
+            for (List<Integer> specIndexList : organizationSpecIndexMap.values()) {
+                Future<List<List<ProvisioningResult>>> future = futureList.get(organizationIndex++);
+                try {
+                    List<List<ProvisioningResult>> organizationResultList = future.get();
+                    for (int i = 0; i < specIndexList.size(); i++) {
+                        specResultList.set(specIndexList.get(i), organizationResultList.get(i));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    String errorMessage = "Fails to provision dashboards: `interrupted`.";
+                    LOG.error(errorMessage, e);
+                    throw new RuntimeException(errorMessage, e);
+                } catch (Exception e) {
+                    // provisionOrganization 不会抛出异常
+                    LOG.error("Fails to provision dashboards: `unexpected error`.", e);
+                    for (int specIndex : specIndexList) {
+                        ProvisioningSpec spec = specList.get(specIndex);
+                        specResultList.set(specIndex, Collections.singletonList(new ProvisioningResult(spec.getOrganizationName(),
+                                null, false, "unexpected error: " + e, 0)));
+                    }
+                }
+            }
+            List<ProvisioningResult> resultList = new ArrayList<>();
+            for (List<ProvisioningResult> results : specResultList) {
+                resultList.addAll(results);
+            }
+            FleetProvisioningReport report = new FleetProvisioningReport(resultList, System.currentTimeMillis() - startTime);
+            write(outputStream, "Fleet provisioning end. Report: " + report + System.lineSeparator());
+            return report;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * 校验任务描述信息，如果任务描述信息不正确，将返回对应的失败结果。
+     *
+     * @param spec 任务描述信息
+     * @return 失败结果，如果任务描述信息正确，将返回 {@code null}
+     */
+    private ProvisioningResult validate(ProvisioningSpec spec) {
+        String reason = null;
+        if (spec == null) {
+            reason = "spec could not be null";
+        } else if (spec.getOrganizationName() == null || spec.getOrganizationName().isEmpty()) {
+            reason = "organizationName could not be null or empty";
+        } else if (spec.getInterval() == null) {
+            reason = "interval could not be null";
+        } else if (spec.getBuilderTypes() == null || spec.getBuilderTypes().isEmpty()) {
+            reason = "builderTypes could not be null or empty";
+        }
+        if (reason == null) {
+            return null;
+        }
+        String errorMessage = "Fails to provision dashboards: `" + reason + "`. spec: `" + spec + "`.";
+        LOG.error(errorMessage);
+        return new ProvisioningResult(spec != null ? spec.getOrganizationName() : null, null, false, errorMessage, 0);
+    }
+
+    /**
+     * 依次执行某个组织中的所有任务，单个任务失败不会影响其它任务的执行。
+     *
+     * @param organizationSpecList 同一组织中的任务描述信息列表
+     * @param outputStream 用于输出创建信息的输出流，允许为 {@code null}
+     * @return 执行结果列表，与任务描述信息一一对应
+     */
+    private List<List<ProvisioningResult>> provisionOrganization(List<ProvisioningSpec> organizationSpecList, OutputStream outputStream) {
+        List<List<ProvisioningResult>> specResultList = new ArrayList<>(organizationSpecList.size());
+        ByteArrayOutputStream buffer = outputStream != null ? new ByteArrayOutputStream() : null;
+        for (ProvisioningSpec spec : organizationSpecList) {
+            List<ProvisioningResult> resultList = new ArrayList<>();
+            specResultList.add(resultList);
+            for (String builderType : spec.getBuilderTypes()) {
+                long startTime = System.currentTimeMillis();
+                try {
+                    DashboardsBuilder builder = getBuilder(builderType);
+                    if (builder == null) {
+                        String errorMessage = "Fails to provision dashboards: `unsupported builder type`. spec: `" + spec
+                                + "`. builderType: `" + builderType + "`.";
+                        LOG.error(errorMessage);
+                        resultList.add(new ProvisioningResult(spec.getOrganizationName(), builderType, false, errorMessage, 0));
+                        continue;
+                    }
+                    builder.build(spec.getOrganizationName(), spec.getInterval(), buffer);
+                    resultList.add(new ProvisioningResult(spec.getOrganizationName(), builderType, true, null,
+                            System.currentTimeMillis() - startTime));
+                } catch (Exception e) {
+                    LOG.error("Fails to provision dashboards. spec: `" + spec + "`. builderType: `" + builderType + "`.", e);
+                    resultList.add(new ProvisioningResult(spec.getOrganizationName(), builderType, false, e.getMessage(),
+                            System.currentTimeMillis() - startTime));
+                }
+            }
+        }
+        if (buffer != null) {
+            write(outputStream, buffer.toByteArray());
+        }
+        return specResultList;
+    }
+
+    private DashboardsBuilder getBuilder(String builderType) {
+        for (DashboardsBuilder builder : builderList) {
+            if (builder.isSupported(builderType)) {
+                return builder;
+            }
+        }
+        return null;
+    }
+
+    private void write(OutputStream outputStream, String text) {
+        if (outputStream != null) {
+            write(outputStream, text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void write(OutputStream outputStream, byte[] bytes) {
+        synchronized (outputStream) {
+            try {
+                outputStream.write(bytes);
+                outputStream.flush();
+            } catch (IOException e) {
+                LOG.error("Fails to write provisioning output.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.fleet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量生成报告，包含每个 (组织, dashboards 类型) 的执行结果以及整体吞吐量。
+ *
+ * <p><strong>说明：</strong>FleetProvisioningReport 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class FleetProvisioningReport {
+
+    /**
+     * 执行结果列表，与任务描述信息的顺序一致
+     */
+    private final List<ProvisioningResult> resultList;
+
+    /**
+     * 总耗时，单位：毫秒
+     */
+    private final long elapsedMillis;
+
+    FleetProvisioningReport(List<ProvisioningResult> resultList, long elapsedMillis) {
+        this.resultList = Collections.unmodifiableList(new ArrayList<>(resultList));
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * 获得执行结果列表，与任务描述信息的顺序一致。
+     *
+     * @return 执行结果列表，不会为 {@code null}
+     */
+    public List<ProvisioningResult> getResultList() {
+        return resultList;
+    }
+
+    /**
+     * 获得执行失败的结果列表。
+     *
+     * @return 执行失败的结果列表，不会为 {@code null}
+     */
+    public List<ProvisioningResult> getFailureList() {
+        List<ProvisioningResult> failureList = new ArrayList<>();
+        for (ProvisioningResult result : resultList) {
+            if (!result.isSuccess()) {
+                failureList.add(result);
+            }
+        }
+        return failureList;
+    }
+
+    /**
+     * 获得执行成功的数量。
+     *
+     * @return 执行成功的数量
+     */
+    public int getSuccessCount() {
+        return resultList.size() - getFailureCount();
+    }
+
+    /**
+     * 获得执行失败的数量。
+     *
+     * @return 执行失败的数量
+     */
+    public int getFailureCount() {
+        return getFailureList().size();
+    }
+
+    /**
+     * 获得总耗时，单位：毫秒。
+     *
+     * @return 总耗时
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * 获得整体吞吐量，即每秒完成的 (组织, dashboards 类型) 数量。
+     *
+     * @return 整体吞吐量
+     */
+    public double getThroughput() {
+        return elapsedMillis > 0 ? resultList.size() * 1000.0 / elapsedMillis : resultList.size();
+    }
+
+    @Override
+    public String toString() {
+        return "FleetProvisioningReport{" +
+                "total=" + resultList.size() +
+                ", success=" + getSuccessCount() +
+                ", failure=" + getFailureCount() +
+                ", elapsedMillis=" + elapsedMillis +
+                ", throughput=" + String.format("%.2f/s", getThroughput()) +
+                ", failureList=" + getFailureList() +
+                '}';
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.fleet;
+
+import com.heimuheimu.util.grafana.prometheus.PrometheusJobClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Prometheus job 自动同步器，定时获取 Prometheus 中的 job 名称列表，与上一次成功生成的任务描述信息进行比较，
+ * 仅为新增或任务描述信息发生变化的 job 生成 dashboards，job 列表未变化时不会访问 Grafana。
+ *
+ * <p>dashboards 通过 {@link FleetProvisioner} 生成，同时执行的最大组织数量由 {@code FleetProvisioner} 的工作线程数量决定。
+ * 生成失败的 job 将在下一次同步时重试，已从 Prometheus 中移除的 job 仅从已知列表中删除，不会删除对应的 dashboards。
+ * 每次同步的间隔时间将在基础间隔时间上增加随机抖动，避免多个实例同时访问 Prometheus 和 Grafana。</p>
+ *
+ * <p><strong>说明：</strong>FleetReconciler 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class FleetReconciler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FleetReconciler.class);
+
+    /**
+     * 默认的同步间隔时间随机抖动比例
+     */
+    public static final double DEFAULT_JITTER_RATIO = 0.2;
+
+    /**
+     * 批量 dashboards 生成器
+     */
+    private final FleetProvisioner provisioner;
+
+    /**
+     * Prometheus job 信息客户端
+     */
+    private final PrometheusJobClient jobClient;
+
+    /**
+     * 根据 job 名称获得任务描述信息的函数，返回 {@code null} 表示忽略该 job
+     */
+    private final Function<String, ProvisioningSpec> specResolver;
+
+    /**
+     * 同步间隔时间，单位：毫秒
+     */
+    private final long intervalMillis;
+
+    /**
+     * 同步间隔时间随机抖动比例，取值范围为 [0, 1)
+     */
+    private volatile double jitterRatio = DEFAULT_JITTER_RATIO;
+
+    /**
+     * 用于输出创建信息的输出流，允许为 {@code null}
+     */
+    private volatile OutputStream outputStream = null;
+
+    /**
+     * 已成功生成的任务描述信息 Map，Key 为 job 名称
+     */
+    private final Map<String, ProvisioningSpec> appliedSpecMap = new ConcurrentHashMap<>();
+
+    /**
+     * 同步操作使用的锁，保证同一时刻仅有一个同步操作执行
+     */
+    private final Object reconcileLock = new Object();
+
+    /**
+     * 执行定时同步的线程池，未启动时为 {@code null}
+     */
+    private ScheduledExecutorService scheduler = null;
+
+    /**
+     * 构造一个 FleetReconciler 实例。
+     *
+     * @param provisioner 批量 dashboards 生成器，不允许为 {@code null}
+     * @param jobClient Prometheus job 信息客户端，不允许为 {@code null}
+     * @param specResolver 根据 job 名称获得任务描述信息的函数，返回 {@code null} 表示忽略该 job，不允许为 {@code null}
+     * @param intervalMillis 同步间隔时间，单位：毫秒，不允许小于等于 0
+     * @throws NullPointerException 如果 provisioner、jobClient 或 specResolver 为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 intervalMillis 小于等于 0，将会抛出此异常
+     */
+    public FleetReconciler(FleetProvisioner provisioner, PrometheusJobClient jobClient, Function<String, ProvisioningSpec> specResolver,
+                           long intervalMillis) throws NullPointerException, IllegalArgumentException {
+        if (provisioner == null || jobClient == null || specResolver == null) {
+            String errorMessage = "Fails to construct FleetReconciler: `provisioner, jobClient and specResolver could not be null`. provisioner: `"
+                    + provisioner + "`. jobClient: `" + jobClient + "`. specResolver: `" + specResolver + "`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        if (intervalMillis <= 0) {
+            String errorMessage = "Fails to construct FleetReconciler: `intervalMillis must be greater than 0`. intervalMillis: `"
+                    + intervalMillis + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.provisioner = provisioner;
+        this.jobClient = jobClient;
+        this.specResolver = specResolver;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * 启动定时同步，首次同步将在 [0, 同步间隔时间 * 抖动比例] 的随机延迟后执行，重复调用不会产生影响。
+     */
+    public synchronized void start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "grafana-fleet-reconciler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long initialDelayMillis = (long) (intervalMillis * jitterRatio * ThreadLocalRandom.current().nextDouble());
+            schedule(scheduler, initialDelayMillis);
+            LOG.info("FleetReconciler has been started. intervalMillis: `{}`. jitterRatio: `{}`.", intervalMillis, jitterRatio);
+        }
+    }
+
+    /**
+     * 停止定时同步，正在执行的同步将被中断，重复调用不会产生影响。
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            LOG.info("FleetReconciler has been stopped.");
+        }
+    }
+
+    /**
+     * 立即执行一次同步，该方法将阻塞至本次同步完成。如果没有新增或变化的 job，将直接返回空的生成报告，不会访问 Grafana。
+     *
+     * @return 本次同步的批量生成报告，不会为 {@code null}
+     * @throws RuntimeException 如果获取 Prometheus job 名称列表失败，将会抛出此异常
+     */
+    public FleetProvisioningReport reconcile() throws RuntimeException {
+        synchronized (reconcileLock) {
+            return doReconcile();
+        }
+    }
+
+    private FleetProvisioningReport doReconcile() {
+        long startTime = System.currentTimeMillis();
+        List<String> jobNameList = jobClient.getJobNames();
+        Set<String> jobNameSet = new HashSet<>(jobNameList);
+        appliedSpecMap.keySet().retainAll(jobNameSet);
+        // 任务描述信息中的组织名称可能与 job 名称不同，需保留 job 名称与任务描述信息的对应关系
+        Map<String, ProvisioningSpec> pendingSpecMap = new LinkedHashMap<>();
+        for (String jobName : jobNameSet) {
+            ProvisioningSpec spec;
+            try {
+                spec = specResolver.apply(jobName);
+            } catch (Exception e) {
+                LOG.error("Fails to resolve provisioning spec, job will be retried in next round. jobName: `" + jobName + "`.", e);
+                continue;
+            }
+            if (spec != null && !spec.equals(appliedSpecMap.get(jobName))) {
+                pendingSpecMap.put(jobName, spec);
+            }
+        }
+        if (pendingSpecMap.isEmpty()) {
+            LOG.debug("No job needs to be provisioned. jobCount: `{}`.", jobNameSet.size());
+            return new FleetProvisioningReport(Collections.emptyList(), System.currentTimeMillis() - startTime);
+        }
+        FleetProvisioningReport report = provisioner.provision(new ArrayList<>(pendingSpecMap.values()), outputStream);
+        Set<String> failedOrganizationSet = new HashSet<>();
+        for (ProvisioningResult result : report.getFailureList()) {
+            failedOrganizationSet.add(result.getOrganizationName());
+        }
+        Set<String> failedJobNameSet = new HashSet<>();
+        for (Map.Entry<String, ProvisioningSpec> entry : pendingSpecMap.entrySet()) {
+            if (failedOrganizationSet.contains(entry.getValue().getOrganizationName())) {
+                failedJobNameSet.add(entry.getKey());
+            } else {
+                appliedSpecMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+        LOG.info("Reconcile prometheus jobs end. jobCount: `{}`. provisionedCount: `{}`. failedCount: `{}`.", jobNameSet.size(),
+                pendingSpecMap.size(), failedJobNameSet.size());
+        return report;
+    }
+
+    /**
+     * 获得同步间隔时间随机抖动比例。
+     *
+     * @return 同步间隔时间随机抖动比例
+     */
+    public double getJitterRatio() {
+        return jitterRatio;
+    }
+
+    /**
+     * 设置同步间隔时间随机抖动比例，每次同步的实际间隔时间为 同步间隔时间 * (1 ± 抖动比例) 之间的随机值。
+     *
+     * @param jitterRatio 同步间隔时间随机抖动比例，取值范围为 [0, 1)
+     * @throws IllegalArgumentException 如果 jitterRatio 不在 [0, 1) 范围内，将会抛出此异常
+     */
+    public void setJitterRatio(double jitterRatio) throws IllegalArgumentException {
+        if (jitterRatio < 0 || jitterRatio >= 1) {
+            String errorMessage = "Fails to set jitter ratio: `jitterRatio must be in [0, 1)`. jitterRatio: `" + jitterRatio + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.jitterRatio = jitterRatio;
+    }
+
+    /**
+     * 获得用于输出创建信息的输出流。
+     *
+     * @return 用于输出创建信息的输出流，可能为 {@code null}
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * 设置用于输出创建信息的输出流。
+     *
+     * @param outputStream 用于输出创建信息的输出流，允许为 {@code null}
+     */
+    public void setOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * 获得已成功生成 dashboards 的 job 名称列表。
+     *
+     * @return 已成功生成 dashboards 的 job 名称列表，不会为 {@code null}
+     */
+    public Set<String> getAppliedJobNames() {
+        return Collections.unmodifiableSet(new HashSet<>(appliedSpecMap.keySet()));
+    }
+
+    private void schedule(ScheduledExecutorService scheduler, long delayMillis) {
+        scheduler.schedule(() -> {
+            try {
+                reconcile();
+            } catch (Exception e) {
+                LOG.error("Fails to reconcile prometheus jobs.", e);
+            } finally {
+                // 与 stop() 使用同一个锁，避免检查后调度器被关闭导致 RejectedExecutionException
+                synchronized (this) {
+                    if (!scheduler.isShutdown()) {
+                        schedule(scheduler, getNextDelayMillis());
+                    }
+                }
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private long getNextDelayMillis() {
+        double jitter = jitterRatio * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        return Math.max(1, (long) (intervalMillis * (1 + jitter)));
+    }
+
+    @Override
+    public String toString() {
+        return "FleetReconciler{" +
+                "jobClient=" + jobClient +
+                ", intervalMillis=" + intervalMillis +
+                ", jitterRatio=" + jitterRatio +
+                '}';
+    }
+}
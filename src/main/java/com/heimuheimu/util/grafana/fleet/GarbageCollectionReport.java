@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.fleet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 已下线 job 对应的 Grafana 资源清理报告。
+ *
+ * <p><strong>说明：</strong>GarbageCollectionReport 类是非线程安全的，不允许多个线程使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ * @see FleetGarbageCollector
+ */
+public class GarbageCollectionReport {
+
+    /**
+     * 是否为演练模式，演练模式下不会删除任何资源
+     */
+    private final boolean dryRun;
+
+    /**
+     * 宽限期内存在监控数据的 job 数量
+     */
+    private int liveJobCount = 0;
+
+    /**
+     * 已删除（演练模式下为待删除）的组织列表，格式为 "组织名称"
+     */
+    private final List<String> organizationList = new ArrayList<>();
+
+    /**
+     * 已删除（演练模式下为待删除）的文件夹列表，格式为 "组织名称/文件夹名称"
+     */
+    private final List<String> folderList = new ArrayList<>();
+
+    /**
+     * 已删除（演练模式下为待删除）的 dashboard 列表，格式为 "组织名称/dashboard 标题"
+     */
+    private final List<String> dashboardList = new ArrayList<>();
+
+    /**
+     * 删除失败的错误信息列表
+     */
+    private final List<String> failureList = new ArrayList<>();
+
+    /**
+     * 构造一个 GarbageCollectionReport 实例。
+     *
+     * @param dryRun 是否为演练模式
+     */
+    GarbageCollectionReport(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * 是否为演练模式，演练模式下不会删除任何资源。
+     *
+     * @return 是否为演练模式
+     */
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * 获得宽限期内存在监控数据的 job 数量。
+     *
+     * @return 宽限期内存在监控数据的 job 数量
+     */
+    public int getLiveJobCount() {
+        return liveJobCount;
+    }
+
+    void setLiveJobCount(int liveJobCount) {
+        this.liveJobCount = liveJobCount;
+    }
+
+    /**
+     * 获得已删除（演练模式下为待删除）的组织列表，组织删除时，组织中的文件夹及 dashboard 将被同时删除。
+     *
+     * @return 组织列表，不会为 {@code null}
+     */
+    public List<String> getOrganizationList() {
+        return organizationList;
+    }
+
+    /**
+     * 获得已删除（演练模式下为待删除）的文件夹列表，格式为 "组织名称/文件夹名称"。
+     *
+     * @return 文件夹列表，不会为 {@code null}
+     */
+    public List<String> getFolderList() {
+        return folderList;
+    }
+
+    /**
+     * 获得已删除（演练模式下为待删除）的 dashboard 列表，格式为 "组织名称/dashboard 标题"。
+     *
+     * @return dashboard 列表，不会为 {@code null}
+     */
+    public List<String> getDashboardList() {
+        return dashboardList;
+    }
+
+    /**
+     * 获得删除失败的错误信息列表。
+     *
+     * @return 删除失败的错误信息列表，不会为 {@code null}
+     */
+    public List<String> getFailureList() {
+        return failureList;
+    }
+
+    @Override
+    public String toString() {
+        return "GarbageCollectionReport{" +
+                "dryRun=" + dryRun +
+                ", liveJobCount=" + liveJobCount +
+                ", organizationList=" + organizationList +
+                ", folderList=" + folderList +
+                ", dashboardList=" + dashboardList +
+                ", failureList=" + failureList +
+                '}';
+    }
+}
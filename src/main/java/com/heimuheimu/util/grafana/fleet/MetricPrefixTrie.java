@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.fleet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 监控指标名称前缀树，用于根据监控指标名称查找最长匹配前缀对应的值，查找耗时仅与监控指标名称长度相关，与前缀数量无关。
+ *
+ * <p><strong>说明：</strong>MetricPrefixTrie 类是非线程安全的，完成前缀注册后可在多个线程中同时查找。</p>
+ *
+ * @param <V> 前缀对应的值类型
+ * @author heimuheimu
+ */
+class MetricPrefixTrie<V> {
+
+    /**
+     * 根节点
+     */
+    private final Node<V> root = new Node<>();
+
+    /**
+     * 注册前缀及对应的值，相同前缀重复注册时，将覆盖之前的值。
+     *
+     * @param prefix 前缀
+     * @param value 前缀对应的值
+     */
+    void put(String prefix, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), key -> new Node<>());
+        }
+        node.value = value;
+    }
+
+    /**
+     * 获得与监控指标名称最长匹配的前缀对应的值，如果不存在匹配的前缀，则返回 {@code null}。
+     *
+     * @param metricName 监控指标名称
+     * @return 最长匹配的前缀对应的值，可能为 {@code null}
+     */
+    V getLongestMatch(String metricName) {
+        Node<V> node = root;
+        V value = root.value;
+        for (int i = 0; i < metricName.length(); i++) {
+            node = node.children.get(metricName.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                value = node.value;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 前缀树节点。
+     */
+    private static class Node<V> {
+
+        /**
+         * 子节点 Map，Key 为下一个字符
+         */
+        private final Map<Character, Node<V>> children = new HashMap<>();
+
+        /**
+         * 以该节点结束的前缀对应的值，可能为 {@code null}
+         */
+        private V value = null;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.fleet;
+
+/**
+ * 单个 dashboards 生成器在某个组织中的执行结果。
+ *
+ * <p><strong>说明：</strong>ProvisioningResult 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class ProvisioningResult {
+
+    /**
+     * dashboards 所在组织名称
+     */
+    private final String organizationName;
+
+    /**
+     * dashboards 类型
+     */
+    private final String builderType;
+
+    /**
+     * 是否执行成功
+     */
+    private final boolean success;
+
+    /**
+     * 执行失败时的错误信息，执行成功时为 {@code null}
+     */
+    private final String errorMessage;
+
+    /**
+     * 执行耗时，单位：毫秒
+     */
+    private final long costMillis;
+
+    ProvisioningResult(String organizationName, String builderType, boolean success, String errorMessage, long costMillis) {
+        this.organizationName = organizationName;
+        this.builderType = builderType;
+        this.success = success;
+        this.errorMessage = errorMessage;
+        this.costMillis = costMillis;
+    }
+
+    /**
+     * 获得 dashboards 所在组织名称。
+     *
+     * @return dashboards 所在组织名称
+     */
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    /**
+     * 获得 dashboards 类型。
+     *
+     * @return dashboards 类型
+     */
+    public String getBuilderType() {
+        return builderType;
+    }
+
+    /**
+     * 是否执行成功。
+     *
+     * @return 是否执行成功
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * 获得执行失败时的错误信息，执行成功时返回 {@code null}。
+     *
+     * @return 错误信息，可能为 {@code null}
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * 获得执行耗时，单位：毫秒。
+     *
+     * @return 执行耗时
+     */
+    public long getCostMillis() {
+        return costMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ProvisioningResult{" +
+                "organizationName='" + organizationName + '\'' +
+                ", builderType='" + builderType + '\'' +
+                ", success=" + success +
+                ", errorMessage='" + errorMessage + '\'' +
+                ", costMillis=" + costMillis +
+                '}';
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.fleet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 批量生成任务描述信息，描述需要为某个 Prometheus job 生成的 dashboards 类型。
+ *
+ * <p><strong>说明：</strong>ProvisioningSpec 类是非线程安全的，不允许多个线程使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class ProvisioningSpec {
+
+    /**
+     * dashboards 所在组织名称，与 Prometheus 中的 job 名称一致
+     */
+    private String organizationName = "";
+
+    /**
+     * 需要生成的 dashboards 类型列表，例如：["mysql", "hotspot"]，类型通过 {@link com.heimuheimu.util.grafana.DashboardsBuilder#isSupported(String)} 匹配
+     */
+    private List<String> builderTypes = new ArrayList<>();
+
+    /**
+     * 图表目标数据获取周期，例如：30s、1m ...
+     */
+    private String interval = "30s";
+
+    /**
+     * 构造一个 ProvisioningSpec 实例。
+     */
+    public ProvisioningSpec() {
+    }
+
+    /**
+     * 构造一个 ProvisioningSpec 实例。
+     *
+     * @param organizationName dashboards 所在组织名称，与 Prometheus 中的 job 名称一致
+     * @param interval 图表目标数据获取周期，例如：30s、1m ...
+     * @param builderTypes 需要生成的 dashboards 类型列表
+     */
+    public ProvisioningSpec(String organizationName, String interval, String... builderTypes) {
+        this.organizationName = organizationName;
+        this.interval = interval;
+        this.builderTypes = new ArrayList<>(Arrays.asList(builderTypes));
+    }
+
+    /**
+     * 获得 dashboards 所在组织名称。
+     *
+     * @return dashboards 所在组织名称
+     */
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    /**
+     * 设置 dashboards 所在组织名称，与 Prometheus 中的 job 名称一致。
+     *
+     * @param organizationName dashboards 所在组织名称
+     */
+    public void setOrganizationName(String organizationName) {
+        this.organizationName = organizationName;
+    }
+
+    /**
+     * 获得需要生成的 dashboards 类型列表。
+     *
+     * @return 需要生成的 dashboards 类型列表
+     */
+    public List<String> getBuilderTypes() {
+        return builderTypes;
+    }
+
+    /**
+     * 设置需要生成的 dashboards 类型列表。
+     *
+     * @param builderTypes 需要生成的 dashboards 类型列表
+     */
+    public void setBuilderTypes(List<String> builderTypes) {
+        this.builderTypes = builderTypes;
+    }
+
+    /**
+     * 获得图表目标数据获取周期。
+     *
+     * @return 图表目标数据获取周期
+     */
+    public String getInterval() {
+        return interval;
+    }
+
+    /**
+     * 设置图表目标数据获取周期，例如：30s、1m ...
+     *
+     * @param interval 图表目标数据获取周期
+     */
+    public void setInterval(String interval) {
+        this.interval = interval;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProvisioningSpec that = (ProvisioningSpec) o;
+        return Objects.equals(organizationName, that.organizationName) &&
+                Objects.equals(builderTypes, that.builderTypes) &&
+                Objects.equals(interval, that.interval);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(organizationName, builderTypes, interval);
+    }
+
+    @Override
+    public String toString() {
+        return "ProvisioningSpec{" +
+                "organizationName='" + organizationName + '\'' +
+                ", builderTypes=" + builderTypes +
+                ", interval='" + interval + '\'' +
+                '}';
+    }
+}
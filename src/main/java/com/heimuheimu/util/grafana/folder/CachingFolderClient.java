@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.folder;
+
+import com.heimuheimu.util.grafana.cache.TtlCache;
+import com.heimuheimu.util.grafana.http.GrafanaHttpClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 带本地缓存的文件夹信息 API 客户端，按组织缓存文件夹名称索引，每个组织首次调用 {@link #getOrCreate(String)} 或
+ * {@link #getByTitle(String)} 时将通过 {@link #listAll()} 建立索引，在缓存有效期内，后续查询直接使用索引，不再访问 Grafana。
+ *
+ * <p>{@link #create(String)} 总是向 Grafana 发送创建请求，{@link #create(String)} 及 {@link #delete(String)} 执行后，
+ * 当前组织的文件夹名称索引将失效。通过 {@link #withOrganization(int)} 获得的组织视图与当前客户端共享同一个缓存。</p>
+ *
+ * <p><strong>注意：</strong>异步方法不使用缓存。缓存的文件夹信息对象将被多个调用方共享，调用方不应修改。</p>
+ *
+ * <p><strong>说明：</strong>CachingFolderClient 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class CachingFolderClient extends FolderClient {
+
+    /**
+     * 默认的缓存过期时间，单位：毫秒
+     */
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * Grafana http 客户端
+     */
+    private final GrafanaHttpClient grafanaHttpClient;
+
+    /**
+     * 文件夹名称索引缓存，Key 为组织 ID，Value 为该组织中文件夹名称与文件夹信息的映射
+     */
+    private final TtlCache<Integer, Map<String, Folder>> folderIndexCache;
+
+    /**
+     * 构造一个 CachingFolderClient 实例，使用默认的缓存过期时间。
+     *
+     * @param grafanaHttpClient Grafana http 客户端，不允许为 {@code null}
+     * @throws NullPointerException 如果 grafanaHttpClient 为 {@code null}，将会抛出此异常
+     */
+    public CachingFolderClient(GrafanaHttpClient grafanaHttpClient) throws NullPointerException {
+        this(grafanaHttpClient, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * 构造一个 CachingFolderClient 实例。
+     *
+     * @param grafanaHttpClient Grafana http 客户端，不允许为 {@code null}
+     * @param ttlMillis 文件夹名称索引缓存过期时间，单位：毫秒，不允许小于等于 0
+     * @throws NullPointerException 如果 grafanaHttpClient 为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 ttlMillis 小于等于 0，将会抛出此异常
+     */
+    public CachingFolderClient(GrafanaHttpClient grafanaHttpClient, long ttlMillis)
+            throws NullPointerException, IllegalArgumentException {
+        super(grafanaHttpClient);
+        this.grafanaHttpClient = grafanaHttpClient;
+        this.folderIndexCache = new TtlCache<>(ttlMillis, 0);
+    }
+
+    private CachingFolderClient(GrafanaHttpClient grafanaHttpClient, CachingFolderClient parent) {
+        super(grafanaHttpClient);
+        this.grafanaHttpClient = grafanaHttpClient;
+        this.folderIndexCache = parent.folderIndexCache;
+    }
+
+    @Override
+    public CachingFolderClient withOrganization(int organizationId) throws IllegalArgumentException {
+        return new CachingFolderClient(grafanaHttpClient.withOrganization(organizationId), this);
+    }
+
+    @Override
+    public Folder create(String title) throws RuntimeException {
+        try {
+            return super.create(title);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public Folder getOrCreate(String title) throws RuntimeException {
+        Folder folder = getByTitle(title);
+        if (folder == null) {
+            folder = createWithUid(title);
+            getFolderIndex().put(title, folder);
+        }
+        return folder;
+    }
+
+    @Override
+    public Folder getByTitle(String title) throws RuntimeException {
+        if (title == null || title.isEmpty()) {
+            return super.getByTitle(title);
+        }
+        return getFolderIndex().get(title);
+    }
+
+    @Override
+    public boolean delete(String uid) throws RuntimeException {
+        try {
+            return super.delete(uid);
+        } finally {
+            invalidate();
+        }
+    }
+
+    /**
+     * 删除当前组织的文件夹名称索引，下次查询时将重新获取文件夹列表。
+     */
+    public void invalidate() {
+        folderIndexCache.invalidate(grafanaHttpClient.getOrganizationId());
+    }
+
+    /**
+     * 删除所有组织的文件夹名称索引。
+     */
+    public void invalidateAll() {
+        folderIndexCache.invalidateAll();
+    }
+
+    private Map<String, Folder> getFolderIndex() {
+        return folderIndexCache.get(grafanaHttpClient.getOrganizationId(), () -> {
+            Map<String, Folder> folderIndex = new ConcurrentHashMap<>();
+            for (Folder folder : listAll()) {
+                folderIndex.putIfAbsent(folder.getTitle(), folder);
+            }
+            return folderIndex;
+        });
+    }
+}
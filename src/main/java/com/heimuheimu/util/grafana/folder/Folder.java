@@ -38,6 +38,11 @@ public class Folder {
      */
     private int id = -1;
 
+    /**
+     * 文件夹唯一字符串 ID
+     */
+    private String uid = null;
+
     /**
      * 文件夹名称
      */
@@ -61,6 +66,24 @@ public class Folder {
         this.id = id;
     }
 
+    /**
+     * 获得文件夹唯一字符串 ID。
+     *
+     * @return 文件夹唯一字符串 ID，可能为 {@code null}
+     */
+    public String getUid() {
+        return uid;
+    }
+
+    /**
+     * 设置文件夹唯一字符串 ID。
+     *
+     * @param uid 文件夹唯一字符串 ID
+     */
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
     /**
      * 获得文件夹名称。
      *
@@ -83,6 +106,7 @@ public class Folder {
     public String toString() {
         return "Folder{" +
                 "id=" + id +
+                ", uid='" + uid + '\'' +
                 ", title='" + title + '\'' +
                 '}';
     }
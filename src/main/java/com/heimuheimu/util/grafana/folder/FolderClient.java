@@ -26,11 +26,18 @@ package com.heimuheimu.util.grafana.folder;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.heimuheimu.util.grafana.http.GrafanaHttpClient;
+import com.heimuheimu.util.grafana.http.JsonFieldSelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Grafana 中的文件夹信息 API 客户端，更多信息请参考文档：
@@ -44,6 +51,31 @@ public class FolderClient {
 
     private final static Logger LOG = LoggerFactory.getLogger(FolderClient.class);
 
+    /**
+     * 创建文件夹信息时需要读取的响应字段
+     */
+    private final static JsonFieldSelector CREATE_SELECTOR = JsonFieldSelector.of("id", "uid");
+
+    /**
+     * 获取文件夹信息时需要读取的响应字段
+     */
+    private final static JsonFieldSelector GET_SELECTOR = JsonFieldSelector.of("id", "uid", "title");
+
+    /**
+     * 获取文件夹列表时需要读取的响应字段
+     */
+    private final static JsonFieldSelector LIST_SELECTOR = JsonFieldSelector.of("id", "uid", "title");
+
+    /**
+     * 删除文件夹时需要读取的响应字段
+     */
+    private final static JsonFieldSelector DELETE_SELECTOR = JsonFieldSelector.of("title", "message");
+
+    /**
+     * 获取文件夹列表时每页的文件夹数量
+     */
+    private final static int LIST_PAGE_SIZE = 1000;
+
     /**
      * Grafana http 客户端
      */
@@ -62,6 +94,19 @@ public class FolderClient {
         this.grafanaHttpClient = grafanaHttpClient;
     }
 
+    /**
+     * 获得指定组织的 FolderClient 视图，视图发出的请求将设置 "X-Grafana-Org-Id" 请求头，不依赖当前用户在 Grafana 中所选择的组织，
+     * 可在多个组织中同时使用。
+     *
+     * @param organizationId 组织 ID，必须大于 0
+     * @return 指定组织的 FolderClient
+     * @throws IllegalArgumentException 如果 organizationId 小于等于 0，将会抛出此异常
+     * @see GrafanaHttpClient#withOrganization(int)
+     */
+    public FolderClient withOrganization(int organizationId) throws IllegalArgumentException {
+        return new FolderClient(grafanaHttpClient.withOrganization(organizationId));
+    }
+
     /**
      * 根据文件夹名称创建文件夹信息并返回，该方法不会返回 {@code null}。
      *
@@ -71,28 +116,250 @@ public class FolderClient {
      * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
      */
     public Folder create(String title) throws RuntimeException {
-        if (title == null || title.isEmpty()) {
-            String errorMessage = "Fails to create folder: `title could not be null or empty`.";
+        checkTitle(title);
+        Folder folder;
+        JsonNode response = null;
+        try {
+            response = grafanaHttpClient.post("/api/folders", getCreateBody(title), CREATE_SELECTOR);
+            folder = parseCreateResponse(title, response);
+        } catch (Exception e) {
+            String errorMessage = "Fails to create folder. title: `" + title + "`. response: `" + response + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        return checkCreated(title, folder, response);
+    }
+
+    /**
+     * 根据文件夹名称异步创建文件夹信息，{@code CompletableFuture} 的结果不会为 {@code null}。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param title 文件夹名称
+     * @return 异步文件夹信息，结果不会为 {@code null}
+     * @throws IllegalArgumentException 如果 title 为 {@code null} 或空，将会抛出此异常
+     * @see #create(String)
+     */
+    public CompletableFuture<Folder> createAsync(String title) throws IllegalArgumentException {
+        checkTitle(title);
+        return grafanaHttpClient.postAsync("/api/folders", getCreateBody(title), CREATE_SELECTOR).handle((response, throwable) -> {
+            Folder folder;
+            try {
+                if (throwable != null) {
+                    throw throwable;
+                }
+                folder = parseCreateResponse(title, response);
+            } catch (Throwable e) {
+                String errorMessage = "Fails to create folder. title: `" + title + "`. response: `" + response + "`.";
+                LOG.error(errorMessage, e);
+                throw new RuntimeException(errorMessage, e);
+            }
+            return checkCreated(title, folder, response);
+        });
+    }
+
+    /**
+     * 根据文件夹名称获取文件夹信息，如果不存在，将使用由文件夹名称生成的确定性 UID 创建文件夹，该方法不会返回 {@code null}。
+     *
+     * <p>每次调用均会通过 {@link #listAll()} 查询文件夹列表，如需缓存查询结果，请使用 {@link CachingFolderClient}。
+     * 多个生成器同时创建同一文件夹时，由于 UID 相同，仅会有一个创建成功，其它调用将通过 UID 获取已创建的文件夹。</p>
+     *
+     * @param title 文件夹名称
+     * @return 文件夹信息，不会为 {@code null}
+     * @throws IllegalArgumentException 如果 title 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public Folder getOrCreate(String title) throws RuntimeException {
+        Folder folder = getByTitle(title);
+        return folder != null ? folder : createWithUid(title);
+    }
+
+    /**
+     * 根据文件夹名称获取文件夹信息，如果不存在，则返回 {@code null}，该方法不会创建文件夹。
+     *
+     * @param title 文件夹名称
+     * @return 文件夹信息，可能为 {@code null}
+     * @throws IllegalArgumentException 如果 title 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     * @see #getOrCreate(String)
+     */
+    public Folder getByTitle(String title) throws RuntimeException {
+        checkTitle(title);
+        for (Folder folder : listAll()) {
+            if (title.equals(folder.getTitle())) {
+                return folder;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据文件夹 UID 获取文件夹信息，如果不存在，则返回 {@code null}。
+     *
+     * @param uid 文件夹 UID，不允许为 {@code null} 或空
+     * @return 文件夹信息，可能为 {@code null}
+     * @throws IllegalArgumentException 如果 uid 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public Folder getByUid(String uid) throws RuntimeException {
+        if (uid == null || uid.isEmpty()) {
+            String errorMessage = "Fails to get folder: `uid could not be null or empty`.";
             LOG.error(errorMessage);
             throw new IllegalArgumentException(errorMessage);
         }
-        Folder folder = null;
         JsonNode response = null;
         try {
-            String path = "/api/folders";
-            Map<String, String> body = new HashMap<>();
-            body.put("title", title);
-            response = grafanaHttpClient.post(path, body);
-            if (response.has("id")) {
-                folder = new Folder();
-                folder.setId(response.get("id").intValue());
-                folder.setTitle(title);
+            response = grafanaHttpClient.get("/api/folders/" + uid, GET_SELECTOR);
+            return response.has("id") ? parseFolder(response) : null;
+        } catch (Exception e) {
+            String errorMessage = "Fails to get folder. uid: `" + uid + "`. response: `" + response + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    /**
+     * 获得当前组织中的所有文件夹信息，将按每页 1000 个文件夹分页读取。
+     *
+     * @return 文件夹信息列表，不会为 {@code null}
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public List<Folder> listAll() throws RuntimeException {
+        List<Folder> folderList = new ArrayList<>();
+        int page = 1;
+        JsonNode response = null;
+        try {
+            while (true) {
+                response = grafanaHttpClient.get("/api/folders", getListQuery(page), LIST_SELECTOR);
+                if (!response.isArray()) {
+                    throw new IllegalStateException("Unexpected folder list response.");
+                }
+                for (JsonNode folderNode : response) {
+                    folderList.add(parseFolder(folderNode));
+                }
+                if (response.size() < LIST_PAGE_SIZE) {
+                    return folderList;
+                }
+                page++;
             }
         } catch (Exception e) {
-            String errorMessage = "Fails to create folder. title: `" + title + "`. response: `" + response + "`.";
+            String errorMessage = "Fails to list folders. page: `" + page + "`. response: `" + response + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    /**
+     * 根据 UID 删除文件夹，文件夹中的所有 dashboard 将被同时删除，如果文件夹不存在，则返回 {@code false}。
+     *
+     * @param uid 文件夹 UID，不允许为 {@code null} 或空
+     * @return 是否删除成功
+     * @throws IllegalArgumentException 如果 uid 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public boolean delete(String uid) throws RuntimeException {
+        if (uid == null || uid.isEmpty()) {
+            String errorMessage = "Fails to delete folder: `uid could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        JsonNode response;
+        try {
+            response = grafanaHttpClient.delete("/api/folders/" + uid, DELETE_SELECTOR);
+        } catch (Exception e) {
+            String errorMessage = "Fails to delete folder. uid: `" + uid + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        return response.has("title") || response.path("message").asText("").startsWith("Folder deleted");
+    }
+
+    /**
+     * 根据文件夹名称生成确定性的文件夹 UID，相同名称总是生成相同的 UID。
+     *
+     * @param title 文件夹名称
+     * @return 文件夹 UID
+     */
+    public static String getUid(String title) {
+        return UUID.nameUUIDFromBytes(("folder:" + title).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * 使用由文件夹名称生成的确定性 UID 创建文件夹，如果该 UID 的文件夹已被其它调用方创建，则返回已创建的文件夹。
+     *
+     * @param title 文件夹名称
+     * @return 文件夹信息，不会为 {@code null}
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    Folder createWithUid(String title) throws RuntimeException {
+        checkTitle(title);
+        String uid = getUid(title);
+        Folder folder;
+        JsonNode response = null;
+        try {
+            response = grafanaHttpClient.post("/api/folders", getCreateBody(title, uid), CREATE_SELECTOR);
+            folder = parseCreateResponse(title, response);
+            if (folder == null) {
+                // 可能已被其它调用方创建
+                folder = getByUid(uid);
+            }
+        } catch (Exception e) {
+            String errorMessage = "Fails to get or create folder. title: `" + title + "`. uid: `" + uid
+                    + "`. response: `" + response + "`.";
             LOG.error(errorMessage, e);
             throw new RuntimeException(errorMessage, e);
         }
+        return checkCreated(title, folder, response);
+    }
+
+    private Map<String, String> getListQuery(int page) {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("limit", String.valueOf(LIST_PAGE_SIZE));
+        query.put("page", String.valueOf(page));
+        return query;
+    }
+
+    private Folder parseFolder(JsonNode folderNode) {
+        Folder folder = new Folder();
+        folder.setId(folderNode.path("id").intValue());
+        folder.setUid(folderNode.path("uid").textValue());
+        folder.setTitle(folderNode.path("title").asText(""));
+        return folder;
+    }
+
+    private void checkTitle(String title) throws IllegalArgumentException {
+        if (title == null || title.isEmpty()) {
+            String errorMessage = "Fails to create folder: `title could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    private Map<String, String> getCreateBody(String title) {
+        return getCreateBody(title, null);
+    }
+
+    private Map<String, String> getCreateBody(String title, String uid) {
+        Map<String, String> body = new HashMap<>();
+        body.put("title", title);
+        if (uid != null) {
+            body.put("uid", uid);
+        }
+        return body;
+    }
+
+    private Folder parseCreateResponse(String title, JsonNode response) {
+        Folder folder = null;
+        if (response.has("id")) {
+            folder = new Folder();
+            folder.setId(response.get("id").intValue());
+            folder.setUid(response.path("uid").textValue());
+            folder.setTitle(title);
+        }
+        return folder;
+    }
+
+    private Folder checkCreated(String title, Folder folder, JsonNode response) throws RuntimeException {
         if (folder == null) {
             String errorMessage = "Fails to create folder. title: `" + title + "`. response: `" + response + "`.";
             LOG.error(errorMessage);
@@ -0,0 +1,252 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Sink;
+import okio.Source;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Http 访问日志拦截器，在请求体写入及响应体读取的过程中统计字节数、计算请求体 CRC32 校验值，并仅保留有限长度的内容片段，
+ * 不会额外序列化请求对象或复制完整的响应内容。
+ *
+ * <p>访问日志记录将在响应体读取完毕或关闭时生成，并交由 {@link AccessLogWriter} 写入，每次重试均会生成独立的记录。</p>
+ *
+ * <p><strong>说明：</strong>AccessLogInterceptor 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class AccessLogInterceptor implements Interceptor {
+
+    /**
+     * 访问日志写入器
+     */
+    private final AccessLogWriter writer;
+
+    /**
+     * 访问日志采样率
+     */
+    private final double sampleRate;
+
+    /**
+     * 请求体及响应体片段的最大字节数
+     */
+    private final long maxExcerptBytes;
+
+    /**
+     * 构造一个 AccessLogInterceptor 实例。
+     *
+     * @param policy 访问日志策略
+     * @param writer 访问日志写入器
+     */
+    AccessLogInterceptor(AccessLogPolicy policy, AccessLogWriter writer) {
+        this.writer = writer;
+        this.sampleRate = policy.getSampleRate();
+        this.maxExcerptBytes = policy.isFullBodyEnabled() ? Long.MAX_VALUE : Math.max(0, policy.getMaxBodyBytes());
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!writer.isEnabled() || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return chain.proceed(request);
+        }
+        AccessLogRecord record = new AccessLogRecord();
+        record.method = request.method();
+        String query = request.url().encodedQuery();
+        record.path = query == null ? request.url().encodedPath() : request.url().encodedPath() + "?" + query;
+        CapturingRequestBody capturingRequestBody = null;
+        if (request.body() != null) {
+            record.requestGzip = "gzip".equalsIgnoreCase(request.header("Content-Encoding"));
+            capturingRequestBody = new CapturingRequestBody(request.body());
+            request = request.newBuilder().method(request.method(), capturingRequestBody).build();
+        }
+        long startTime = System.currentTimeMillis();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            record.latencyMillis = record.totalMillis = System.currentTimeMillis() - startTime;
+            record.error = e.toString();
+            fillRequest(record, capturingRequestBody);
+            writer.write(record);
+            throw e;
+        }
+        record.latencyMillis = System.currentTimeMillis() - startTime;
+        record.status = response.code();
+        fillRequest(record, capturingRequestBody);
+        ResponseBody body = response.body();
+        if (body == null) {
+            record.totalMillis = record.latencyMillis;
+            writer.write(record);
+            return response;
+        }
+        CapturingSource capturingSource = new CapturingSource(body.source(), record, startTime);
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(capturingSource), body.contentType(), body.contentLength()))
+                .build();
+    }
+
+    private void fillRequest(AccessLogRecord record, CapturingRequestBody capturingRequestBody) {
+        if (capturingRequestBody != null) {
+            record.requestBytes = capturingRequestBody.count;
+            record.requestCrc32 = capturingRequestBody.crc.getValue();
+            record.requestExcerpt = capturingRequestBody.excerpt.readByteString();
+        }
+    }
+
+    /**
+     * 在写入过程中统计字节数、计算 CRC32 校验值并保留内容片段的请求体，仅记录最后一次写入的内容。
+     */
+    private class CapturingRequestBody extends RequestBody {
+
+        private final RequestBody delegate;
+
+        private final CRC32 crc = new CRC32();
+
+        private final Buffer excerpt = new Buffer();
+
+        private long count = 0;
+
+        private CapturingRequestBody(RequestBody delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            crc.reset();
+            excerpt.clear();
+            count = 0;
+            BufferedSink capturingSink = Okio.buffer(new ForwardingSink(sink) {
+
+                @Override
+                public void write(Buffer source, long byteCount) throws IOException {
+                    capture(source, byteCount);
+                    super.write(source, byteCount);
+                }
+            });
+            delegate.writeTo(capturingSink);
+            // 仅刷新至 sink，sink 由 OkHttp 负责关闭
+            capturingSink.emit();
+        }
+
+        private void capture(Buffer source, long byteCount) {
+            long excerptBytes = Math.min(byteCount, maxExcerptBytes - excerpt.size());
+            if (excerptBytes > 0) {
+                source.copyTo(excerpt, 0, excerptBytes);
+            }
+            try (Buffer.UnsafeCursor cursor = source.readUnsafe()) {
+                long remaining = byteCount;
+                for (int length = cursor.seek(0); length != -1 && remaining > 0; length = cursor.next()) {
+                    int updateBytes = (int) Math.min(length, remaining);
+                    crc.update(cursor.data, cursor.start, updateBytes);
+                    remaining -= updateBytes;
+                }
+            }
+            count += byteCount;
+        }
+    }
+
+    /**
+     * 在读取过程中统计字节数并保留内容片段的响应体数据源，读取完毕或关闭时生成访问日志记录。
+     */
+    private class CapturingSource extends ForwardingSource {
+
+        private final AccessLogRecord record;
+
+        private final long startTime;
+
+        private final Buffer excerpt = new Buffer();
+
+        private final AtomicBoolean written = new AtomicBoolean(false);
+
+        private CapturingSource(Source delegate, AccessLogRecord record, long startTime) {
+            super(delegate);
+            this.record = record;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long readBytes;
+            try {
+                readBytes = super.read(sink, byteCount);
+            } catch (IOException e) {
+                record.error = e.toString();
+                complete();
+                throw e;
+            }
+            if (readBytes == -1) {
+                complete();
+            } else {
+                long excerptBytes = Math.min(readBytes, maxExcerptBytes - excerpt.size());
+                if (excerptBytes > 0) {
+                    sink.copyTo(excerpt, sink.size() - readBytes, excerptBytes);
+                }
+                record.responseBytes += readBytes;
+            }
+            return readBytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            complete();
+            super.close();
+        }
+
+        private void complete() {
+            if (written.compareAndSet(false, true)) {
+                record.totalMillis = System.currentTimeMillis() - startTime;
+                record.responseExcerpt = excerpt.readByteString();
+                writer.write(record);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+/**
+ * {@link GrafanaHttpClient} 访问日志策略，访问日志通过名称为 "HTTP_CLIENT_LOG" 的 Logger 输出，每条记录包含请求方法、路径、
+ * 响应状态码、耗时、请求及响应字节数，以及截断后的请求体、响应体和请求体的 CRC32 校验值。
+ *
+ * <p>开启异步模式后，访问日志记录将放入无锁环形缓冲区，由后台线程负责写入日志，缓冲区满时新的记录将被丢弃，调用线程不会因写日志阻塞。</p>
+ *
+ * <p><strong>说明：</strong>AccessLogPolicy 类是非线程安全的，不允许多个线程使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class AccessLogPolicy {
+
+    /**
+     * 是否输出访问日志，默认为 {@code true}
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否使用后台线程异步写入访问日志，默认为 {@code true}
+     */
+    private boolean async = true;
+
+    /**
+     * 异步模式下环形缓冲区的容量，将向上取整为 2 的幂，默认为 8192
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * 访问日志采样率，取值范围为 [0, 1]，默认为 1，即记录所有请求
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * 请求体及响应体在访问日志中保留的最大字节数，超过部分将被截断，默认为 256
+     */
+    private int maxBodyBytes = 256;
+
+    /**
+     * 是否在访问日志中输出完整的请求体及响应体，仅用于调试，开启后将忽略 maxBodyBytes 设置，默认为 {@code false}
+     */
+    private boolean fullBodyEnabled = false;
+
+    /**
+     * 获得是否输出访问日志。
+     *
+     * @return 是否输出访问日志
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 设置是否输出访问日志。
+     *
+     * @param enabled 是否输出访问日志
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 获得是否使用后台线程异步写入访问日志。
+     *
+     * @return 是否使用后台线程异步写入访问日志
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * 设置是否使用后台线程异步写入访问日志。
+     *
+     * @param async 是否使用后台线程异步写入访问日志
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * 获得异步模式下环形缓冲区的容量。
+     *
+     * @return 异步模式下环形缓冲区的容量
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 设置异步模式下环形缓冲区的容量，将向上取整为 2 的幂。
+     *
+     * @param bufferSize 异步模式下环形缓冲区的容量
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * 获得访问日志采样率。
+     *
+     * @return 访问日志采样率
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 设置访问日志采样率，取值范围为 [0, 1]。
+     *
+     * @param sampleRate 访问日志采样率
+     */
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * 获得请求体及响应体在访问日志中保留的最大字节数。
+     *
+     * @return 请求体及响应体在访问日志中保留的最大字节数
+     */
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * 设置请求体及响应体在访问日志中保留的最大字节数，超过部分将被截断。
+     *
+     * @param maxBodyBytes 请求体及响应体在访问日志中保留的最大字节数
+     */
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * 获得是否在访问日志中输出完整的请求体及响应体。
+     *
+     * @return 是否在访问日志中输出完整的请求体及响应体
+     */
+    public boolean isFullBodyEnabled() {
+        return fullBodyEnabled;
+    }
+
+    /**
+     * 设置是否在访问日志中输出完整的请求体及响应体，仅用于调试。
+     *
+     * @param fullBodyEnabled 是否在访问日志中输出完整的请求体及响应体
+     */
+    public void setFullBodyEnabled(boolean fullBodyEnabled) {
+        this.fullBodyEnabled = fullBodyEnabled;
+    }
+
+    @Override
+    public String toString() {
+        return "AccessLogPolicy{" +
+                "enabled=" + enabled +
+                ", async=" + async +
+                ", bufferSize=" + bufferSize +
+                ", sampleRate=" + sampleRate +
+                ", maxBodyBytes=" + maxBodyBytes +
+                ", fullBodyEnabled=" + fullBodyEnabled +
+                '}';
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import okio.ByteString;
+
+/**
+ * Http 访问日志记录，请求体及响应体仅保留有限长度的片段，日志文本在写入线程中生成。
+ *
+ * <p><strong>说明：</strong>AccessLogRecord 类是非线程安全的，记录发布至环形缓冲区后不允许再修改。</p>
+ *
+ * @author heimuheimu
+ */
+class AccessLogRecord {
+
+    /**
+     * 请求方法，例如："POST"
+     */
+    String method;
+
+    /**
+     * 请求路径，包含查询参数
+     */
+    String path;
+
+    /**
+     * 响应状态码，如果未收到响应，则为 -1
+     */
+    int status = -1;
+
+    /**
+     * 从请求开始至收到响应头的耗时，单位：毫秒
+     */
+    long latencyMillis;
+
+    /**
+     * 从请求开始至响应体读取完毕（或关闭）的耗时，单位：毫秒
+     */
+    long totalMillis;
+
+    /**
+     * 请求体字节数，如果无请求体，则为 0
+     */
+    long requestBytes;
+
+    /**
+     * 已读取的响应体字节数
+     */
+    long responseBytes;
+
+    /**
+     * 请求体 CRC32 校验值，如果无请求体，则为 0
+     */
+    long requestCrc32;
+
+    /**
+     * 请求体是否已使用 gzip 压缩
+     */
+    boolean requestGzip;
+
+    /**
+     * 请求体片段，允许为 {@code null}
+     */
+    ByteString requestExcerpt;
+
+    /**
+     * 响应体片段，允许为 {@code null}
+     */
+    ByteString responseExcerpt;
+
+    /**
+     * 请求失败时的错误信息，允许为 {@code null}
+     */
+    String error;
+
+    /**
+     * 生成访问日志文本。
+     *
+     * @return 访问日志文本
+     */
+    String format() {
+        StringBuilder buffer = new StringBuilder(256 + (requestExcerpt != null ? requestExcerpt.size() : 0)
+                + (responseExcerpt != null ? responseExcerpt.size() : 0));
+        buffer.append('[').append(method).append("] ").append(path)
+                .append(" status: `").append(status)
+                .append("`. latency: `").append(latencyMillis)
+                .append("ms`. cost: `").append(totalMillis)
+                .append("ms`. request: `").append(requestBytes)
+                .append(" bytes, crc32=").append(Long.toHexString(requestCrc32))
+                .append("`. response: `").append(responseBytes).append(" bytes`.");
+        if (requestBytes > 0) {
+            buffer.append(" body: `");
+            appendExcerpt(buffer, requestGzip ? null : requestExcerpt, requestBytes, requestGzip);
+            buffer.append("`.");
+        }
+        if (responseBytes > 0) {
+            buffer.append(" response body: `");
+            appendExcerpt(buffer, responseExcerpt, responseBytes, false);
+            buffer.append("`.");
+        }
+        if (error != null) {
+            buffer.append(" error: `").append(error).append("`.");
+        }
+        return buffer.toString();
+    }
+
+    private static void appendExcerpt(StringBuilder buffer, ByteString excerpt, long totalBytes, boolean gzip) {
+        if (gzip) {
+            buffer.append("<gzip>");
+        } else if (excerpt != null) {
+            buffer.append(excerpt.utf8());
+            if (excerpt.size() < totalBytes) {
+                buffer.append("...<").append(totalBytes - excerpt.size()).append(" bytes truncated>");
+            }
+        }
+    }
+}
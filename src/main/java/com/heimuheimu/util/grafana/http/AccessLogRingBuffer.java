@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 多生产者、单消费者的有界无锁环形缓冲区，生产者通过 CAS 竞争写入位置，缓冲区满时写入失败，不会阻塞。
+ *
+ * <p><strong>说明：</strong>AccessLogRingBuffer 类是线程安全的，但 {@link #poll()} 方法只允许在单个消费线程中调用。</p>
+ *
+ * @param <E> 缓冲区元素类型
+ * @author heimuheimu
+ */
+class AccessLogRingBuffer<E> {
+
+    /**
+     * 缓冲区槽位
+     */
+    private final AtomicReferenceArray<E> slots;
+
+    /**
+     * 下标掩码，缓冲区容量为 2 的幂
+     */
+    private final int mask;
+
+    /**
+     * 下一个写入位置
+     */
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    /**
+     * 下一个读取位置
+     */
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * 构造一个 AccessLogRingBuffer 实例。
+     *
+     * @param capacity 缓冲区容量，将向上取整为 2 的幂
+     */
+    AccessLogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 向缓冲区写入一个元素，如果缓冲区已满，将返回 {@code false}。
+     *
+     * @param element 元素，不允许为 {@code null}
+     * @return 是否写入成功
+     */
+    boolean offer(E element) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() > mask) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        slots.lazySet((int) (index & mask), element);
+        return true;
+    }
+
+    /**
+     * 从缓冲区读取一个元素，如果缓冲区为空或下一个元素尚未发布完成，将返回 {@code null}。
+     *
+     * @return 元素，可能为 {@code null}
+     */
+    E poll() {
+        long index = consumerIndex.get();
+        int offset = (int) (index & mask);
+        E element = slots.get(offset);
+        if (element != null) {
+            slots.lazySet(offset, null);
+            consumerIndex.lazySet(index + 1);
+        }
+        return element;
+    }
+
+    /**
+     * 判断缓冲区是否为空，已占用写入位置但尚未发布完成的元素视为存在。
+     *
+     * @return 缓冲区是否为空
+     */
+    boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Http 访问日志写入器，异步模式下访问日志记录将放入 {@link AccessLogRingBuffer} 中，由所有写入器共享的后台守护线程批量写入名称为
+ * "HTTP_CLIENT_LOG" 的 Logger，缓冲区满时记录将被丢弃，丢弃数量会在下次写入时输出至日志。
+ *
+ * <p>仅在缓冲区中存在记录时才会提交写入任务，空闲时不会轮询，后台线程空闲一段时间后将自动退出，
+ * 因此写入器无需关闭，随所属的 {@link GrafanaHttpClient} 一起被回收。</p>
+ *
+ * <p><strong>说明：</strong>AccessLogWriter 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class AccessLogWriter {
+
+    /**
+     * Http 访问记录日志
+     */
+    private static final Logger HTTP_CLIENT_LOG = LoggerFactory.getLogger("HTTP_CLIENT_LOG");
+
+    private static final Logger LOG = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    /**
+     * 所有写入器共享的写入线程池，最多包含一个守护线程，空闲 60 秒后退出
+     */
+    private static final ThreadPoolExecutor DRAIN_EXECUTOR = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread drainThread = new Thread(runnable, "grafana-access-log-writer");
+                drainThread.setDaemon(true);
+                return drainThread;
+            });
+
+    /**
+     * 异步模式下使用的环形缓冲区，同步模式下为 {@code null}
+     */
+    private final AccessLogRingBuffer<AccessLogRecord> ringBuffer;
+
+    /**
+     * 因缓冲区已满被丢弃的记录数
+     */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * 是否已提交写入任务，保证同一时刻最多只有一个线程读取缓冲区
+     */
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    /**
+     * 构造一个 AccessLogWriter 实例。
+     *
+     * @param policy 访问日志策略
+     */
+    AccessLogWriter(AccessLogPolicy policy) {
+        if (policy.isAsync()) {
+            this.ringBuffer = new AccessLogRingBuffer<>(policy.getBufferSize());
+        } else {
+            this.ringBuffer = null;
+        }
+    }
+
+    /**
+     * 判断是否需要记录访问日志，如果 HTTP_CLIENT_LOG 未开启 INFO 级别，将返回 {@code false}。
+     *
+     * @return 是否需要记录访问日志
+     */
+    boolean isEnabled() {
+        return HTTP_CLIENT_LOG.isInfoEnabled();
+    }
+
+    /**
+     * 写入一条访问日志记录，异步模式下该方法不会阻塞。
+     *
+     * @param record 访问日志记录
+     */
+    void write(AccessLogRecord record) {
+        if (ringBuffer == null) {
+            HTTP_CLIENT_LOG.info(record.format());
+        } else {
+            if (!ringBuffer.offer(record)) {
+                droppedCount.incrementAndGet();
+            }
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                DRAIN_EXECUTOR.execute(this::drain);
+            } catch (Throwable e) {
+                draining.set(false);
+                LOG.error("Fails to schedule access log drain task: `unexpected error`.", e);
+            }
+        }
+    }
+
+    private void drain() {
+        do {
+            try {
+                AccessLogRecord record;
+                while ((record = ringBuffer.poll()) != null) {
+                    HTTP_CLIENT_LOG.info(record.format());
+                }
+                long dropped = droppedCount.getAndSet(0);
+                if (dropped > 0) {
+                    HTTP_CLIENT_LOG.warn("Access log ring buffer is full, `{}` records have been dropped.", dropped);
+                }
+            } catch (Throwable e) {
+                LOG.error("Fails to write access log: `unexpected error`.", e);
+            } finally {
+                draining.set(false);
+            }
+            // 释放标记后写入的记录可能未能提交新的写入任务，需再次检查
+        } while (!ringBuffer.isEmpty() && draining.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import java.io.InterruptedIOException;
+
+/**
+ * 基于 AIMD 算法的自适应并发限制器，配置信息请参考 {@link AdaptiveConcurrencyPolicy}。
+ *
+ * <p>为避免同一批并发请求的过载信号导致并发上限被连续收缩，两次收缩之间至少间隔一个延迟阈值的时间。</p>
+ *
+ * <p><strong>说明：</strong>AdaptiveConcurrencyLimiter 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class AdaptiveConcurrencyLimiter {
+
+    /**
+     * 最小并发上限
+     */
+    private final int minConcurrency;
+
+    /**
+     * 最大并发上限
+     */
+    private final int maxConcurrency;
+
+    /**
+     * 请求延迟阈值，单位：毫秒
+     */
+    private final long latencyThresholdMillis;
+
+    /**
+     * 并发上限的收缩系数
+     */
+    private final double decreaseFactor;
+
+    /**
+     * 当前并发上限
+     */
+    private double limit;
+
+    /**
+     * 当前正在执行的请求数
+     */
+    private int inFlight = 0;
+
+    /**
+     * 最近一次收缩并发上限的时间
+     */
+    private long lastDecreaseTime = 0;
+
+    /**
+     * 构造一个 AdaptiveConcurrencyLimiter 实例。
+     *
+     * @param policy 自适应并发控制策略
+     */
+    AdaptiveConcurrencyLimiter(AdaptiveConcurrencyPolicy policy) {
+        this.minConcurrency = Math.max(1, policy.getMinConcurrency());
+        this.maxConcurrency = Math.max(minConcurrency, policy.getMaxConcurrency());
+        this.latencyThresholdMillis = policy.getLatencyThresholdMillis();
+        this.decreaseFactor = policy.getDecreaseFactor();
+        this.limit = Math.min(maxConcurrency, Math.max(minConcurrency, policy.getInitialConcurrency()));
+    }
+
+    /**
+     * 获取执行许可，如果正在执行的请求数已达当前并发上限，将阻塞等待。
+     *
+     * @throws InterruptedIOException 如果等待过程中线程被中断，将会抛出此异常
+     */
+    synchronized void acquire() throws InterruptedIOException {
+        try {
+            while (inFlight >= (int) limit) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for adaptive concurrency permit.");
+        }
+        inFlight++;
+    }
+
+    /**
+     * 归还执行许可，并根据请求执行结果调整并发上限。
+     *
+     * @param latencyMillis 请求延迟，单位：毫秒
+     * @param overloaded 请求是否返回了过载信号（5xx、429 或 IO 异常）
+     */
+    synchronized void release(long latencyMillis, boolean overloaded) {
+        inFlight--;
+        if (overloaded || latencyMillis > latencyThresholdMillis) {
+            long now = System.currentTimeMillis();
+            if (now - lastDecreaseTime >= latencyThresholdMillis) {
+                limit = Math.max(minConcurrency, limit * decreaseFactor);
+                lastDecreaseTime = now;
+            }
+        } else {
+            limit = Math.min(maxConcurrency, limit + 1.0 / limit);
+        }
+        notifyAll();
+    }
+
+    /**
+     * 获得当前并发上限。
+     *
+     * @return 当前并发上限
+     */
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AdaptiveConcurrencyLimiter{" +
+                "limit=" + limit +
+                ", inFlight=" + inFlight +
+                ", minConcurrency=" + minConcurrency +
+                ", maxConcurrency=" + maxConcurrency +
+                '}';
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+/**
+ * 自适应并发控制策略，使用 AIMD（加性增、乘性减）算法动态调整允许同时执行的请求数量：
+ * 当请求延迟超过阈值或 Grafana 返回 5xx、429 时，并发上限乘以收缩系数；请求正常时，每完成一个并发窗口的请求，并发上限加 1。
+ *
+ * <p><strong>说明：</strong>AdaptiveConcurrencyPolicy 类是非线程安全的，不允许多个线程使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class AdaptiveConcurrencyPolicy {
+
+    /**
+     * 是否开启自适应并发控制，默认为 {@code false}
+     */
+    private boolean enabled = false;
+
+    /**
+     * 初始并发上限，默认为 4
+     */
+    private int initialConcurrency = 4;
+
+    /**
+     * 最小并发上限，默认为 1
+     */
+    private int minConcurrency = 1;
+
+    /**
+     * 最大并发上限，默认为 32
+     */
+    private int maxConcurrency = 32;
+
+    /**
+     * 请求延迟阈值，单位：毫秒，超过该值的请求将被视为 Grafana 过载信号，默认为 2 秒
+     */
+    private long latencyThresholdMillis = 2_000L;
+
+    /**
+     * 出现过载信号时并发上限的收缩系数，取值范围为 (0, 1)，默认为 0.7
+     */
+    private double decreaseFactor = 0.7;
+
+    /**
+     * 获得是否开启自适应并发控制。
+     *
+     * @return 是否开启自适应并发控制
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 设置是否开启自适应并发控制。
+     *
+     * @param enabled 是否开启自适应并发控制
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 获得初始并发上限。
+     *
+     * @return 初始并发上限
+     */
+    public int getInitialConcurrency() {
+        return initialConcurrency;
+    }
+
+    /**
+     * 设置初始并发上限。
+     *
+     * @param initialConcurrency 初始并发上限
+     */
+    public void setInitialConcurrency(int initialConcurrency) {
+        this.initialConcurrency = initialConcurrency;
+    }
+
+    /**
+     * 获得最小并发上限。
+     *
+     * @return 最小并发上限
+     */
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    /**
+     * 设置最小并发上限。
+     *
+     * @param minConcurrency 最小并发上限
+     */
+    public void setMinConcurrency(int minConcurrency) {
+        this.minConcurrency = minConcurrency;
+    }
+
+    /**
+     * 获得最大并发上限。
+     *
+     * @return 最大并发上限
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * 设置最大并发上限。
+     *
+     * @param maxConcurrency 最大并发上限
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * 获得请求延迟阈值，单位：毫秒。
+     *
+     * @return 请求延迟阈值，单位：毫秒
+     */
+    public long getLatencyThresholdMillis() {
+        return latencyThresholdMillis;
+    }
+
+    /**
+     * 设置请求延迟阈值，单位：毫秒，超过该值的请求将被视为 Grafana 过载信号。
+     *
+     * @param latencyThresholdMillis 请求延迟阈值，单位：毫秒
+     */
+    public void setLatencyThresholdMillis(long latencyThresholdMillis) {
+        this.latencyThresholdMillis = latencyThresholdMillis;
+    }
+
+    /**
+     * 获得出现过载信号时并发上限的收缩系数。
+     *
+     * @return 并发上限的收缩系数
+     */
+    public double getDecreaseFactor() {
+        return decreaseFactor;
+    }
+
+    /**
+     * 设置出现过载信号时并发上限的收缩系数，取值范围为 (0, 1)。
+     *
+     * @param decreaseFactor 并发上限的收缩系数
+     */
+    public void setDecreaseFactor(double decreaseFactor) {
+        this.decreaseFactor = decreaseFactor;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyPolicy{" +
+                "enabled=" + enabled +
+                ", initialConcurrency=" + initialConcurrency +
+                ", minConcurrency=" + minConcurrency +
+                ", maxConcurrency=" + maxConcurrency +
+                ", latencyThresholdMillis=" + latencyThresholdMillis +
+                ", decreaseFactor=" + decreaseFactor +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grafana 服务熔断器，连续失败次数达到阈值后进入打开状态，在打开期间所有请求将直接失败，打开时间结束后进入半开状态，
+ * 仅允许一个探测请求通过，探测成功后关闭熔断器，失败则重新打开。
+ *
+ * <p><strong>说明：</strong>CircuitBreaker 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class CircuitBreaker {
+
+    /**
+     * 触发熔断的连续失败次数，如果小于等于 0，则不会熔断
+     */
+    private final int failureThreshold;
+
+    /**
+     * 熔断器打开时间，单位：毫秒
+     */
+    private final long openDurationMillis;
+
+    /**
+     * 当前连续失败次数
+     */
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /**
+     * 半开状态下是否已有探测请求正在执行
+     */
+    private final AtomicBoolean probing = new AtomicBoolean(false);
+
+    /**
+     * 熔断器打开时间点，如果为 0，则表示熔断器处于关闭状态
+     */
+    private volatile long openedTime = 0;
+
+    /**
+     * 构造一个 CircuitBreaker 实例。
+     *
+     * @param failureThreshold 触发熔断的连续失败次数，如果小于等于 0，则不会熔断
+     * @param openDurationMillis 熔断器打开时间，单位：毫秒
+     */
+    CircuitBreaker(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    /**
+     * 判断是否允许执行请求，返回 {@code true} 后，调用方必须调用 {@link #onSuccess()} 或 {@link #onFailure()} 报告执行结果。
+     *
+     * @return 是否允许执行请求
+     */
+    boolean allowRequest() {
+        long openedTime = this.openedTime;
+        if (openedTime == 0) {
+            return true;
+        }
+        if (System.currentTimeMillis() - openedTime < openDurationMillis) {
+            return false;
+        }
+        return probing.compareAndSet(false, true);
+    }
+
+    /**
+     * 报告请求执行成功。
+     */
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        openedTime = 0;
+        probing.set(false);
+    }
+
+    /**
+     * 报告请求执行失败。
+     */
+    void onFailure() {
+        if (failureThreshold <= 0) {
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || probing.get()) {
+            openedTime = System.currentTimeMillis();
+            probing.set(false);
+        }
+    }
+
+    /**
+     * 获得熔断器剩余打开时间，单位：毫秒，如果熔断器未打开，则返回 0。
+     *
+     * @return 熔断器剩余打开时间，单位：毫秒
+     */
+    long getRemainingOpenMillis() {
+        long openedTime = this.openedTime;
+        return openedTime == 0 ? 0 : Math.max(0, openDurationMillis - (System.currentTimeMillis() - openedTime));
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{" +
+                "failureThreshold=" + failureThreshold +
+                ", openDurationMillis=" + openDurationMillis +
+                ", consecutiveFailures=" + consecutiveFailures +
+                ", openedTime=" + openedTime +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * {@link Deflater} 对象池，用于复用压缩请求体时使用的 Deflater 实例，避免频繁创建及释放 native 内存。
+ *
+ * <p>池中的 Deflater 实例均使用 nowrap 模式创建，仅输出 deflate 数据，gzip 头部及尾部信息由调用方自行写入。</p>
+ *
+ * <p><strong>说明：</strong>DeflaterPool 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class DeflaterPool {
+
+    /**
+     * 空闲的 Deflater 实例队列
+     */
+    private final ConcurrentLinkedQueue<Deflater> idleDeflaters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 当前空闲的 Deflater 实例数量
+     */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * 池中允许保留的最大空闲 Deflater 实例数量
+     */
+    private final int maxIdle;
+
+    /**
+     * 构造一个 DeflaterPool 实例。
+     *
+     * @param maxIdle 池中允许保留的最大空闲 Deflater 实例数量
+     */
+    DeflaterPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * 从池中获取一个 Deflater 实例，如果池中没有空闲实例，将会新建一个，使用完毕后应调用 {@link #release(Deflater)} 方法归还。
+     *
+     * @return Deflater 实例，不会为 {@code null}
+     */
+    Deflater borrow() {
+        Deflater deflater = idleDeflaters.poll();
+        if (deflater != null) {
+            idleCount.decrementAndGet();
+            return deflater;
+        }
+        return new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    }
+
+    /**
+     * 归还 Deflater 实例，如果池中的空闲实例已达上限，该实例将被释放。
+     *
+     * @param deflater Deflater 实例
+     */
+    void release(Deflater deflater) {
+        deflater.reset();
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idleDeflaters.offer(deflater);
+        } else {
+            idleCount.decrementAndGet();
+            deflater.end();
+        }
+    }
+}
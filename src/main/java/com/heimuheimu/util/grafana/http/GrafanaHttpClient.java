@@ -24,21 +24,35 @@
 
 package com.heimuheimu.util.grafana.http;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimuheimu.util.grafana.dashboard.DashboardJsonModule;
 import okhttp3.*;
+import okio.Okio;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.UnsupportedEncodingException;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
- * Grafana http 客户端，用于访问 Grafana 提供的 http api 接口，更多信息请参考文档：
+ * Grafana http 客户端，用于访问 Grafana 提供的 http api 接口，支持 Basic auth 及 API Token（包括 Service account token）认证，
+ * 更多信息请参考文档：
  * <a href="https://grafana.com/docs/grafana/latest/http_api/auth/">Authentication API</a>
  *
+ * <p>通过 {@link #withOrganization(int)} 可获得指定组织的客户端视图，视图将在每个请求中设置 "X-Grafana-Org-Id" 请求头，
+ * 无需调用 {@code POST /api/user/using/:id} 切换当前用户的组织，多个组织的请求可同时执行。视图与原客户端共享连接池、限流、
+ * 熔断及统计信息。</p>
+ *
  * <p><strong>说明：</strong>GrafanaHttpClient 类是线程安全的，可在多个线程中使用同一个实例。</p>
  *
  * @author heimuheimu
@@ -46,31 +60,31 @@ import java.net.URLEncoder;
 public class GrafanaHttpClient {
 
     /**
-     * Http 访问记录日志
+     * 默认允许同时执行的最大异步请求数
      */
-    private final static Logger HTTP_CLIENT_LOG = LoggerFactory.getLogger("HTTP_CLIENT_LOG");
+    public final static int DEFAULT_MAX_ASYNC_REQUESTS = 64;
 
     private final static Logger LOG = LoggerFactory.getLogger(GrafanaHttpClient.class);
 
     /**
-     * JSON 解析器
+     * JSON 解析器，使用 {@link DashboardJsonModule} 序列化 dashboard
      */
-    private final static ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
+    private final static ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper().registerModule(new DashboardJsonModule());
 
     /**
-     * Http 客户端
+     * 组织 ID 请求头名称
      */
-    private final static OkHttpClient HTTP_CLIENT = new OkHttpClient();
+    private final static String ORGANIZATION_ID_HEADER = "X-Grafana-Org-Id";
 
     /**
-     * Basic auth 使用的用户名
+     * "Authorization" 请求头的值，Basic auth 或 Bearer token
      */
-    private final String username;
+    private final String authorization;
 
     /**
-     * Basic auth 使用的密码
+     * 请求所属的组织 ID，如果为 0，则不设置 "X-Grafana-Org-Id" 请求头，使用当前用户的组织
      */
-    private final String password;
+    private final int organizationId;
 
     /**
      * Grafana 服务主机地址，例如："localhost"
@@ -87,6 +101,36 @@ public class GrafanaHttpClient {
      */
     private final boolean isHttps;
 
+    /**
+     * Http 客户端，每个 GrafanaHttpClient 实例拥有独立的连接池及请求分发器
+     */
+    private final OkHttpClient httpClient;
+
+    /**
+     * 异步请求许可，用于限制同时执行的最大异步请求数
+     */
+    private final Semaphore asyncPermits;
+
+    /**
+     * 请求统计信息
+     */
+    private final GrafanaHttpClientMetrics metrics;
+
+    /**
+     * 是否使用 gzip 压缩 Post 请求体
+     */
+    private final boolean gzipRequestEnabled;
+
+    /**
+     * 请求体压缩阈值，单位：字节
+     */
+    private final int gzipThresholdBytes;
+
+    /**
+     * 压缩请求体使用的 Deflater 对象池，如果未开启请求体压缩，则为 {@code null}
+     */
+    private final DeflaterPool deflaterPool;
+
     /**
      * 构造一个 GrafanaHttpClient 实例，使用 http 协议。
      *
@@ -100,7 +144,7 @@ public class GrafanaHttpClient {
     }
 
     /**
-     * 构造一个 GrafanaHttpClient 实例。
+     * 构造一个 GrafanaHttpClient 实例，使用默认的 http 传输层配置信息。
      *
      * @param username Basic auth 使用的用户名
      * @param password Basic auth 使用的密码
@@ -109,11 +153,203 @@ public class GrafanaHttpClient {
      * @param isHttps 是否使用 https 协议
      */
     public GrafanaHttpClient(String username, String password, String host, int port, boolean isHttps) {
-        this.username = username;
-        this.password = password;
+        this(username, password, host, port, isHttps, new GrafanaHttpClientConfig());
+    }
+
+    /**
+     * 构造一个 GrafanaHttpClient 实例，除允许同时执行的最大异步请求数外，其它 http 传输层配置均使用默认值。
+     *
+     * @param username Basic auth 使用的用户名
+     * @param password Basic auth 使用的密码
+     * @param host Grafana 服务主机地址
+     * @param port Grafana 服务端口
+     * @param isHttps 是否使用 https 协议
+     * @param maxAsyncRequests 允许同时执行的最大异步请求数，不允许小于等于 0
+     * @throws IllegalArgumentException 如果 maxAsyncRequests 小于等于 0，将会抛出此异常
+     */
+    public GrafanaHttpClient(String username, String password, String host, int port, boolean isHttps,
+                             int maxAsyncRequests) throws IllegalArgumentException {
+        this(username, password, host, port, isHttps, createConfig(maxAsyncRequests));
+    }
+
+    /**
+     * 构造一个 GrafanaHttpClient 实例。
+     *
+     * @param username Basic auth 使用的用户名
+     * @param password Basic auth 使用的密码
+     * @param host Grafana 服务主机地址
+     * @param port Grafana 服务端口
+     * @param isHttps 是否使用 https 协议
+     * @param config http 传输层配置信息，不允许为 {@code null}
+     * @throws NullPointerException 如果 username、password、config 或 config 中的重试策略、限流配置、访问日志策略为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 config 中的配置项不合法，将会抛出此异常
+     */
+    public GrafanaHttpClient(String username, String password, String host, int port, boolean isHttps,
+                             GrafanaHttpClientConfig config) throws NullPointerException, IllegalArgumentException {
+        this(basicAuthorization(username, password), host, port, isHttps, config);
+    }
+
+    /**
+     * 构造一个 GrafanaHttpClient 实例。
+     *
+     * @param authorization "Authorization" 请求头的值
+     * @param host Grafana 服务主机地址
+     * @param port Grafana 服务端口
+     * @param isHttps 是否使用 https 协议
+     * @param config http 传输层配置信息，不允许为 {@code null}
+     * @throws NullPointerException 如果 config 或 config 中的重试策略、限流配置、访问日志策略为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 config 中的配置项不合法，将会抛出此异常
+     */
+    private GrafanaHttpClient(String authorization, String host, int port, boolean isHttps,
+                              GrafanaHttpClientConfig config) throws NullPointerException, IllegalArgumentException {
+        if (config == null) {
+            String errorMessage = "Fails to construct GrafanaHttpClient: `config could not be null`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        if (config.getMaxAsyncRequests() <= 0) {
+            String errorMessage = "Fails to construct GrafanaHttpClient: `maxAsyncRequests must be greater than 0`. config: `"
+                    + config + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        if (config.getRetryPolicy() == null) {
+            String errorMessage = "Fails to construct GrafanaHttpClient: `retryPolicy could not be null`. config: `"
+                    + config + "`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        if (config.getEndpointRateLimits() == null || config.getAdaptiveConcurrencyPolicy() == null) {
+            String errorMessage = "Fails to construct GrafanaHttpClient: `endpointRateLimits and adaptiveConcurrencyPolicy could not be null`. config: `"
+                    + config + "`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        if (config.getAccessLogPolicy() == null) {
+            String errorMessage = "Fails to construct GrafanaHttpClient: `accessLogPolicy could not be null`. config: `"
+                    + config + "`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        for (Double permitsPerSecond : config.getEndpointRateLimits().values()) {
+            if (permitsPerSecond == null || permitsPerSecond <= 0) {
+                String errorMessage = "Fails to construct GrafanaHttpClient: `endpoint rate limit must be greater than 0`. config: `"
+                        + config + "`.";
+                LOG.error(errorMessage);
+                throw new IllegalArgumentException(errorMessage);
+            }
+        }
+        if (isHttps && config.isH2PriorKnowledge()) {
+            String errorMessage = "Fails to construct GrafanaHttpClient: `h2PriorKnowledge could not be used with https`. config: `"
+                    + config + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.authorization = authorization;
+        this.organizationId = 0;
         this.host = host;
         this.port = port;
         this.isHttps = isHttps;
+        this.asyncPermits = new Semaphore(config.getMaxAsyncRequests());
+        this.gzipRequestEnabled = config.isGzipRequestEnabled();
+        this.gzipThresholdBytes = config.getGzipThresholdBytes();
+        this.deflaterPool = gzipRequestEnabled ? new DeflaterPool(config.getMaxRequests()) : null;
+        this.metrics = new GrafanaHttpClientMetrics();
+        try {
+            this.httpClient = createHttpClient(config, metrics);
+        } catch (Exception e) {
+            String errorMessage = "Fails to construct GrafanaHttpClient: `invalid config`. config: `" + config + "`.";
+            LOG.error(errorMessage, e);
+            throw new IllegalArgumentException(errorMessage, e);
+        }
+    }
+
+    /**
+     * 构造一个组织客户端视图，除组织 ID 外，其它信息均与 parent 共享。
+     *
+     * @param parent 原客户端
+     * @param organizationId 组织 ID
+     */
+    private GrafanaHttpClient(GrafanaHttpClient parent, int organizationId) {
+        this.authorization = parent.authorization;
+        this.organizationId = organizationId;
+        this.host = parent.host;
+        this.port = parent.port;
+        this.isHttps = parent.isHttps;
+        this.httpClient = parent.httpClient;
+        this.asyncPermits = parent.asyncPermits;
+        this.gzipRequestEnabled = parent.gzipRequestEnabled;
+        this.gzipThresholdBytes = parent.gzipThresholdBytes;
+        this.deflaterPool = parent.deflaterPool;
+        this.metrics = parent.metrics;
+    }
+
+    /**
+     * 创建一个使用 API Token（或 Service account token）认证的 GrafanaHttpClient 实例，使用默认的 http 传输层配置信息。
+     *
+     * <p><strong>注意：</strong>API Token 仅可访问其所属组织的资源，无法用于创建组织。</p>
+     *
+     * @param apiToken API Token，不允许为 {@code null} 或空
+     * @param host Grafana 服务主机地址
+     * @param port Grafana 服务端口
+     * @param isHttps 是否使用 https 协议
+     * @return GrafanaHttpClient 实例
+     * @throws IllegalArgumentException 如果 apiToken 为 {@code null} 或空，将会抛出此异常
+     */
+    public static GrafanaHttpClient ofApiToken(String apiToken, String host, int port, boolean isHttps)
+            throws IllegalArgumentException {
+        return ofApiToken(apiToken, host, port, isHttps, new GrafanaHttpClientConfig());
+    }
+
+    /**
+     * 创建一个使用 API Token（或 Service account token）认证的 GrafanaHttpClient 实例。
+     *
+     * <p><strong>注意：</strong>API Token 仅可访问其所属组织的资源，无法用于创建组织。</p>
+     *
+     * @param apiToken API Token，不允许为 {@code null} 或空
+     * @param host Grafana 服务主机地址
+     * @param port Grafana 服务端口
+     * @param isHttps 是否使用 https 协议
+     * @param config http 传输层配置信息，不允许为 {@code null}
+     * @return GrafanaHttpClient 实例
+     * @throws NullPointerException 如果 config 或 config 中的重试策略、限流配置、访问日志策略为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 apiToken 为 {@code null} 或空，或 config 中的配置项不合法，将会抛出此异常
+     */
+    public static GrafanaHttpClient ofApiToken(String apiToken, String host, int port, boolean isHttps,
+                                               GrafanaHttpClientConfig config) throws NullPointerException, IllegalArgumentException {
+        if (apiToken == null || apiToken.trim().isEmpty()) {
+            String errorMessage = "Fails to construct GrafanaHttpClient: `apiToken could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        return new GrafanaHttpClient("Bearer " + apiToken.trim(), host, port, isHttps, config);
+    }
+
+    /**
+     * 获得指定组织的客户端视图，视图发出的请求将设置 "X-Grafana-Org-Id" 请求头，不依赖当前用户在 Grafana 中所选择的组织。
+     * 视图与当前客户端共享连接池、限流、熔断及统计信息，创建视图的开销很小。
+     *
+     * @param organizationId 组织 ID，必须大于 0
+     * @return 指定组织的客户端视图
+     * @throws IllegalArgumentException 如果 organizationId 小于等于 0，将会抛出此异常
+     */
+    public GrafanaHttpClient withOrganization(int organizationId) throws IllegalArgumentException {
+        if (organizationId <= 0) {
+            String errorMessage = "Fails to create organization scoped GrafanaHttpClient: `organizationId must be greater than 0`. organizationId: `"
+                    + organizationId + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        return organizationId == this.organizationId ? this : new GrafanaHttpClient(this, organizationId);
+    }
+
+    /**
+     * 获得请求所属的组织 ID，如果为 0，则表示使用当前用户在 Grafana 中所选择的组织。
+     *
+     * @return 请求所属的组织 ID
+     */
+    public int getOrganizationId() {
+        return organizationId;
     }
 
     /**
@@ -124,21 +360,37 @@ public class GrafanaHttpClient {
      * @throws RuntimeException 如果访问过程中出现错误，将会抛出此异常
      */
     public JsonNode get(String path) throws RuntimeException {
-        long startTime = System.currentTimeMillis();
-        try {
-            Request request = getRequestBuilder(path).get().build();
-            try (Response response = HTTP_CLIENT.newCall(request).execute()) {
-                //noinspection ConstantConditions
-                String responseText = response.body().string();
-                HTTP_CLIENT_LOG.info("[Get] cost: `{}ms`. url: `{}`. response: `{}`.", System.currentTimeMillis() - startTime,
-                        request.url(), responseText);
-                return JSON_OBJECT_MAPPER.readTree(responseText);
-            }
-        } catch (Exception e) {
-            String errorMessage = "[Get] Invoke grafana http api failed. path: `" + path + "`.";
-            LOG.error(errorMessage, e);
-            throw new RuntimeException(errorMessage, e);
-        }
+        return get(path, null);
+    }
+
+    /**
+     * 通过 Get 请求访问 Grafana http api 接口，以流的方式读取响应内容，并返回仅包含选中字段的 JSON 响应对象。
+     *
+     * @param path 访问路径
+     * @param selector JSON 响应字段选择器，如果为 {@code null}，将返回完整的 JSON 响应对象
+     * @return JSON 响应对象
+     * @throws RuntimeException 如果访问过程中出现错误，将会抛出此异常
+     * @see JsonFieldSelector
+     */
+    public JsonNode get(String path, JsonFieldSelector selector) throws RuntimeException {
+        return get(path, null, selector);
+    }
+
+    /**
+     * 通过 Get 请求访问 Grafana http api 接口，以流的方式读取响应内容，并返回仅包含选中字段的 JSON 响应对象。
+     *
+     * @param path 访问路径
+     * @param query 查询参数，参数名称及参数值将被编码后添加至请求地址中，允许为 {@code null}
+     * @param selector JSON 响应字段选择器，如果为 {@code null}，将返回完整的 JSON 响应对象
+     * @return JSON 响应对象
+     * @throws RuntimeException 如果访问过程中出现错误，将会抛出此异常
+     * @see JsonFieldSelector
+     */
+    public JsonNode get(String path, Map<String, String> query, JsonFieldSelector selector) throws RuntimeException {
+        Supplier<String> errorMessageSupplier = () -> "[Get] Invoke grafana http api failed. path: `" + path
+                + "`. query: `" + query + "`.";
+        return execute(() -> getRequestBuilder(path, query).get().build(), response -> readJson(response, selector),
+                errorMessageSupplier);
     }
 
     /**
@@ -150,31 +402,353 @@ public class GrafanaHttpClient {
      * @throws RuntimeException 如果访问过程中出现错误，将会抛出此异常
      */
     public JsonNode post(String path, Object body) throws RuntimeException {
-        long startTime = System.currentTimeMillis();
+        return post(path, body, null);
+    }
+
+    /**
+     * 通过 Post 请求访问 Grafana http api 接口，以流的方式读取响应内容，并返回仅包含选中字段的 JSON 响应对象。
+     *
+     * @param path 访问路径
+     * @param body post 内容，允许为 {@code null}
+     * @param selector JSON 响应字段选择器，如果为 {@code null}，将返回完整的 JSON 响应对象
+     * @return JSON 响应对象
+     * @throws RuntimeException 如果访问过程中出现错误，将会抛出此异常
+     * @see JsonFieldSelector
+     */
+    public JsonNode post(String path, Object body, JsonFieldSelector selector) throws RuntimeException {
+        Supplier<String> errorMessageSupplier = () -> "[Post] Invoke grafana http api failed. path: `" + path + "`. body: `" + body + "`.";
+        return execute(() -> createPostRequest(path, body),
+                response -> readJson(response, selector), errorMessageSupplier);
+    }
+
+    /**
+     * 通过 Post 请求访问 Grafana http api 接口，响应内容不会被解析，将直接丢弃，返回 http 响应状态码。
+     *
+     * @param path 访问路径
+     * @param body post 内容，允许为 {@code null}
+     * @return http 响应状态码
+     * @throws RuntimeException 如果访问过程中出现错误，将会抛出此异常
+     */
+    public int postAndDiscard(String path, Object body) throws RuntimeException {
+        Supplier<String> errorMessageSupplier = () -> "[Post] Invoke grafana http api failed. path: `" + path + "`. body: `" + body + "`.";
+        return execute(() -> createPostRequest(path, body),
+                this::discard, errorMessageSupplier);
+    }
+
+    /**
+     * 通过 Delete 请求访问 Grafana http api 接口，以流的方式读取响应内容，并返回仅包含选中字段的 JSON 响应对象。
+     *
+     * @param path 访问路径
+     * @param selector JSON 响应字段选择器，如果为 {@code null}，将返回完整的 JSON 响应对象
+     * @return JSON 响应对象
+     * @throws RuntimeException 如果访问过程中出现错误，将会抛出此异常
+     * @see JsonFieldSelector
+     */
+    public JsonNode delete(String path, JsonFieldSelector selector) throws RuntimeException {
+        Supplier<String> errorMessageSupplier = () -> "[Delete] Invoke grafana http api failed. path: `" + path + "`.";
+        return execute(() -> getRequestBuilder(path).delete().build(), response -> readJson(response, selector),
+                errorMessageSupplier);
+    }
+
+    /**
+     * 通过异步 Get 请求访问 Grafana http api 接口，返回的 {@code CompletableFuture} 将在收到响应后设置 JSON 响应对象，
+     * 如果访问过程中出现错误，{@code CompletableFuture} 将以 {@code RuntimeException} 异常结束。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param path 访问路径
+     * @return 异步 JSON 响应对象，不会为 {@code null}
+     */
+    public CompletableFuture<JsonNode> getAsync(String path) {
+        return getAsync(path, null);
+    }
+
+    /**
+     * 通过异步 Get 请求访问 Grafana http api 接口，返回的 {@code CompletableFuture} 将在收到响应后设置仅包含选中字段的 JSON 响应对象，
+     * 如果访问过程中出现错误，{@code CompletableFuture} 将以 {@code RuntimeException} 异常结束。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param path 访问路径
+     * @param selector JSON 响应字段选择器，如果为 {@code null}，将返回完整的 JSON 响应对象
+     * @return 异步 JSON 响应对象，不会为 {@code null}
+     * @see JsonFieldSelector
+     */
+    public CompletableFuture<JsonNode> getAsync(String path, JsonFieldSelector selector) {
+        Supplier<String> errorMessageSupplier = () -> "[Get] Invoke grafana http api failed. path: `" + path + "`.";
+        return enqueue(() -> getRequestBuilder(path).get().build(), response -> readJson(response, selector),
+                errorMessageSupplier);
+    }
+
+    /**
+     * 通过异步 Post 请求访问 Grafana http api 接口，返回的 {@code CompletableFuture} 将在收到响应后设置 JSON 响应对象，
+     * 如果访问过程中出现错误，{@code CompletableFuture} 将以 {@code RuntimeException} 异常结束。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param path 访问路径
+     * @param body post 内容，允许为 {@code null}
+     * @return 异步 JSON 响应对象，不会为 {@code null}
+     */
+    public CompletableFuture<JsonNode> postAsync(String path, Object body) {
+        return postAsync(path, body, null);
+    }
+
+    /**
+     * 通过异步 Post 请求访问 Grafana http api 接口，返回的 {@code CompletableFuture} 将在收到响应后设置仅包含选中字段的 JSON 响应对象，
+     * 如果访问过程中出现错误，{@code CompletableFuture} 将以 {@code RuntimeException} 异常结束。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param path 访问路径
+     * @param body post 内容，允许为 {@code null}
+     * @param selector JSON 响应字段选择器，如果为 {@code null}，将返回完整的 JSON 响应对象
+     * @return 异步 JSON 响应对象，不会为 {@code null}
+     * @see JsonFieldSelector
+     */
+    public CompletableFuture<JsonNode> postAsync(String path, Object body, JsonFieldSelector selector) {
+        Supplier<String> errorMessageSupplier = () -> "[Post] Invoke grafana http api failed. path: `" + path + "`. body: `" + body + "`.";
+        return enqueue(() -> createPostRequest(path, body),
+                response -> readJson(response, selector), errorMessageSupplier);
+    }
+
+    /**
+     * 获得请求统计信息，包括按接口模板统计的请求数、错误数、请求及响应字节数，以及请求耗时分布，如果未开启统计，统计信息将始终为空。
+     *
+     * @return 请求统计信息，不会为 {@code null}
+     * @see GrafanaHttpClientConfig#setMetricsEnabled(boolean)
+     */
+    public GrafanaHttpClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 同步执行请求，并读取响应内容。
+     *
+     * @param requestSupplier 请求提供者
+     * @param responseReader 响应内容读取器
+     * @param errorMessageSupplier 请求失败时使用的错误信息提供者，仅在请求失败时调用
+     * @param <T> 响应内容读取结果类型
+     * @return 响应内容读取结果
+     * @throws RuntimeException 如果访问过程中出现错误，将会抛出此异常
+     */
+    private <T> T execute(RequestSupplier requestSupplier, ResponseReader<T> responseReader,
+                          Supplier<String> errorMessageSupplier) throws RuntimeException {
         try {
-            String postJson = body != null ? JSON_OBJECT_MAPPER.writeValueAsString(body) : null;
-            RequestBody requestBody = postJson != null ? RequestBody.create(postJson, MediaType.get("application/json; charset=utf-8")) :
-                    RequestBody.create(new byte[0]);
-            Request request = getRequestBuilder(path).post(requestBody).build();
-            try (Response response = HTTP_CLIENT.newCall(request).execute()) {
-                //noinspection ConstantConditions
-                String responseText = response.body().string();
-                HTTP_CLIENT_LOG.info("[Post] cost: `{}ms`. url: `{}`. body: `{}`. response: `{}`.", System.currentTimeMillis() - startTime,
-                        request.url(), postJson, responseText);
-                return JSON_OBJECT_MAPPER.readTree(responseText);
+            Request request = requestSupplier.get();
+            try (Response response = httpClient.newCall(request).execute()) {
+                return responseReader.read(response);
             }
         } catch (Exception e) {
-            String errorMessage = "[Post] Invoke grafana http api failed. path: `" + path + "`. body: `" + body + "`.";
+            String errorMessage = errorMessageSupplier.get();
             LOG.error(errorMessage, e);
             throw new RuntimeException(errorMessage, e);
         }
     }
 
+    /**
+     * 将请求放入 OkHttp 的异步执行队列中，正在执行的异步请求数达到上限时，将会阻塞等待。
+     *
+     * @param requestSupplier 请求提供者
+     * @param responseReader 响应内容读取器
+     * @param errorMessageSupplier 请求失败时使用的错误信息提供者，仅在请求失败时调用
+     * @param <T> 响应内容读取结果类型
+     * @return 异步响应内容读取结果
+     */
+    private <T> CompletableFuture<T> enqueue(RequestSupplier requestSupplier, ResponseReader<T> responseReader,
+                                             Supplier<String> errorMessageSupplier) {
+        Request request;
+        try {
+            request = requestSupplier.get();
+        } catch (Exception e) {
+            return failedFuture(errorMessageSupplier.get(), e);
+        }
+        try {
+            asyncPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failedFuture(errorMessageSupplier.get(), e);
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            httpClient.newCall(request).enqueue(new Callback() {
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    asyncPermits.release();
+                    String errorMessage = errorMessageSupplier.get();
+                    LOG.error(errorMessage, e);
+                    future.completeExceptionally(new RuntimeException(errorMessage, e));
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    T result;
+                    try (Response closeableResponse = response) {
+                        result = responseReader.read(closeableResponse);
+                    } catch (Exception e) {
+                        asyncPermits.release();
+                        String errorMessage = errorMessageSupplier.get();
+                        LOG.error(errorMessage, e);
+                        future.completeExceptionally(new RuntimeException(errorMessage, e));
+                        return;
+                    }
+                    // 先释放许可再设置结果，后续阶段将在当前线程中执行，可能会再次发起异步请求
+                    asyncPermits.release();
+                    future.complete(result);
+                }
+            });
+        } catch (Exception e) {
+            asyncPermits.release();
+            return failedFuture(errorMessageSupplier.get(), e);
+        }
+        return future;
+    }
+
+    /**
+     * 读取 JSON 响应内容，如果 selector 不为 {@code null}，将以流的方式读取，仅返回选中的字段。非 2xx 响应将忽略 selector，
+     * 读取完整的响应内容（例如错误信息 "message" 字段），因此 selector 中无需包含仅在错误响应中出现的字段。
+     *
+     * @param response 响应
+     * @param selector JSON 响应字段选择器，允许为 {@code null}
+     * @return JSON 响应对象
+     * @throws IOException 如果读取或解析响应内容出现错误，将会抛出此异常
+     */
+    private JsonNode readJson(Response response, JsonFieldSelector selector) throws IOException {
+        //noinspection ConstantConditions
+        if (selector == null || !response.isSuccessful()) {
+            return JSON_OBJECT_MAPPER.readTree(response.body().string());
+        }
+        //noinspection ConstantConditions
+        try (JsonParser parser = JSON_OBJECT_MAPPER.getFactory().createParser(response.body().byteStream())) {
+            return selector.select(JSON_OBJECT_MAPPER, parser);
+        }
+    }
+
+    /**
+     * 丢弃响应内容，响应内容将直接在 Okio 的 segment 中被丢弃，不会复制到 byte 数组中，读取完毕的连接可被复用。
+     *
+     * @param response 响应
+     * @return http 响应状态码
+     * @throws IOException 如果读取响应内容出现错误，将会抛出此异常
+     */
+    private int discard(Response response) throws IOException {
+        //noinspection ConstantConditions
+        response.body().source().readAll(Okio.blackhole());
+        return response.code();
+    }
+
+    private static String basicAuthorization(String username, String password) throws NullPointerException {
+        if (username == null || password == null) {
+            String errorMessage = "Fails to construct GrafanaHttpClient: `username and password could not be null`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        return Credentials.basic(username, password);
+    }
+
+    private static GrafanaHttpClientConfig createConfig(int maxAsyncRequests) {
+        GrafanaHttpClientConfig config = new GrafanaHttpClientConfig();
+        config.setMaxAsyncRequests(maxAsyncRequests);
+        return config;
+    }
+
+    private static OkHttpClient createHttpClient(GrafanaHttpClientConfig config, GrafanaHttpClientMetrics metrics) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+        List<Protocol> protocols = config.isH2PriorKnowledge() ? Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE)
+                : config.getProtocols();
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(config.getMaxIdleConnections(), config.getKeepAliveDurationMillis(),
+                        TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(config.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .protocols(protocols)
+                .addInterceptor(new RetryInterceptor(config.getRetryPolicy(), new CircuitBreaker(
+                        config.getCircuitBreakerFailureThreshold(), config.getCircuitBreakerOpenMillis())));
+        AdaptiveConcurrencyPolicy adaptiveConcurrencyPolicy = config.getAdaptiveConcurrencyPolicy();
+        if (!config.getEndpointRateLimits().isEmpty() || adaptiveConcurrencyPolicy.isEnabled()) {
+            builder.addInterceptor(new RateLimitInterceptor(config.getEndpointRateLimits(),
+                    adaptiveConcurrencyPolicy.isEnabled() ? new AdaptiveConcurrencyLimiter(adaptiveConcurrencyPolicy) : null));
+        }
+        AccessLogPolicy accessLogPolicy = config.getAccessLogPolicy();
+        if (accessLogPolicy.isEnabled() && accessLogPolicy.getSampleRate() > 0) {
+            builder.addInterceptor(new AccessLogInterceptor(accessLogPolicy, new AccessLogWriter(accessLogPolicy)));
+        }
+        if (config.isMetricsEnabled()) {
+            builder.eventListenerFactory(MetricsEventListener.factory(metrics));
+        }
+        return builder.build();
+    }
+
+    private <T> CompletableFuture<T> failedFuture(String errorMessage, Exception e) {
+        LOG.error(errorMessage, e);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(new RuntimeException(errorMessage, e));
+        return future;
+    }
+
+    private Request createPostRequest(String path, Object body) throws URISyntaxException, IOException {
+        Request.Builder builder = getRequestBuilder(path);
+        if (body == null) {
+            return builder.post(RequestBody.create(new byte[0])).build();
+        }
+        JsonRequestBody jsonRequestBody = new JsonRequestBody(JSON_OBJECT_MAPPER, body);
+        if (gzipRequestEnabled) {
+            GzipRequestBody gzipRequestBody = GzipRequestBody.create(jsonRequestBody, gzipThresholdBytes, deflaterPool);
+            if (gzipRequestBody.isCompressed()) {
+                builder.header("Content-Encoding", "gzip");
+            }
+            return builder.post(gzipRequestBody).build();
+        } else {
+            return builder.post(jsonRequestBody).build();
+        }
+    }
+
     private Request.Builder getRequestBuilder(String path) throws URISyntaxException {
+        return getRequestBuilder(path, null);
+    }
+
+    private Request.Builder getRequestBuilder(String path, Map<String, String> query) throws URISyntaxException {
         URI uri = new URI(isHttps ? "https" : "http", null, host, port, path, null, null);
-        return new Request.Builder().addHeader("Accept", "application/json")
+        HttpUrl url = HttpUrl.get(uri.toASCIIString());
+        if (query != null && !query.isEmpty()) {
+            HttpUrl.Builder urlBuilder = url.newBuilder();
+            for (Map.Entry<String, String> entry : query.entrySet()) {
+                urlBuilder.addQueryParameter(entry.getKey(), entry.getValue());
+            }
+            url = urlBuilder.build();
+        }
+        Request.Builder builder = new Request.Builder().addHeader("Accept", "application/json")
                 .addHeader("Content-Type", "application/json")
-                .addHeader("Authorization", Credentials.basic(username, password))
-                .url(uri.toASCIIString());
+                .addHeader("Authorization", authorization)
+                .url(url);
+        if (organizationId > 0) {
+            builder.addHeader(ORGANIZATION_ID_HEADER, String.valueOf(organizationId));
+        }
+        return builder;
+    }
+
+    /**
+     * 请求提供者。
+     */
+    @FunctionalInterface
+    private interface RequestSupplier {
+
+        Request get() throws Exception;
+    }
+
+    /**
+     * 响应内容读取器。
+     *
+     * @param <T> 响应内容读取结果类型
+     */
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+
+        T read(Response response) throws IOException;
     }
 }
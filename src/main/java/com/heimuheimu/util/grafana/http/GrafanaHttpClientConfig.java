@@ -0,0 +1,506 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import okhttp3.Protocol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link GrafanaHttpClient} 使用的 http 传输层配置信息，每个 {@code GrafanaHttpClient} 实例将根据该配置创建独立的连接池及请求分发器，
+ * 不同 Grafana 服务之间互不影响。
+ *
+ * <p><strong>说明：</strong>GrafanaHttpClientConfig 类是非线程安全的，不允许多个线程使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class GrafanaHttpClientConfig {
+
+    /**
+     * 连接池中允许保留的最大空闲连接数，默认为 16
+     */
+    private int maxIdleConnections = 16;
+
+    /**
+     * 空闲连接保留时间，单位：毫秒，默认为 5 分钟
+     */
+    private long keepAliveDurationMillis = 5 * 60 * 1000L;
+
+    /**
+     * 请求分发器允许同时执行的最大请求数，默认为 64
+     */
+    private int maxRequests = 64;
+
+    /**
+     * 请求分发器对同一主机允许同时执行的最大请求数，默认为 16
+     */
+    private int maxRequestsPerHost = 16;
+
+    /**
+     * 允许同时执行的最大异步请求数，超过后调用方将会阻塞等待，默认为 {@link GrafanaHttpClient#DEFAULT_MAX_ASYNC_REQUESTS}
+     */
+    private int maxAsyncRequests = GrafanaHttpClient.DEFAULT_MAX_ASYNC_REQUESTS;
+
+    /**
+     * 连接超时时间，单位：毫秒，默认为 10 秒
+     */
+    private long connectTimeoutMillis = 10_000L;
+
+    /**
+     * 读取超时时间，单位：毫秒，默认为 30 秒
+     */
+    private long readTimeoutMillis = 30_000L;
+
+    /**
+     * 写入超时时间，单位：毫秒，默认为 30 秒
+     */
+    private long writeTimeoutMillis = 30_000L;
+
+    /**
+     * 允许使用的 http 协议列表，默认为：[h2, http/1.1]，在 https 连接中通过 ALPN 协商
+     */
+    private List<Protocol> protocols = new ArrayList<>(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+
+    /**
+     * 是否使用 HTTP/2 prior knowledge 模式（h2c）访问 Grafana，开启后将忽略 {@link #protocols} 设置，仅可在 http 协议下使用，默认为 {@code false}
+     */
+    private boolean h2PriorKnowledge = false;
+
+    /**
+     * 是否使用 gzip 压缩 Post 请求体，仅当 Grafana 前置的反向代理支持解压请求体时才可开启，默认为 {@code false}
+     */
+    private boolean gzipRequestEnabled = false;
+
+    /**
+     * 请求体压缩阈值，单位：字节，序列化后小于该值的请求体不会被压缩，默认为 8 KB
+     */
+    private int gzipThresholdBytes = 8 * 1024;
+
+    /**
+     * 请求重试策略，不允许为 {@code null}，默认最多重试 3 次
+     */
+    private RetryPolicy retryPolicy = new RetryPolicy();
+
+    /**
+     * 触发熔断的连续失败次数（每次重试均计为一次），如果小于等于 0，则不会熔断，默认为 10
+     */
+    private int circuitBreakerFailureThreshold = 10;
+
+    /**
+     * 熔断器打开时间，单位：毫秒，在此期间所有请求将直接失败，默认为 30 秒
+     */
+    private long circuitBreakerOpenMillis = 30_000L;
+
+    /**
+     * 访问路径前缀对应的每秒请求数上限，例如："/api/dashboards/db" -> 20，请求将匹配最长的路径前缀，默认为空，即不限流
+     */
+    private Map<String, Double> endpointRateLimits = new LinkedHashMap<>();
+
+    /**
+     * 自适应并发控制策略，不允许为 {@code null}，默认不开启
+     */
+    private AdaptiveConcurrencyPolicy adaptiveConcurrencyPolicy = new AdaptiveConcurrencyPolicy();
+
+    /**
+     * 访问日志策略，不允许为 {@code null}，默认使用后台线程异步写入，请求体及响应体最多保留 256 字节
+     */
+    private AccessLogPolicy accessLogPolicy = new AccessLogPolicy();
+
+    /**
+     * 是否统计请求数、字节数及耗时分布，默认为 {@code true}
+     */
+    private boolean metricsEnabled = true;
+
+    /**
+     * 获得连接池中允许保留的最大空闲连接数。
+     *
+     * @return 连接池中允许保留的最大空闲连接数
+     */
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * 设置连接池中允许保留的最大空闲连接数。
+     *
+     * @param maxIdleConnections 连接池中允许保留的最大空闲连接数
+     */
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    /**
+     * 获得空闲连接保留时间，单位：毫秒。
+     *
+     * @return 空闲连接保留时间，单位：毫秒
+     */
+    public long getKeepAliveDurationMillis() {
+        return keepAliveDurationMillis;
+    }
+
+    /**
+     * 设置空闲连接保留时间，单位：毫秒。
+     *
+     * @param keepAliveDurationMillis 空闲连接保留时间，单位：毫秒
+     */
+    public void setKeepAliveDurationMillis(long keepAliveDurationMillis) {
+        this.keepAliveDurationMillis = keepAliveDurationMillis;
+    }
+
+    /**
+     * 获得请求分发器允许同时执行的最大请求数。
+     *
+     * @return 请求分发器允许同时执行的最大请求数
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * 设置请求分发器允许同时执行的最大请求数。
+     *
+     * @param maxRequests 请求分发器允许同时执行的最大请求数
+     */
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+
+    /**
+     * 获得请求分发器对同一主机允许同时执行的最大请求数。
+     *
+     * @return 请求分发器对同一主机允许同时执行的最大请求数
+     */
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * 设置请求分发器对同一主机允许同时执行的最大请求数。
+     *
+     * @param maxRequestsPerHost 请求分发器对同一主机允许同时执行的最大请求数
+     */
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    /**
+     * 获得允许同时执行的最大异步请求数。
+     *
+     * @return 允许同时执行的最大异步请求数
+     */
+    public int getMaxAsyncRequests() {
+        return maxAsyncRequests;
+    }
+
+    /**
+     * 设置允许同时执行的最大异步请求数。
+     *
+     * @param maxAsyncRequests 允许同时执行的最大异步请求数
+     */
+    public void setMaxAsyncRequests(int maxAsyncRequests) {
+        this.maxAsyncRequests = maxAsyncRequests;
+    }
+
+    /**
+     * 获得连接超时时间，单位：毫秒。
+     *
+     * @return 连接超时时间，单位：毫秒
+     */
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * 设置连接超时时间，单位：毫秒。
+     *
+     * @param connectTimeoutMillis 连接超时时间，单位：毫秒
+     */
+    public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    /**
+     * 获得读取超时时间，单位：毫秒。
+     *
+     * @return 读取超时时间，单位：毫秒
+     */
+    public long getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    /**
+     * 设置读取超时时间，单位：毫秒。
+     *
+     * @param readTimeoutMillis 读取超时时间，单位：毫秒
+     */
+    public void setReadTimeoutMillis(long readTimeoutMillis) {
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * 获得写入超时时间，单位：毫秒。
+     *
+     * @return 写入超时时间，单位：毫秒
+     */
+    public long getWriteTimeoutMillis() {
+        return writeTimeoutMillis;
+    }
+
+    /**
+     * 设置写入超时时间，单位：毫秒。
+     *
+     * @param writeTimeoutMillis 写入超时时间，单位：毫秒
+     */
+    public void setWriteTimeoutMillis(long writeTimeoutMillis) {
+        this.writeTimeoutMillis = writeTimeoutMillis;
+    }
+
+    /**
+     * 获得允许使用的 http 协议列表。
+     *
+     * @return 允许使用的 http 协议列表
+     */
+    public List<Protocol> getProtocols() {
+        return protocols;
+    }
+
+    /**
+     * 设置允许使用的 http 协议列表，必须包含 {@link Protocol#HTTP_1_1}。
+     *
+     * @param protocols 允许使用的 http 协议列表
+     */
+    public void setProtocols(List<Protocol> protocols) {
+        this.protocols = protocols;
+    }
+
+    /**
+     * 是否使用 HTTP/2 prior knowledge 模式（h2c）访问 Grafana。
+     *
+     * @return 是否使用 HTTP/2 prior knowledge 模式
+     */
+    public boolean isH2PriorKnowledge() {
+        return h2PriorKnowledge;
+    }
+
+    /**
+     * 设置是否使用 HTTP/2 prior knowledge 模式（h2c）访问 Grafana，仅可在 http 协议下使用。
+     *
+     * @param h2PriorKnowledge 是否使用 HTTP/2 prior knowledge 模式
+     */
+    public void setH2PriorKnowledge(boolean h2PriorKnowledge) {
+        this.h2PriorKnowledge = h2PriorKnowledge;
+    }
+
+    /**
+     * 是否使用 gzip 压缩 Post 请求体。
+     *
+     * @return 是否使用 gzip 压缩 Post 请求体
+     */
+    public boolean isGzipRequestEnabled() {
+        return gzipRequestEnabled;
+    }
+
+    /**
+     * 设置是否使用 gzip 压缩 Post 请求体，仅当 Grafana 前置的反向代理支持解压请求体时才可开启。
+     *
+     * @param gzipRequestEnabled 是否使用 gzip 压缩 Post 请求体
+     */
+    public void setGzipRequestEnabled(boolean gzipRequestEnabled) {
+        this.gzipRequestEnabled = gzipRequestEnabled;
+    }
+
+    /**
+     * 获得请求体压缩阈值，单位：字节。
+     *
+     * @return 请求体压缩阈值，单位：字节
+     */
+    public int getGzipThresholdBytes() {
+        return gzipThresholdBytes;
+    }
+
+    /**
+     * 设置请求体压缩阈值，单位：字节，序列化后小于该值的请求体不会被压缩。
+     *
+     * @param gzipThresholdBytes 请求体压缩阈值，单位：字节
+     */
+    public void setGzipThresholdBytes(int gzipThresholdBytes) {
+        this.gzipThresholdBytes = gzipThresholdBytes;
+    }
+
+    /**
+     * 获得请求重试策略。
+     *
+     * @return 请求重试策略
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * 设置请求重试策略，不允许为 {@code null}。
+     *
+     * @param retryPolicy 请求重试策略
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * 获得触发熔断的连续失败次数。
+     *
+     * @return 触发熔断的连续失败次数
+     */
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    /**
+     * 设置触发熔断的连续失败次数（每次重试均计为一次），如果小于等于 0，则不会熔断。
+     *
+     * @param circuitBreakerFailureThreshold 触发熔断的连续失败次数
+     */
+    public void setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    /**
+     * 获得熔断器打开时间，单位：毫秒。
+     *
+     * @return 熔断器打开时间，单位：毫秒
+     */
+    public long getCircuitBreakerOpenMillis() {
+        return circuitBreakerOpenMillis;
+    }
+
+    /**
+     * 设置熔断器打开时间，单位：毫秒，在此期间所有请求将直接失败。
+     *
+     * @param circuitBreakerOpenMillis 熔断器打开时间，单位：毫秒
+     */
+    public void setCircuitBreakerOpenMillis(long circuitBreakerOpenMillis) {
+        this.circuitBreakerOpenMillis = circuitBreakerOpenMillis;
+    }
+
+    /**
+     * 获得访问路径前缀对应的每秒请求数上限。
+     *
+     * @return 访问路径前缀对应的每秒请求数上限
+     */
+    public Map<String, Double> getEndpointRateLimits() {
+        return endpointRateLimits;
+    }
+
+    /**
+     * 设置访问路径前缀对应的每秒请求数上限，例如："/api/dashboards/db" -> 20，请求将匹配最长的路径前缀，不允许为 {@code null}。
+     *
+     * @param endpointRateLimits 访问路径前缀对应的每秒请求数上限
+     */
+    public void setEndpointRateLimits(Map<String, Double> endpointRateLimits) {
+        this.endpointRateLimits = endpointRateLimits;
+    }
+
+    /**
+     * 获得自适应并发控制策略。
+     *
+     * @return 自适应并发控制策略
+     */
+    public AdaptiveConcurrencyPolicy getAdaptiveConcurrencyPolicy() {
+        return adaptiveConcurrencyPolicy;
+    }
+
+    /**
+     * 设置自适应并发控制策略，不允许为 {@code null}。
+     *
+     * @param adaptiveConcurrencyPolicy 自适应并发控制策略
+     */
+    public void setAdaptiveConcurrencyPolicy(AdaptiveConcurrencyPolicy adaptiveConcurrencyPolicy) {
+        this.adaptiveConcurrencyPolicy = adaptiveConcurrencyPolicy;
+    }
+
+    /**
+     * 获得访问日志策略。
+     *
+     * @return 访问日志策略
+     */
+    public AccessLogPolicy getAccessLogPolicy() {
+        return accessLogPolicy;
+    }
+
+    /**
+     * 设置访问日志策略，不允许为 {@code null}。
+     *
+     * @param accessLogPolicy 访问日志策略
+     */
+    public void setAccessLogPolicy(AccessLogPolicy accessLogPolicy) {
+        this.accessLogPolicy = accessLogPolicy;
+    }
+
+    /**
+     * 获得是否统计请求数、字节数及耗时分布。
+     *
+     * @return 是否统计请求数、字节数及耗时分布
+     */
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * 设置是否统计请求数、字节数及耗时分布，统计信息可通过 {@link GrafanaHttpClient#getMetrics()} 获取。
+     *
+     * @param metricsEnabled 是否统计请求数、字节数及耗时分布
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    @Override
+    public String toString() {
+        return "GrafanaHttpClientConfig{" +
+                "maxIdleConnections=" + maxIdleConnections +
+                ", keepAliveDurationMillis=" + keepAliveDurationMillis +
+                ", maxRequests=" + maxRequests +
+                ", maxRequestsPerHost=" + maxRequestsPerHost +
+                ", maxAsyncRequests=" + maxAsyncRequests +
+                ", connectTimeoutMillis=" + connectTimeoutMillis +
+                ", readTimeoutMillis=" + readTimeoutMillis +
+                ", writeTimeoutMillis=" + writeTimeoutMillis +
+                ", protocols=" + protocols +
+                ", h2PriorKnowledge=" + h2PriorKnowledge +
+                ", gzipRequestEnabled=" + gzipRequestEnabled +
+                ", gzipThresholdBytes=" + gzipThresholdBytes +
+                ", retryPolicy=" + retryPolicy +
+                ", circuitBreakerFailureThreshold=" + circuitBreakerFailureThreshold +
+                ", circuitBreakerOpenMillis=" + circuitBreakerOpenMillis +
+                ", endpointRateLimits=" + endpointRateLimits +
+                ", adaptiveConcurrencyPolicy=" + adaptiveConcurrencyPolicy +
+                ", accessLogPolicy=" + accessLogPolicy +
+                ", metricsEnabled=" + metricsEnabled +
+                '}';
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import okhttp3.HttpUrl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link GrafanaHttpClient} 请求统计信息，按请求方法及接口模板分别统计请求数、按响应状态码类别统计的请求数、请求及响应字节数，
+ * 以及请求耗时分布，可通过 {@link #getSnapshots()} 获取快照，或通过 {@link #toPrometheusText()} 输出为 Prometheus 文本格式。
+ *
+ * <p>每次网络请求（包括重试）均会被统计一次，请求耗时为从发送请求头至收到响应头的时间，不包含在客户端限流、重试等待中消耗的时间。</p>
+ *
+ * <p><strong>说明：</strong>GrafanaHttpClientMetrics 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class GrafanaHttpClientMetrics {
+
+    /**
+     * 允许统计的最大接口模板数量，超过后新的接口模板将统计至 {@link #OTHER_ENDPOINT} 中
+     */
+    private static final int MAX_ENDPOINTS = 512;
+
+    /**
+     * 接口模板数量超过上限后使用的接口模板
+     */
+    private static final String OTHER_ENDPOINT = "other";
+
+    /**
+     * Prometheus 监控指标名称前缀
+     */
+    private static final String METRIC_PREFIX = "grafana_client_";
+
+    /**
+     * 接口统计信息 Map，Key 为 "请求方法 接口模板"
+     */
+    private final ConcurrentHashMap<String, HttpEndpointMetrics> endpointMetricsMap = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次请求。
+     *
+     * @param method 请求方法
+     * @param url 请求地址
+     * @param status 响应状态码，如果未收到响应，则为 -1
+     * @param latencyNanos 请求耗时，单位：纳秒
+     * @param sentBytes 发送的请求体字节数
+     * @param receivedBytes 接收的响应体字节数
+     */
+    void record(String method, HttpUrl url, int status, long latencyNanos, long sentBytes, long receivedBytes) {
+        getEndpointMetrics(method, getEndpoint(url)).record(status, latencyNanos, sentBytes, receivedBytes);
+    }
+
+    /**
+     * 获得所有接口的统计信息快照，按接口模板、请求方法排序。
+     *
+     * @return 接口统计信息快照列表，不会为 {@code null}
+     */
+    public List<HttpEndpointMetricsSnapshot> getSnapshots() {
+        List<HttpEndpointMetricsSnapshot> snapshots = new ArrayList<>();
+        for (HttpEndpointMetrics endpointMetrics : endpointMetricsMap.values()) {
+            snapshots.add(endpointMetrics.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(HttpEndpointMetricsSnapshot::getEndpoint)
+                .thenComparing(HttpEndpointMetricsSnapshot::getMethod));
+        return snapshots;
+    }
+
+    /**
+     * 将所有接口的统计信息输出为 Prometheus 文本格式（text/plain; version=0.0.4）。
+     *
+     * @return Prometheus 文本格式的统计信息
+     */
+    public String toPrometheusText() {
+        List<HttpEndpointMetricsSnapshot> snapshots = getSnapshots();
+        StringBuilder buffer = new StringBuilder(256 + snapshots.size() * 2048);
+        appendHeader(buffer, "requests_total", "counter", "Total number of http requests sent to Grafana, including retries.");
+        for (HttpEndpointMetricsSnapshot snapshot : snapshots) {
+            for (int statusClass = 1; statusClass <= 5; statusClass++) {
+                long count = snapshot.getStatusClassCount(statusClass);
+                if (count > 0) {
+                    appendSample(buffer, "requests_total", snapshot, "status_class", statusClass + "xx", count);
+                }
+            }
+            if (snapshot.getIoErrorCount() > 0) {
+                appendSample(buffer, "requests_total", snapshot, "status_class", "io_error", snapshot.getIoErrorCount());
+            }
+        }
+        appendHeader(buffer, "errors_total", "counter", "Total number of failed http requests (4xx, 5xx and io errors).");
+        for (HttpEndpointMetricsSnapshot snapshot : snapshots) {
+            appendSample(buffer, "errors_total", snapshot, null, null, snapshot.getErrorCount());
+        }
+        appendHeader(buffer, "sent_bytes_total", "counter", "Total number of request body bytes sent to Grafana.");
+        for (HttpEndpointMetricsSnapshot snapshot : snapshots) {
+            appendSample(buffer, "sent_bytes_total", snapshot, null, null, snapshot.getBytesSent());
+        }
+        appendHeader(buffer, "received_bytes_total", "counter", "Total number of response body bytes received from Grafana.");
+        for (HttpEndpointMetricsSnapshot snapshot : snapshots) {
+            appendSample(buffer, "received_bytes_total", snapshot, null, null, snapshot.getBytesReceived());
+        }
+        appendHeader(buffer, "request_duration_seconds", "histogram", "Time from sending request headers to receiving response headers.");
+        for (HttpEndpointMetricsSnapshot snapshot : snapshots) {
+            long[] bounds = snapshot.getLatencyBucketBoundsMillis();
+            long[] counts = snapshot.getLatencyBucketCounts();
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += counts[i];
+                appendSample(buffer, "request_duration_seconds_bucket", snapshot, "le", String.valueOf(bounds[i] / 1000.0), cumulative);
+            }
+            cumulative += counts[bounds.length];
+            appendSample(buffer, "request_duration_seconds_bucket", snapshot, "le", "+Inf", cumulative);
+            appendLabels(buffer.append(METRIC_PREFIX).append("request_duration_seconds_sum"), snapshot, null, null);
+            buffer.append(' ').append(snapshot.getLatencySumMicros() / 1000000.0).append('\n');
+            appendSample(buffer, "request_duration_seconds_count", snapshot, null, null, cumulative);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * 将请求路径转换为接口模板，路径中的数字 ID 将被替换为 ":id"，"name"、"uid"、"db" 之后的路径段将分别被替换为 ":name"、":uid"、":slug"，
+     * "folders" 之后的文件夹 UID 将被替换为 ":uid"，例如："/api/orgs/name/demo" 将被转换为 "/api/orgs/name/:name"，
+     * "/api/folders/abc" 将被转换为 "/api/folders/:uid"。
+     *
+     * @param url 请求地址
+     * @return 接口模板
+     */
+    static String getEndpoint(HttpUrl url) {
+        StringBuilder buffer = new StringBuilder(url.encodedPath().length());
+        String previousSegment = "";
+        for (String segment : url.pathSegments()) {
+            buffer.append('/');
+            if ("name".equals(previousSegment)) {
+                buffer.append(":name");
+            } else if ("uid".equals(previousSegment)
+                    || ("folders".equals(previousSegment) && !"id".equals(segment) && !isNumeric(segment))) {
+                buffer.append(":uid");
+            } else if ("db".equals(previousSegment)) {
+                buffer.append(":slug");
+            } else if (isNumeric(segment)) {
+                buffer.append(":id");
+            } else {
+                buffer.append(segment);
+            }
+            previousSegment = segment;
+        }
+        return buffer.length() > 0 ? buffer.toString() : "/";
+    }
+
+    private HttpEndpointMetrics getEndpointMetrics(String method, String endpoint) {
+        String key = method + " " + endpoint;
+        HttpEndpointMetrics endpointMetrics = endpointMetricsMap.get(key);
+        if (endpointMetrics != null) {
+            return endpointMetrics;
+        }
+        if (endpointMetricsMap.size() >= MAX_ENDPOINTS) {
+            return endpointMetricsMap.computeIfAbsent(method + " " + OTHER_ENDPOINT,
+                    k -> new HttpEndpointMetrics(method, OTHER_ENDPOINT));
+        }
+        return endpointMetricsMap.computeIfAbsent(key, k -> new HttpEndpointMetrics(method, endpoint));
+    }
+
+    private static boolean isNumeric(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (segment.charAt(i) < '0' || segment.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendHeader(StringBuilder buffer, String name, String type, String help) {
+        buffer.append("# HELP ").append(METRIC_PREFIX).append(name).append(' ').append(help).append('\n');
+        buffer.append("# TYPE ").append(METRIC_PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void appendSample(StringBuilder buffer, String name, HttpEndpointMetricsSnapshot snapshot,
+                                     String extraLabelName, String extraLabelValue, long value) {
+        appendLabels(buffer.append(METRIC_PREFIX).append(name), snapshot, extraLabelName, extraLabelValue);
+        buffer.append(' ').append(value).append('\n');
+    }
+
+    private static void appendLabels(StringBuilder buffer, HttpEndpointMetricsSnapshot snapshot,
+                                     String extraLabelName, String extraLabelValue) {
+        buffer.append("{method=\"");
+        appendLabelValue(buffer, snapshot.getMethod());
+        buffer.append("\",endpoint=\"");
+        appendLabelValue(buffer, snapshot.getEndpoint());
+        buffer.append('"');
+        if (extraLabelName != null) {
+            buffer.append(',').append(extraLabelName).append("=\"");
+            appendLabelValue(buffer, extraLabelValue);
+            buffer.append('"');
+        }
+        buffer.append('}');
+    }
+
+    private static void appendLabelValue(StringBuilder buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                buffer.append('\\').append(c);
+            } else if (c == '\n') {
+                buffer.append("\\n");
+            } else {
+                buffer.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+
+import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 使用 gzip 压缩的 JSON 请求体，请求需设置 "Content-Encoding: gzip" 请求头，适用于 Grafana 前置的反向代理支持解压请求体的场景。
+ *
+ * <p>JSON 内容将先序列化至 Okio {@code Buffer} 中（segment 来自 Okio 的共享池），达到压缩阈值后再使用池化的 {@link Deflater} 压缩，
+ * 请求体长度在发送前已确定，不再使用 chunked 方式发送。</p>
+ *
+ * <p><strong>说明：</strong>GzipRequestBody 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class GzipRequestBody extends RequestBody {
+
+    /**
+     * gzip 头部信息：magic number、deflate 压缩方法、无标志位、无修改时间、无额外标志、未知操作系统
+     */
+    private static final byte[] GZIP_HEADER = new byte[]{0x1f, (byte) 0x8b, 0x08, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    /**
+     * 请求体内容，如果 compressed 为 {@code true}，则为压缩后的内容
+     */
+    private final Buffer content;
+
+    /**
+     * 请求体内容是否已压缩
+     */
+    private final boolean compressed;
+
+    private GzipRequestBody(Buffer content, boolean compressed) {
+        this.content = content;
+        this.compressed = compressed;
+    }
+
+    /**
+     * 序列化 JSON 请求体，如果序列化后的字节数大于等于压缩阈值，将使用 gzip 压缩。
+     *
+     * @param jsonRequestBody JSON 请求体
+     * @param thresholdBytes 压缩阈值，单位：字节
+     * @param deflaterPool Deflater 对象池
+     * @return 长度已确定的请求体，可通过 {@link #isCompressed()} 判断内容是否已压缩
+     * @throws IOException 如果序列化或压缩过程中出现错误，将会抛出此异常
+     */
+    static GzipRequestBody create(JsonRequestBody jsonRequestBody, int thresholdBytes, DeflaterPool deflaterPool) throws IOException {
+        Buffer plain = new Buffer();
+        jsonRequestBody.writeTo(plain);
+        if (plain.size() < thresholdBytes) {
+            return new GzipRequestBody(plain, false);
+        }
+        CRC32 crc = new CRC32();
+        Buffer compressed = new Buffer();
+        compressed.write(GZIP_HEADER);
+        Deflater deflater = deflaterPool.borrow();
+        try {
+            byte[] output = new byte[8192];
+            try (Buffer.UnsafeCursor cursor = plain.readUnsafe()) {
+                while (cursor.next() != -1) {
+                    int length = cursor.end - cursor.start;
+                    crc.update(cursor.data, cursor.start, length);
+                    deflater.setInput(cursor.data, cursor.start, length);
+                    while (!deflater.needsInput()) {
+                        int count = deflater.deflate(output, 0, output.length);
+                        compressed.write(output, 0, count);
+                    }
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                int count = deflater.deflate(output, 0, output.length);
+                compressed.write(output, 0, count);
+            }
+        } finally {
+            deflaterPool.release(deflater);
+        }
+        compressed.writeIntLe((int) crc.getValue());
+        compressed.writeIntLe((int) plain.size());
+        plain.clear();
+        return new GzipRequestBody(compressed, true);
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JsonRequestBody.JSON_MEDIA_TYPE;
+    }
+
+    @Override
+    public long contentLength() {
+        return content.size();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        // 共享 segment，不复制数据，content 可被多次写入
+        content.copyTo(sink.getBuffer(), 0, content.size());
+        sink.emitCompleteSegments();
+    }
+
+    /**
+     * 请求体内容是否已压缩。
+     *
+     * @return 是否已压缩
+     */
+    boolean isCompressed() {
+        return compressed;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个接口模板的请求统计信息，使用 {@link LongAdder} 分段计数，在高并发写入时不会产生明显的竞争。
+ *
+ * <p>请求耗时使用固定边界的桶进行统计，边界单位为毫秒，并按 Prometheus histogram 的方式输出累计值。</p>
+ *
+ * <p><strong>说明：</strong>HttpEndpointMetrics 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class HttpEndpointMetrics {
+
+    /**
+     * 请求耗时统计桶的上边界（包含），单位：毫秒，超过最大边界的请求将计入最后一个桶（+Inf）
+     */
+    static final long[] LATENCY_BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    /**
+     * 请求方法，例如："POST"
+     */
+    private final String method;
+
+    /**
+     * 接口模板，例如："/api/orgs/name/:name"
+     */
+    private final String endpoint;
+
+    /**
+     * 请求总数
+     */
+    private final LongAdder requestCount = new LongAdder();
+
+    /**
+     * 按响应状态码类别统计的请求数，下标 1 - 5 分别对应 1xx - 5xx，下标 0 对应未收到响应的 IO 错误
+     */
+    private final LongAdder[] statusClassCounts = new LongAdder[6];
+
+    /**
+     * 发送的请求体字节数
+     */
+    private final LongAdder bytesSent = new LongAdder();
+
+    /**
+     * 接收的响应体字节数
+     */
+    private final LongAdder bytesReceived = new LongAdder();
+
+    /**
+     * 请求耗时统计桶，最后一个桶为 +Inf
+     */
+    private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BUCKET_BOUNDS_MILLIS.length + 1];
+
+    /**
+     * 请求总耗时，单位：微秒
+     */
+    private final LongAdder latencySumMicros = new LongAdder();
+
+    /**
+     * 构造一个 HttpEndpointMetrics 实例。
+     *
+     * @param method 请求方法
+     * @param endpoint 接口模板
+     */
+    HttpEndpointMetrics(String method, String endpoint) {
+        this.method = method;
+        this.endpoint = endpoint;
+        for (int i = 0; i < statusClassCounts.length; i++) {
+            statusClassCounts[i] = new LongAdder();
+        }
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            latencyBuckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一次请求。
+     *
+     * @param status 响应状态码，如果未收到响应，则为 -1
+     * @param latencyNanos 请求耗时，单位：纳秒
+     * @param sentBytes 发送的请求体字节数
+     * @param receivedBytes 接收的响应体字节数
+     */
+    void record(int status, long latencyNanos, long sentBytes, long receivedBytes) {
+        requestCount.increment();
+        int statusClass = status / 100;
+        statusClassCounts[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+        if (sentBytes > 0) {
+            bytesSent.add(sentBytes);
+        }
+        if (receivedBytes > 0) {
+            bytesReceived.add(receivedBytes);
+        }
+        long latencyMicros = Math.max(0, latencyNanos / 1000);
+        latencySumMicros.add(latencyMicros);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS_MILLIS.length && latencyMicros > LATENCY_BUCKET_BOUNDS_MILLIS[bucket] * 1000) {
+            bucket++;
+        }
+        latencyBuckets[bucket].increment();
+    }
+
+    /**
+     * 获得当前统计信息的快照，快照中的各项数值分别读取，在并发写入时可能存在细微差异。
+     *
+     * @return 统计信息快照
+     */
+    HttpEndpointMetricsSnapshot snapshot() {
+        long[] statusClassValues = new long[statusClassCounts.length];
+        for (int i = 0; i < statusClassCounts.length; i++) {
+            statusClassValues[i] = statusClassCounts[i].sum();
+        }
+        long[] latencyBucketValues = new long[latencyBuckets.length];
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            latencyBucketValues[i] = latencyBuckets[i].sum();
+        }
+        return new HttpEndpointMetricsSnapshot(method, endpoint, requestCount.sum(), statusClassValues, bytesSent.sum(),
+                bytesReceived.sum(), latencyBucketValues, latencySumMicros.sum());
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import java.util.Arrays;
+
+/**
+ * 单个接口模板的请求统计信息快照，所有数值均为从 {@link GrafanaHttpClient} 创建开始的累计值。
+ *
+ * <p><strong>说明：</strong>HttpEndpointMetricsSnapshot 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class HttpEndpointMetricsSnapshot {
+
+    /**
+     * 请求方法，例如："POST"
+     */
+    private final String method;
+
+    /**
+     * 接口模板，例如："/api/orgs/name/:name"
+     */
+    private final String endpoint;
+
+    /**
+     * 请求总数
+     */
+    private final long requestCount;
+
+    /**
+     * 按响应状态码类别统计的请求数，下标 1 - 5 分别对应 1xx - 5xx，下标 0 对应未收到响应的 IO 错误
+     */
+    private final long[] statusClassCounts;
+
+    /**
+     * 发送的请求体字节数
+     */
+    private final long bytesSent;
+
+    /**
+     * 接收的响应体字节数
+     */
+    private final long bytesReceived;
+
+    /**
+     * 请求耗时统计桶中的请求数（非累计），最后一个桶为 +Inf
+     */
+    private final long[] latencyBucketCounts;
+
+    /**
+     * 请求总耗时，单位：微秒
+     */
+    private final long latencySumMicros;
+
+    HttpEndpointMetricsSnapshot(String method, String endpoint, long requestCount, long[] statusClassCounts,
+                                long bytesSent, long bytesReceived, long[] latencyBucketCounts, long latencySumMicros) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.requestCount = requestCount;
+        this.statusClassCounts = statusClassCounts;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.latencyBucketCounts = latencyBucketCounts;
+        this.latencySumMicros = latencySumMicros;
+    }
+
+    /**
+     * 获得请求方法，例如："POST"。
+     *
+     * @return 请求方法
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * 获得接口模板，路径中的数字 ID、名称及 UID 将被替换为占位符，例如："/api/orgs/name/:name"。
+     *
+     * @return 接口模板
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * 获得请求总数，每次重试均会计为一次请求。
+     *
+     * @return 请求总数
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * 获得指定响应状态码类别的请求数。
+     *
+     * @param statusClass 响应状态码类别，取值范围为 1 - 5，分别对应 1xx - 5xx
+     * @return 请求数，如果类别不合法，将返回 0
+     */
+    public long getStatusClassCount(int statusClass) {
+        return statusClass >= 1 && statusClass <= 5 ? statusClassCounts[statusClass] : 0;
+    }
+
+    /**
+     * 获得未收到响应的 IO 错误次数，例如：连接失败、读取超时。
+     *
+     * @return IO 错误次数
+     */
+    public long getIoErrorCount() {
+        return statusClassCounts[0];
+    }
+
+    /**
+     * 获得失败的请求数，包括 4xx、5xx 响应以及未收到响应的 IO 错误。
+     *
+     * @return 失败的请求数
+     */
+    public long getErrorCount() {
+        return statusClassCounts[0] + statusClassCounts[4] + statusClassCounts[5];
+    }
+
+    /**
+     * 获得发送的请求体字节数，如果请求体使用了 gzip 压缩，则为压缩后的字节数。
+     *
+     * @return 发送的请求体字节数
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * 获得接收的响应体字节数。
+     *
+     * @return 接收的响应体字节数
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * 获得请求耗时统计桶的上边界（包含），单位：毫秒，不包含最后一个 +Inf 桶。
+     *
+     * @return 请求耗时统计桶的上边界
+     */
+    public long[] getLatencyBucketBoundsMillis() {
+        return HttpEndpointMetrics.LATENCY_BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * 获得各请求耗时统计桶中的请求数（非累计），数组长度比 {@link #getLatencyBucketBoundsMillis()} 多 1，最后一个为 +Inf 桶。
+     *
+     * @return 各请求耗时统计桶中的请求数
+     */
+    public long[] getLatencyBucketCounts() {
+        return latencyBucketCounts.clone();
+    }
+
+    /**
+     * 获得请求总耗时，单位：微秒。
+     *
+     * @return 请求总耗时
+     */
+    public long getLatencySumMicros() {
+        return latencySumMicros;
+    }
+
+    /**
+     * 根据请求耗时统计桶估算指定百分位的请求耗时，返回值为该百分位所在桶的上边界，单位：毫秒。
+     *
+     * @param percentile 百分位，取值范围为 (0, 100]，例如：99
+     * @return 请求耗时估算值，如果无请求，将返回 0，如果落在 +Inf 桶中，将返回 {@code Long.MAX_VALUE}
+     */
+    public long getLatencyPercentileMillis(double percentile) {
+        long total = 0;
+        for (long count : latencyBucketCounts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+        long cumulative = 0;
+        long[] bounds = HttpEndpointMetrics.LATENCY_BUCKET_BOUNDS_MILLIS;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += latencyBucketCounts[i];
+            if (cumulative >= rank) {
+                return bounds[i];
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpEndpointMetricsSnapshot{" +
+                "method='" + method + '\'' +
+                ", endpoint='" + endpoint + '\'' +
+                ", requestCount=" + requestCount +
+                ", statusClassCounts=" + Arrays.toString(statusClassCounts) +
+                ", bytesSent=" + bytesSent +
+                ", bytesReceived=" + bytesReceived +
+                ", latencyBucketCounts=" + Arrays.toString(latencyBucketCounts) +
+                ", latencySumMicros=" + latencySumMicros +
+                '}';
+    }
+}
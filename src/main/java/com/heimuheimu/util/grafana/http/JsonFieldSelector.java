@@ -0,0 +1,170 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JSON 响应字段选择器，用于声明调用方需要的响应字段，{@link GrafanaHttpClient} 将通过 {@code JsonParser} 以流的方式读取响应内容，
+ * 仅为选中的字段构建 JSON 节点，其它字段将被直接跳过，当顶层对象中所有选中的字段均已读取后，将不再继续读取剩余的响应内容。
+ *
+ * <p>字段名称支持使用 "." 分隔的路径，例如："datasource.id"，将会选中 "datasource" 对象中的 "id" 字段。
+ * 如果响应内容为 JSON 数组，将对数组中的每个对象执行字段选择，并返回由选择结果组成的数组。</p>
+ *
+ * <p><strong>说明：</strong>JsonFieldSelector 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class JsonFieldSelector {
+
+    /**
+     * 选中的字段列表，用于日志打印
+     */
+    private final String[] fields;
+
+    /**
+     * 选中字段组成的树形结构根节点
+     */
+    private final Node root = new Node();
+
+    private JsonFieldSelector(String[] fields) {
+        this.fields = fields;
+        for (String field : fields) {
+            Node node = root;
+            for (String name : field.split("\\.")) {
+                node = node.children.computeIfAbsent(name, key -> new Node());
+            }
+            node.selected = true;
+        }
+    }
+
+    /**
+     * 根据字段名称列表创建一个 JsonFieldSelector 实例。
+     *
+     * @param fields 需要选择的字段名称列表，支持使用 "." 分隔的路径，不允许为空
+     * @return JsonFieldSelector 实例
+     * @throws IllegalArgumentException 如果 fields 为空，或者包含 {@code null} 或空的字段名称，将会抛出此异常
+     */
+    public static JsonFieldSelector of(String... fields) throws IllegalArgumentException {
+        if (fields == null || fields.length == 0) {
+            throw new IllegalArgumentException("Fails to create JsonFieldSelector: `fields could not be empty`.");
+        }
+        for (String field : fields) {
+            if (field == null || field.isEmpty()) {
+                throw new IllegalArgumentException("Fails to create JsonFieldSelector: `field could not be null or empty`. fields: `"
+                        + Arrays.toString(fields) + "`.");
+            }
+        }
+        return new JsonFieldSelector(fields.clone());
+    }
+
+    /**
+     * 从 JsonParser 中读取选中的字段，如果没有可读取的内容，将返回 {@link MissingNode}。
+     *
+     * @param objectMapper 用于构建 JSON 节点的 ObjectMapper
+     * @param parser JSON 解析器，当前位置应为 JSON 内容的起始位置
+     * @return 选中字段组成的 JSON 节点
+     * @throws IOException 如果读取过程中出现错误，将会抛出此异常
+     */
+    JsonNode select(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return MissingNode.getInstance();
+        }
+        return readValue(objectMapper, parser, root, true);
+    }
+
+    private JsonNode readValue(ObjectMapper objectMapper, JsonParser parser, Node node, boolean isRoot) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return readObject(objectMapper, parser, node, isRoot);
+        } else if (token == JsonToken.START_ARRAY) {
+            ArrayNode arrayNode = JsonNodeFactory.instance.arrayNode();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                arrayNode.add(readValue(objectMapper, parser, node, false));
+            }
+            return arrayNode;
+        } else {
+            return objectMapper.readTree(parser);
+        }
+    }
+
+    private ObjectNode readObject(ObjectMapper objectMapper, JsonParser parser, Node node, boolean isRoot) throws IOException {
+        ObjectNode objectNode = JsonNodeFactory.instance.objectNode();
+        int remaining = node.children.size();
+        JsonToken token = parser.nextToken();
+        while (token == JsonToken.FIELD_NAME) {
+            Node child = node.children.get(parser.getCurrentName());
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (child == null || objectNode.has(name)) {
+                parser.skipChildren();
+            } else {
+                objectNode.set(name, child.selected ? objectMapper.readTree(parser) : readValue(objectMapper, parser, child, false));
+                if (--remaining == 0 && isRoot) {
+                    // 顶层对象中的选中字段已全部读取，剩余内容无需解析
+                    return objectNode;
+                }
+            }
+            token = parser.nextToken();
+        }
+        return objectNode;
+    }
+
+    @Override
+    public String toString() {
+        return "JsonFieldSelector{" +
+                "fields=" + Arrays.toString(fields) +
+                '}';
+    }
+
+    /**
+     * 选中字段树形结构中的节点。
+     */
+    private static class Node {
+
+        /**
+         * 子节点 Map，Key 为字段名称
+         */
+        private final Map<String, Node> children = new HashMap<>();
+
+        /**
+         * 该节点对应的字段是否被完整选中
+         */
+        private boolean selected = false;
+    }
+}
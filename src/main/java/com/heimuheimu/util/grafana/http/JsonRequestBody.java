@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+/**
+ * 以流的方式输出 JSON 内容的请求体，通过 Jackson {@code JsonGenerator} 将对象直接序列化至 OkHttp 的 {@code BufferedSink} 中，
+ * 不会生成完整的 JSON 字符串，请求将以 chunked 方式发送。
+ *
+ * <p>请求体可被多次写入（例如请求重试），每次写入都将重新序列化对象，在请求完成前，调用方不应修改该对象。</p>
+ *
+ * <p><strong>说明：</strong>JsonRequestBody 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class JsonRequestBody extends RequestBody {
+
+    /**
+     * JSON 请求体类型
+     */
+    static final MediaType JSON_MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+
+    /**
+     * JSON 序列化使用的 ObjectMapper
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 需要序列化的对象
+     */
+    private final Object body;
+
+    /**
+     * 构造一个 JsonRequestBody 实例。
+     *
+     * @param objectMapper JSON 序列化使用的 ObjectMapper
+     * @param body 需要序列化的对象
+     */
+    JsonRequestBody(ObjectMapper objectMapper, Object body) {
+        this.objectMapper = objectMapper;
+        this.body = body;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON_MEDIA_TYPE;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(sink.outputStream(), JsonEncoding.UTF8)) {
+            // sink 由 OkHttp 负责关闭
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            objectMapper.writeValue(generator, body);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+
+/**
+ * 请求统计事件监听器，每个 {@link Call} 对应一个实例，在 OkHttp 的网络请求事件中收集状态码、字节数及耗时，
+ * 并记录至 {@link GrafanaHttpClientMetrics}，不会包装请求体或响应体。
+ *
+ * <p><strong>说明：</strong>MetricsEventListener 类是非线程安全的，OkHttp 会在执行 {@link Call} 的线程中依次触发事件。</p>
+ *
+ * @author heimuheimu
+ */
+class MetricsEventListener extends EventListener {
+
+    /**
+     * 请求统计信息
+     */
+    private final GrafanaHttpClientMetrics metrics;
+
+    /**
+     * 当前网络请求是否已开始且尚未记录
+     */
+    private boolean pending = false;
+
+    /**
+     * 当前网络请求的开始时间，单位：纳秒
+     */
+    private long startNanos;
+
+    /**
+     * 当前网络请求收到响应头时的耗时，单位：纳秒，如果未收到响应头，则为 -1
+     */
+    private long latencyNanos;
+
+    /**
+     * 当前网络请求的响应状态码，如果未收到响应，则为 -1
+     */
+    private int status;
+
+    /**
+     * 当前网络请求发送的请求体字节数
+     */
+    private long sentBytes;
+
+    /**
+     * 建立连接的开始时间，单位：纳秒
+     */
+    private long connectStartNanos;
+
+    private MetricsEventListener(GrafanaHttpClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 创建一个 {@link EventListener.Factory}，为每个 {@link Call} 创建独立的 MetricsEventListener 实例。
+     *
+     * @param metrics 请求统计信息
+     * @return EventListener 工厂
+     */
+    static EventListener.Factory factory(GrafanaHttpClientMetrics metrics) {
+        return call -> new MetricsEventListener(metrics);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+                              IOException ioe) {
+        metrics.record(call.request().method(), call.request().url(), -1, System.nanoTime() - connectStartNanos, 0, 0);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        pending = true;
+        startNanos = System.nanoTime();
+        latencyNanos = -1;
+        status = -1;
+        sentBytes = 0;
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        sentBytes = byteCount;
+    }
+
+    @Override
+    public void requestFailed(Call call, IOException ioe) {
+        complete(call, 0);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        latencyNanos = System.nanoTime() - startNanos;
+        status = response.code();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        complete(call, byteCount);
+    }
+
+    @Override
+    public void responseFailed(Call call, IOException ioe) {
+        status = -1;
+        complete(call, 0);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        if (pending) {
+            status = -1;
+            complete(call, 0);
+        }
+    }
+
+    private void complete(Call call, long receivedBytes) {
+        if (pending) {
+            pending = false;
+            metrics.record(call.request().method(), call.request().url(), status,
+                    latencyNanos >= 0 ? latencyNanos : System.nanoTime() - startNanos, sentBytes, receivedBytes);
+        }
+    }
+}
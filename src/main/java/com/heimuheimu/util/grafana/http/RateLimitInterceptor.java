@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafana 请求限流拦截器，按访问路径前缀对请求执行令牌桶限流，并可通过 {@link AdaptiveConcurrencyLimiter} 根据 Grafana 的负载情况
+ * 动态调整允许同时执行的请求数量。
+ *
+ * <p>该拦截器位于 {@link RetryInterceptor} 之后，每次重试均会重新获取令牌及并发许可。</p>
+ *
+ * <p><strong>说明：</strong>RateLimitInterceptor 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class RateLimitInterceptor implements Interceptor {
+
+    /**
+     * 访问路径前缀对应的令牌桶列表，按前缀长度倒序排列，优先匹配最长前缀
+     */
+    private final List<EndpointBucket> endpointBuckets = new ArrayList<>();
+
+    /**
+     * 自适应并发限制器，如果未开启，则为 {@code null}
+     */
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * 构造一个 RateLimitInterceptor 实例。
+     *
+     * @param endpointRateLimits 访问路径前缀对应的每秒请求数上限
+     * @param concurrencyLimiter 自适应并发限制器，允许为 {@code null}
+     */
+    RateLimitInterceptor(Map<String, Double> endpointRateLimits, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        for (Map.Entry<String, Double> entry : endpointRateLimits.entrySet()) {
+            double permitsPerSecond = entry.getValue();
+            endpointBuckets.add(new EndpointBucket(entry.getKey(), new TokenBucket(permitsPerSecond, permitsPerSecond)));
+        }
+        endpointBuckets.sort(Comparator.comparingInt((EndpointBucket bucket) -> bucket.pathPrefix.length()).reversed());
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        String path = chain.request().url().encodedPath();
+        for (EndpointBucket endpointBucket : endpointBuckets) {
+            if (path.startsWith(endpointBucket.pathPrefix)) {
+                endpointBucket.tokenBucket.acquire();
+                break;
+            }
+        }
+        if (concurrencyLimiter == null) {
+            return chain.proceed(chain.request());
+        }
+        concurrencyLimiter.acquire();
+        long startTime = System.currentTimeMillis();
+        boolean overloaded = true;
+        try {
+            Response response = chain.proceed(chain.request());
+            overloaded = response.code() == 429 || response.code() >= 500;
+            return response;
+        } finally {
+            concurrencyLimiter.release(System.currentTimeMillis() - startTime, overloaded);
+        }
+    }
+
+    /**
+     * 访问路径前缀及其对应的令牌桶。
+     */
+    private static class EndpointBucket {
+
+        private final String pathPrefix;
+
+        private final TokenBucket tokenBucket;
+
+        private EndpointBucket(String pathPrefix, TokenBucket tokenBucket) {
+            this.pathPrefix = pathPrefix;
+            this.tokenBucket = tokenBucket;
+        }
+    }
+}
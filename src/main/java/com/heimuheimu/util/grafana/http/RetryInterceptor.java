@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 根据 {@link RetryPolicy} 对失败的请求执行重试，并通过 {@link CircuitBreaker} 在 Grafana 持续不可用时快速失败。
+ * 作为 OkHttp 应用拦截器使用，同步请求与异步请求均会经过该拦截器。
+ *
+ * <p><strong>说明：</strong>RetryInterceptor 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class RetryInterceptor implements Interceptor {
+
+    private final static Logger LOG = LoggerFactory.getLogger(RetryInterceptor.class);
+
+    /**
+     * 请求重试策略
+     */
+    private final RetryPolicy retryPolicy;
+
+    /**
+     * Grafana 服务熔断器
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * 构造一个 RetryInterceptor 实例。
+     *
+     * @param retryPolicy 请求重试策略
+     * @param circuitBreaker Grafana 服务熔断器
+     */
+    RetryInterceptor(RetryPolicy retryPolicy, CircuitBreaker circuitBreaker) {
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        boolean idempotent = isIdempotent(request.method());
+        int attempt = 0;
+        while (true) {
+            if (!circuitBreaker.allowRequest()) {
+                throw new IOException("Circuit breaker is open, request rejected. remaining: `"
+                        + circuitBreaker.getRemainingOpenMillis() + "ms`. url: `" + request.url() + "`.");
+            }
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                circuitBreaker.onFailure();
+                boolean retryable = idempotent || e instanceof ConnectException;
+                if (!retryable || attempt >= retryPolicy.getMaxRetries() || chain.call().isCanceled()) {
+                    throw e;
+                }
+                long delayMillis = getBackoffMillis(attempt);
+                LOG.warn("Retry grafana http request after `{}ms`. attempt: `{}`. url: `{}`. error: `{}`.", delayMillis,
+                        attempt + 1, request.url(), e.toString());
+                sleep(delayMillis);
+                attempt++;
+                continue;
+            } catch (RuntimeException | Error e) {
+                // 每个被放行的请求均需报告结果，否则半开状态下的探测请求将使熔断器无法关闭
+                circuitBreaker.onFailure();
+                throw e;
+            }
+            int code = response.code();
+            if (code == 429 || code >= 500) {
+                circuitBreaker.onFailure();
+                boolean retryable = code == 429 || code == 503 || idempotent;
+                if (retryable && attempt < retryPolicy.getMaxRetries() && !chain.call().isCanceled()) {
+                    long delayMillis = getRetryAfterMillis(response, attempt);
+                    LOG.warn("Retry grafana http request after `{}ms`. attempt: `{}`. url: `{}`. code: `{}`.", delayMillis,
+                            attempt + 1, request.url(), code);
+                    response.close();
+                    sleep(delayMillis);
+                    attempt++;
+                    continue;
+                }
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return response;
+        }
+    }
+
+    /**
+     * 根据重试次数计算带随机抖动的指数退避时间，单位：毫秒。
+     *
+     * @param attempt 已重试次数
+     * @return 退避时间，单位：毫秒
+     */
+    private long getBackoffMillis(int attempt) {
+        double backoff = retryPolicy.getInitialBackoffMillis() * Math.pow(retryPolicy.getBackoffMultiplier(), attempt);
+        backoff = Math.min(backoff, retryPolicy.getMaxBackoffMillis());
+        double jitter = Math.min(1.0, Math.max(0.0, retryPolicy.getJitter()));
+        return (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * 根据响应中的 "Retry-After" 头获得重试等待时间，单位：毫秒，如果不存在或无法解析，将使用指数退避时间。
+     *
+     * @param response 响应
+     * @param attempt 已重试次数
+     * @return 重试等待时间，单位：毫秒
+     */
+    private long getRetryAfterMillis(Response response, int attempt) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            long retryAfterMillis = -1;
+            try {
+                retryAfterMillis = Long.parseLong(retryAfter.trim()) * 1000;
+            } catch (NumberFormatException e) {
+                Date date = response.headers().getDate("Retry-After");
+                if (date != null) {
+                    retryAfterMillis = date.getTime() - System.currentTimeMillis();
+                }
+            }
+            if (retryAfterMillis >= 0) {
+                return Math.min(retryAfterMillis, retryPolicy.getMaxRetryAfterMillis());
+            }
+        }
+        return getBackoffMillis(attempt);
+    }
+
+    private void sleep(long delayMillis) throws InterruptedIOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry grafana http request.");
+        }
+    }
+
+    private boolean isIdempotent(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "PUT".equals(method) || "DELETE".equals(method)
+                || "OPTIONS".equals(method);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+/**
+ * {@link GrafanaHttpClient} 请求重试策略，重试间隔使用带随机抖动的指数退避算法计算，如果响应中包含 "Retry-After" 头，将优先使用该值。
+ *
+ * <p>以下情况将会触发重试：</p>
+ * <ul>
+ *     <li>响应状态码为 429 或 503，或者连接 Grafana 失败（请求未发出），所有请求均可重试</li>
+ *     <li>响应状态码为其它 5xx，或者出现连接重置、读取超时等 IO 异常，仅幂等请求（GET、HEAD、PUT、DELETE、OPTIONS）可重试</li>
+ * </ul>
+ *
+ * <p><strong>说明：</strong>RetryPolicy 类是非线程安全的，不允许多个线程使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class RetryPolicy {
+
+    /**
+     * 最大重试次数，如果小于等于 0，则不重试，默认为 3
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 首次重试的退避时间，单位：毫秒，默认为 200 毫秒
+     */
+    private long initialBackoffMillis = 200L;
+
+    /**
+     * 最大退避时间，单位：毫秒，默认为 10 秒
+     */
+    private long maxBackoffMillis = 10_000L;
+
+    /**
+     * 退避时间增长倍数，默认为 2
+     */
+    private double backoffMultiplier = 2.0;
+
+    /**
+     * 随机抖动比例，取值范围为 [0, 1]，实际退避时间将在 [backoff * (1 - jitter), backoff] 区间内随机选取，默认为 0.5
+     */
+    private double jitter = 0.5;
+
+    /**
+     * "Retry-After" 头允许的最大等待时间，单位：毫秒，超过该值的 "Retry-After" 将使用该值代替，默认为 60 秒
+     */
+    private long maxRetryAfterMillis = 60_000L;
+
+    /**
+     * 创建一个不执行重试的 RetryPolicy 实例。
+     *
+     * @return 不执行重试的 RetryPolicy 实例
+     */
+    public static RetryPolicy noRetry() {
+        RetryPolicy retryPolicy = new RetryPolicy();
+        retryPolicy.setMaxRetries(0);
+        return retryPolicy;
+    }
+
+    /**
+     * 获得最大重试次数。
+     *
+     * @return 最大重试次数
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * 设置最大重试次数，如果小于等于 0，则不重试。
+     *
+     * @param maxRetries 最大重试次数
+     */
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * 获得首次重试的退避时间，单位：毫秒。
+     *
+     * @return 首次重试的退避时间，单位：毫秒
+     */
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    /**
+     * 设置首次重试的退避时间，单位：毫秒。
+     *
+     * @param initialBackoffMillis 首次重试的退避时间，单位：毫秒
+     */
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    /**
+     * 获得最大退避时间，单位：毫秒。
+     *
+     * @return 最大退避时间，单位：毫秒
+     */
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    /**
+     * 设置最大退避时间，单位：毫秒。
+     *
+     * @param maxBackoffMillis 最大退避时间，单位：毫秒
+     */
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * 获得退避时间增长倍数。
+     *
+     * @return 退避时间增长倍数
+     */
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    /**
+     * 设置退避时间增长倍数。
+     *
+     * @param backoffMultiplier 退避时间增长倍数
+     */
+    public void setBackoffMultiplier(double backoffMultiplier) {
+        this.backoffMultiplier = backoffMultiplier;
+    }
+
+    /**
+     * 获得随机抖动比例。
+     *
+     * @return 随机抖动比例
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * 设置随机抖动比例，取值范围为 [0, 1]。
+     *
+     * @param jitter 随机抖动比例
+     */
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    /**
+     * 获得 "Retry-After" 头允许的最大等待时间，单位：毫秒。
+     *
+     * @return "Retry-After" 头允许的最大等待时间，单位：毫秒
+     */
+    public long getMaxRetryAfterMillis() {
+        return maxRetryAfterMillis;
+    }
+
+    /**
+     * 设置 "Retry-After" 头允许的最大等待时间，单位：毫秒。
+     *
+     * @param maxRetryAfterMillis "Retry-After" 头允许的最大等待时间，单位：毫秒
+     */
+    public void setMaxRetryAfterMillis(long maxRetryAfterMillis) {
+        this.maxRetryAfterMillis = maxRetryAfterMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{" +
+                "maxRetries=" + maxRetries +
+                ", initialBackoffMillis=" + initialBackoffMillis +
+                ", maxBackoffMillis=" + maxBackoffMillis +
+                ", backoffMultiplier=" + backoffMultiplier +
+                ", jitter=" + jitter +
+                ", maxRetryAfterMillis=" + maxRetryAfterMillis +
+                '}';
+    }
+}
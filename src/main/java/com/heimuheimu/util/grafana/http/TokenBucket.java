@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.http;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌桶限流器，令牌以固定速率生成，桶中最多保留的令牌数量为 burst，令牌不足时，调用方将阻塞等待。
+ *
+ * <p><strong>说明：</strong>TokenBucket 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+class TokenBucket {
+
+    /**
+     * 每秒生成的令牌数量
+     */
+    private final double permitsPerSecond;
+
+    /**
+     * 桶中最多保留的令牌数量
+     */
+    private final double burst;
+
+    /**
+     * 当前桶中的令牌数量，为负数时表示已被预支的令牌数量
+     */
+    private double tokens;
+
+    /**
+     * 最近一次补充令牌的时间，单位：纳秒
+     */
+    private long lastRefillNanos;
+
+    /**
+     * 构造一个 TokenBucket 实例，桶中初始令牌数量为 burst。
+     *
+     * @param permitsPerSecond 每秒生成的令牌数量，必须大于 0
+     * @param burst 桶中最多保留的令牌数量，不允许小于 1
+     */
+    TokenBucket(double permitsPerSecond, double burst) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 获取一个令牌，如果令牌不足，将阻塞等待至令牌可用。
+     *
+     * @throws InterruptedIOException 如果等待过程中线程被中断，将会抛出此异常
+     */
+    void acquire() throws InterruptedIOException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for rate limit token.");
+            }
+        }
+    }
+
+    /**
+     * 预支一个令牌，并返回需要等待的时间，单位：纳秒。
+     *
+     * @return 需要等待的时间，单位：纳秒
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public String toString() {
+        return "TokenBucket{" +
+                "permitsPerSecond=" + permitsPerSecond +
+                ", burst=" + burst +
+                '}';
+    }
+}
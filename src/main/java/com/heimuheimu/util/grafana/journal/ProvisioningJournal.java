@@ -0,0 +1,390 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.journal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * dashboards 生成过程的本地检查点日志，每完成一个步骤（组织、数据源、文件夹、dashboard）将追加一条记录，
+ * 重新执行时将跳过日志中已完成的步骤，且不会访问 Grafana，失败后恢复执行仅需完成剩余的步骤。
+ *
+ * <p>日志文件为 UTF-8 编码的 JSON Lines 格式，仅追加写入。每条记录在写入时即交给操作系统，每累计 {@link #getSyncBatchSize()}
+ * 条记录执行一次 fsync，调用 {@link #sync()} 或 {@link #close()} 时也将执行 fsync。系统掉电时可能丢失最后一批未 fsync 的记录，
+ * 对应的步骤将在恢复执行时重新执行：组织、数据源及文件夹步骤将先查询已存在的资源，dashboard 步骤将通过
+ * {@link com.heimuheimu.util.grafana.dashboard.DashboardClient#sync(com.heimuheimu.util.grafana.dashboard.Dashboard, int)} 保存，
+ * 重新执行不会产生重复资源，也不会因资源已存在而失败。进程崩溃导致的不完整末尾记录将在打开时被忽略。</p>
+ *
+ * <p>dashboard 步骤以 dashboard UID 及内容哈希值作为记录，dashboard 内容变化后将重新保存。</p>
+ *
+ * <p><strong>说明：</strong>ProvisioningJournal 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class ProvisioningJournal implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProvisioningJournal.class);
+
+    /**
+     * 默认的 fsync 批次大小
+     */
+    public static final int DEFAULT_SYNC_BATCH_SIZE = 32;
+
+    /**
+     * 组织步骤类型
+     */
+    private static final String TYPE_ORGANIZATION = "org";
+
+    /**
+     * 数据源步骤类型
+     */
+    private static final String TYPE_DATASOURCE = "datasource";
+
+    /**
+     * 文件夹步骤类型
+     */
+    private static final String TYPE_FOLDER = "folder";
+
+    /**
+     * dashboard 步骤类型
+     */
+    private static final String TYPE_DASHBOARD = "dashboard";
+
+    /**
+     * 序列化日志记录使用的 ObjectMapper
+     */
+    private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 日志文件路径
+     */
+    private final Path path;
+
+    /**
+     * 日志文件写入通道
+     */
+    private final FileChannel channel;
+
+    /**
+     * fsync 批次大小
+     */
+    private final int syncBatchSize;
+
+    /**
+     * 已完成的步骤 Map，Key 为 "步骤类型 + \u0000 + 步骤 Key"，Value 为步骤结果
+     */
+    private final Map<String, String> completedStepMap = new ConcurrentHashMap<>();
+
+    /**
+     * 未执行 fsync 的记录数量
+     */
+    private int unsyncedCount = 0;
+
+    private ProvisioningJournal(Path path, FileChannel channel, int syncBatchSize) {
+        this.path = path;
+        this.channel = channel;
+        this.syncBatchSize = syncBatchSize;
+    }
+
+    /**
+     * 打开检查点日志，如果日志文件已存在，将加载其中已完成的步骤，否则将创建新的日志文件，fsync 批次大小为 {@link #DEFAULT_SYNC_BATCH_SIZE}。
+     *
+     * @param path 日志文件路径，不允许为 {@code null}
+     * @return 检查点日志
+     * @throws NullPointerException 如果 path 为 {@code null}，将会抛出此异常
+     * @throws RuntimeException 如果日志文件读取或打开失败，将会抛出此异常
+     */
+    public static ProvisioningJournal open(Path path) throws RuntimeException {
+        return open(path, DEFAULT_SYNC_BATCH_SIZE);
+    }
+
+    /**
+     * 打开检查点日志，如果日志文件已存在，将加载其中已完成的步骤，否则将创建新的日志文件。
+     *
+     * @param path 日志文件路径，不允许为 {@code null}
+     * @param syncBatchSize fsync 批次大小，不允许小于等于 0
+     * @return 检查点日志
+     * @throws NullPointerException 如果 path 为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 syncBatchSize 小于等于 0，将会抛出此异常
+     * @throws RuntimeException 如果日志文件读取或打开失败，将会抛出此异常
+     */
+    public static ProvisioningJournal open(Path path, int syncBatchSize) throws RuntimeException {
+        if (path == null) {
+            String errorMessage = "Fails to open provisioning journal: `path could not be null`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        if (syncBatchSize <= 0) {
+            String errorMessage = "Fails to open provisioning journal: `syncBatchSize must be greater than 0`. syncBatchSize: `"
+                    + syncBatchSize + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            ProvisioningJournal journal = new ProvisioningJournal(path, channel, syncBatchSize);
+            journal.load();
+            journal.terminateIncompleteRecord();
+            return journal;
+        } catch (Exception e) {
+            String errorMessage = "Fails to open provisioning journal. path: `" + path + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    /**
+     * 获得已完成的组织步骤中记录的组织 ID，如果该步骤未完成，则返回 -1。
+     *
+     * @param organizationName 组织名称
+     * @return 组织 ID，如果步骤未完成，则为 -1
+     */
+    public int getOrganizationId(String organizationName) {
+        String value = completedStepMap.get(getStepKey(TYPE_ORGANIZATION, organizationName));
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    /**
+     * 记录已完成的组织步骤。
+     *
+     * @param organizationName 组织名称
+     * @param organizationId 组织 ID
+     * @throws RuntimeException 如果日志写入失败，将会抛出此异常
+     */
+    public void recordOrganization(String organizationName, int organizationId) throws RuntimeException {
+        record(TYPE_ORGANIZATION, organizationName, String.valueOf(organizationId));
+    }
+
+    /**
+     * 判断指定组织中的数据源步骤是否已完成。
+     *
+     * @param organizationId 组织 ID
+     * @param dataSourceName 数据源名称
+     * @return 是否已完成
+     */
+    public boolean isDataSourceCompleted(int organizationId, String dataSourceName) {
+        return completedStepMap.containsKey(getStepKey(TYPE_DATASOURCE, organizationId + ":" + dataSourceName));
+    }
+
+    /**
+     * 记录已完成的数据源步骤。
+     *
+     * @param organizationId 组织 ID
+     * @param dataSourceName 数据源名称
+     * @throws RuntimeException 如果日志写入失败，将会抛出此异常
+     */
+    public void recordDataSource(int organizationId, String dataSourceName) throws RuntimeException {
+        record(TYPE_DATASOURCE, organizationId + ":" + dataSourceName, "");
+    }
+
+    /**
+     * 获得已完成的文件夹步骤中记录的文件夹 ID，如果该步骤未完成，则返回 -1。
+     *
+     * @param organizationId 组织 ID
+     * @param folderTitle 文件夹名称
+     * @return 文件夹 ID，如果步骤未完成，则为 -1
+     */
+    public int getFolderId(int organizationId, String folderTitle) {
+        String value = completedStepMap.get(getStepKey(TYPE_FOLDER, organizationId + ":" + folderTitle));
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    /**
+     * 记录已完成的文件夹步骤。
+     *
+     * @param organizationId 组织 ID
+     * @param folderTitle 文件夹名称
+     * @param folderId 文件夹 ID
+     * @throws RuntimeException 如果日志写入失败，将会抛出此异常
+     */
+    public void recordFolder(int organizationId, String folderTitle, int folderId) throws RuntimeException {
+        record(TYPE_FOLDER, organizationId + ":" + folderTitle, String.valueOf(folderId));
+    }
+
+    /**
+     * 判断 dashboard 步骤是否已完成，仅当记录的内容哈希值与当前内容哈希值一致时，才视为已完成。
+     *
+     * @param uid dashboard UID
+     * @param contentHash dashboard 内容哈希值
+     * @return 是否已完成
+     */
+    public boolean isDashboardCompleted(String uid, String contentHash) {
+        return contentHash.equals(completedStepMap.get(getStepKey(TYPE_DASHBOARD, uid)));
+    }
+
+    /**
+     * 记录已完成的 dashboard 步骤。
+     *
+     * @param uid dashboard UID
+     * @param contentHash dashboard 内容哈希值
+     * @throws RuntimeException 如果日志写入失败，将会抛出此异常
+     */
+    public void recordDashboard(String uid, String contentHash) throws RuntimeException {
+        record(TYPE_DASHBOARD, uid, contentHash);
+    }
+
+    /**
+     * 获得已完成的步骤数量。
+     *
+     * @return 已完成的步骤数量
+     */
+    public int getCompletedStepCount() {
+        return completedStepMap.size();
+    }
+
+    /**
+     * 获得 fsync 批次大小。
+     *
+     * @return fsync 批次大小
+     */
+    public int getSyncBatchSize() {
+        return syncBatchSize;
+    }
+
+    /**
+     * 将所有已写入的记录 fsync 至磁盘。
+     *
+     * @throws RuntimeException 如果 fsync 失败，将会抛出此异常
+     */
+    public synchronized void sync() throws RuntimeException {
+        if (unsyncedCount > 0) {
+            try {
+                channel.force(false);
+                unsyncedCount = 0;
+            } catch (IOException e) {
+                String errorMessage = "Fails to sync provisioning journal. path: `" + path + "`.";
+                LOG.error(errorMessage, e);
+                throw new RuntimeException(errorMessage, e);
+            }
+        }
+    }
+
+    /**
+     * 执行 fsync 并关闭日志文件，关闭后不允许再记录步骤。
+     *
+     * @throws IOException 如果关闭失败，将会抛出此异常
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            try {
+                sync();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ProvisioningJournal{" +
+                "path=" + path +
+                ", completedStepCount=" + completedStepMap.size() +
+                ", syncBatchSize=" + syncBatchSize +
+                '}';
+    }
+
+    private synchronized void record(String type, String key, String value) throws RuntimeException {
+        ObjectNode recordNode = JSON_OBJECT_MAPPER.createObjectNode();
+        recordNode.put("type", type);
+        recordNode.put("key", key);
+        recordNode.put("value", value);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap((JSON_OBJECT_MAPPER.writeValueAsString(recordNode) + "\n").getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            String errorMessage = "Fails to write provisioning journal. path: `" + path + "`. record: `" + recordNode + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        completedStepMap.put(getStepKey(type, key), value);
+        if (++unsyncedCount >= syncBatchSize) {
+            sync();
+        }
+    }
+
+    private void load() throws IOException {
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    JsonNode recordNode = JSON_OBJECT_MAPPER.readTree(line);
+                    completedStepMap.put(getStepKey(recordNode.get("type").asText(), recordNode.get("key").asText()),
+                            recordNode.get("value").asText());
+                } catch (Exception e) {
+                    // 进程崩溃时可能存在不完整的记录，对应的步骤将被重新执行
+                    LOG.warn("Skip invalid provisioning journal record. path: `{}`. line: `{}`.", path, lineNumber);
+                }
+            }
+        }
+    }
+
+    /**
+     * 如果日志文件末尾存在不完整的记录，追加换行符，避免新记录与其拼接在同一行。
+     */
+    private void terminateIncompleteRecord() throws IOException {
+        long size = channel.size();
+        if (size > 0) {
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                readChannel.read(lastByte, size - 1);
+            }
+            if (lastByte.get(0) != '\n') {
+                channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            }
+        }
+    }
+
+    private static String getStepKey(String type, String key) {
+        return type + '\u0000' + key;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.heimuheimu.util.grafana.organization;
+
+import com.heimuheimu.util.grafana.cache.TtlCache;
+import com.heimuheimu.util.grafana.http.GrafanaHttpClient;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 带本地缓存的组织信息 API 客户端，按组织名称缓存 {@link #getByName(String)} 的结果，组织不存在时也将被缓存（使用较短的过期时间），
+ * 通过 {@link #create(String)} 创建组织后将直接更新缓存。多个生成器依次处理同一组织时，可避免重复查询组织信息。
+ *
+ * <p><strong>注意：</strong>异步方法不读取缓存，但查询到的组织信息及创建结果将更新缓存。缓存的组织信息对象将被多个调用方共享，调用方不应修改。</p>
+ *
+ * <p><strong>说明：</strong>CachingOrganizationClient 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class CachingOrganizationClient extends OrganizationClient {
+
+    /**
+     * 默认的缓存过期时间，单位：毫秒
+     */
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * 默认的空值缓存过期时间，单位：毫秒
+     */
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = 30 * 1000L;
+
+    /**
+     * 组织信息缓存，Key 为组织名称
+     */
+    private final TtlCache<String, Organization> cache;
+
+    /**
+     * 构造一个 CachingOrganizationClient 实例，使用默认的缓存过期时间。
+     *
+     * @param grafanaHttpClient Grafana http 客户端，不允许为 {@code null}
+     * @throws NullPointerException 如果 grafanaHttpClient 为 {@code null}，将会抛出此异常
+     */
+    public CachingOrganizationClient(GrafanaHttpClient grafanaHttpClient) throws NullPointerException {
+        this(grafanaHttpClient, DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+    }
+
+    /**
+     * 构造一个 CachingOrganizationClient 实例。
+     *
+     * @param grafanaHttpClient Grafana http 客户端，不允许为 {@code null}
+     * @param ttlMillis 组织信息缓存过期时间，单位：毫秒，不允许小于等于 0
+     * @param negativeTtlMillis 组织不存在时的缓存过期时间，单位：毫秒，如果小于等于 0，则不缓存
+     * @throws NullPointerException 如果 grafanaHttpClient 为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果 ttlMillis 小于等于 0，将会抛出此异常
+     */
+    public CachingOrganizationClient(GrafanaHttpClient grafanaHttpClient, long ttlMillis, long negativeTtlMillis)
+            throws NullPointerException, IllegalArgumentException {
+        super(grafanaHttpClient);
+        this.cache = new TtlCache<>(ttlMillis, negativeTtlMillis);
+    }
+
+    @Override
+    public Organization getByName(String name) throws RuntimeException {
+        if (name == null) {
+            return super.getByName(null);
+        }
+        return cache.get(name, () -> super.getByName(name));
+    }
+
+    @Override
+    public Organization create(String name) throws RuntimeException {
+        if (name == null) {
+            return super.create(null);
+        }
+        cache.invalidate(name);
+        Organization organization = super.create(name);
+        cache.put(name, organization);
+        return organization;
+    }
+
+    @Override
+    public CompletableFuture<Organization> getByNameAsync(String name) throws IllegalArgumentException {
+        return super.getByNameAsync(name).whenComplete((organization, throwable) -> {
+            if (organization != null) {
+                cache.put(name, organization);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Organization> createAsync(String name) throws IllegalArgumentException {
+        if (name == null) {
+            return super.createAsync(null);
+        }
+        cache.invalidate(name);
+        return super.createAsync(name).whenComplete((organization, throwable) -> {
+            if (throwable == null) {
+                cache.put(name, organization);
+            } else {
+                cache.invalidate(name);
+            }
+        });
+    }
+
+    @Override
+    public boolean delete(int id) throws RuntimeException {
+        try {
+            return super.delete(id);
+        } finally {
+            // 缓存以组织名称为 Key，无法按组织 ID 删除
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * 删除指定组织名称的缓存。
+     *
+     * @param name 组织名称
+     */
+    public void invalidate(String name) {
+        cache.invalidate(name);
+    }
+
+    /**
+     * 删除所有组织信息缓存。
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
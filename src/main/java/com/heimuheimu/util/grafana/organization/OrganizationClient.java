@@ -26,11 +26,16 @@ package com.heimuheimu.util.grafana.organization;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.heimuheimu.util.grafana.http.GrafanaHttpClient;
+import com.heimuheimu.util.grafana.http.JsonFieldSelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Grafana 中的组织信息 API 客户端，更多信息请参考文档：
@@ -44,6 +49,36 @@ public class OrganizationClient {
 
     private final static Logger LOG = LoggerFactory.getLogger(OrganizationClient.class);
 
+    /**
+     * 查询组织信息时需要读取的响应字段
+     */
+    private final static JsonFieldSelector GET_BY_NAME_SELECTOR = JsonFieldSelector.of("id", "name");
+
+    /**
+     * 创建组织信息时需要读取的响应字段
+     */
+    private final static JsonFieldSelector CREATE_SELECTOR = JsonFieldSelector.of("orgId");
+
+    /**
+     * 获取组织列表时需要读取的响应字段
+     */
+    private final static JsonFieldSelector LIST_SELECTOR = JsonFieldSelector.of("id", "name");
+
+    /**
+     * 删除组织时需要读取的响应字段
+     */
+    private final static JsonFieldSelector DELETE_SELECTOR = JsonFieldSelector.of("message");
+
+    /**
+     * 获取组织列表时每页的组织数量
+     */
+    private final static int LIST_PAGE_SIZE = 1000;
+
+    /**
+     * 切换组织时需要读取的响应字段
+     */
+    private final static JsonFieldSelector SWITCH_SELECTOR = JsonFieldSelector.of("message");
+
     /**
      * Grafana http 客户端
      */
@@ -71,23 +106,11 @@ public class OrganizationClient {
      * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
      */
     public Organization getByName(String name) throws RuntimeException {
-        if (name == null || name.isEmpty()) {
-            String errorMessage = "Fails to get organization: `name could not be null or empty`.";
-            LOG.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
+        checkName(name, "Fails to get organization: `name could not be null or empty`.");
         JsonNode response = null;
         try {
-            String path = "/api/orgs/name/" + name;
-            response = grafanaHttpClient.get(path);
-            if (response.has("id") && response.has("name")) {
-                Organization organization = new Organization();
-                organization.setId(response.get("id").intValue());
-                organization.setName(response.get("name").textValue());
-                return organization;
-            } else {
-                return null;
-            }
+            response = grafanaHttpClient.get(getByNamePath(name), GET_BY_NAME_SELECTOR);
+            return parseGetByNameResponse(response);
         } catch (Exception e) {
             String errorMessage = "Fails to get organization. name: `" + name + "`. response: `" + response + "`.";
             LOG.error(errorMessage, e);
@@ -95,6 +118,32 @@ public class OrganizationClient {
         }
     }
 
+    /**
+     * 根据组织名称异步获得组织信息，如果不存在，{@code CompletableFuture} 的结果为 {@code null}。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param name 组织名称，不允许为 {@code null} 或空
+     * @return 异步组织信息，结果可能为 {@code null}
+     * @throws IllegalArgumentException 如果 name 为 {@code null} 或空，将会抛出此异常
+     * @see #getByName(String)
+     */
+    public CompletableFuture<Organization> getByNameAsync(String name) throws IllegalArgumentException {
+        checkName(name, "Fails to get organization: `name could not be null or empty`.");
+        return grafanaHttpClient.getAsync(getByNamePath(name), GET_BY_NAME_SELECTOR).handle((response, throwable) -> {
+            try {
+                if (throwable != null) {
+                    throw throwable;
+                }
+                return parseGetByNameResponse(response);
+            } catch (Throwable e) {
+                String errorMessage = "Fails to get organization. name: `" + name + "`. response: `" + response + "`.";
+                LOG.error(errorMessage, e);
+                throw new RuntimeException(errorMessage, e);
+            }
+        });
+    }
+
     /**
      * 根据组织名称创建组织信息并返回，该方法不会返回 {@code null}。
      *
@@ -104,38 +153,53 @@ public class OrganizationClient {
      * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
      */
     public Organization create(String name) throws RuntimeException {
-        if (name == null || name.isEmpty()) {
-            String errorMessage = "Fails to create organization: `name could not be null or empty`.";
-            LOG.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-        Organization organization = null;
+        checkName(name, "Fails to create organization: `name could not be null or empty`.");
+        Organization organization;
         JsonNode response = null;
         try {
-            String path = "/api/orgs";
-            Map<String, String> body = new HashMap<>();
-            body.put("name", name);
-            response = grafanaHttpClient.post(path, body);
-            if (response.has("orgId")) {
-                organization = new Organization();
-                organization.setId(response.get("orgId").intValue());
-                organization.setName(name);
-            }
+            response = grafanaHttpClient.post("/api/orgs", getCreateBody(name), CREATE_SELECTOR);
+            organization = parseCreateResponse(name, response);
         } catch (Exception e) {
             String errorMessage = "Fails to create organization. name: `" + name + "`. response: `" + response + "`.";
             LOG.error(errorMessage, e);
             throw new RuntimeException(errorMessage, e);
         }
-        if (organization == null) {
-            String errorMessage = "Fails to create organization. name: `" + name + "`. response: `" + response + "`.";
-            LOG.error(errorMessage);
-            throw new RuntimeException(errorMessage);
-        }
-        return organization;
+        return checkCreated(name, organization, response);
+    }
+
+    /**
+     * 根据组织名称异步创建组织信息，{@code CompletableFuture} 的结果不会为 {@code null}。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param name 组织名称
+     * @return 异步组织信息，结果不会为 {@code null}
+     * @throws IllegalArgumentException 如果 name 为 {@code null} 或空，将会抛出此异常
+     * @see #create(String)
+     */
+    public CompletableFuture<Organization> createAsync(String name) throws IllegalArgumentException {
+        checkName(name, "Fails to create organization: `name could not be null or empty`.");
+        return grafanaHttpClient.postAsync("/api/orgs", getCreateBody(name), CREATE_SELECTOR).handle((response, throwable) -> {
+            Organization organization;
+            try {
+                if (throwable != null) {
+                    throw throwable;
+                }
+                organization = parseCreateResponse(name, response);
+            } catch (Throwable e) {
+                String errorMessage = "Fails to create organization. name: `" + name + "`. response: `" + response + "`.";
+                LOG.error(errorMessage, e);
+                throw new RuntimeException(errorMessage, e);
+            }
+            return checkCreated(name, organization, response);
+        });
     }
 
     /**
-     * 切换到指定的组织。
+     * 切换到指定的组织，该操作将修改当前用户在 Grafana 中所选择的组织，会影响使用同一用户的其它请求。
+     *
+     * <p>如果仅需访问指定组织的资源，推荐使用 {@link GrafanaHttpClient#withOrganization(int)} 获得组织客户端视图，
+     * 无需切换组织。</p>
      *
      * @param id 组织 ID
      * @throws RuntimeException 如果执行过程中发生错误或切换失败，将会抛出此异常
@@ -143,18 +207,34 @@ public class OrganizationClient {
     public void switchOrganization(int id) throws RuntimeException {
         JsonNode response;
         try {
-            String path = "/api/user/using/" + id;
-            response = grafanaHttpClient.post(path, null);
+            response = grafanaHttpClient.post(getSwitchOrganizationPath(id), null, SWITCH_SELECTOR);
         } catch (Exception e) {
             String errorMessage = "Fails to switch organization. OrgId: `" + id + "`.";
             LOG.error(errorMessage, e);
             throw new RuntimeException(errorMessage, e);
         }
-        if (!response.has("message") || !response.get("message").textValue().startsWith("Active")) {
-            String errorMessage = "Fails to switch organization. OrgId: `" + id + "`. response: `" + response + "`.";
-            LOG.error(errorMessage);
-            throw new RuntimeException(errorMessage);
-        }
+        checkSwitched(id, response);
+    }
+
+    /**
+     * 异步切换到指定的组织，如果执行过程中发生错误或切换失败，{@code CompletableFuture} 将以 {@code RuntimeException} 异常结束。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param id 组织 ID
+     * @return 异步切换结果
+     * @see #switchOrganization(int)
+     */
+    public CompletableFuture<Void> switchOrganizationAsync(int id) {
+        return grafanaHttpClient.postAsync(getSwitchOrganizationPath(id), null, SWITCH_SELECTOR).handle((response, throwable) -> {
+            if (throwable != null) {
+                String errorMessage = "Fails to switch organization. OrgId: `" + id + "`.";
+                LOG.error(errorMessage, throwable);
+                throw new RuntimeException(errorMessage, throwable);
+            }
+            checkSwitched(id, response);
+            return null;
+        });
     }
 
     /**
@@ -171,4 +251,137 @@ public class OrganizationClient {
         }
         return organization;
     }
+
+    /**
+     * 异步执行 {@link #createIfAbsent(String)} 操作，{@code CompletableFuture} 的结果不会为 {@code null}。
+     *
+     * <p><strong>注意：</strong>如果正在执行的异步请求数已达上限，该方法将会阻塞，直至有请求执行完成。</p>
+     *
+     * @param name 组织名称，不允许为 {@code null} 或空
+     * @return 异步组织信息，结果不会为 {@code null}
+     * @throws IllegalArgumentException 如果 name 为 {@code null} 或空，将会抛出此异常
+     */
+    public CompletableFuture<Organization> createIfAbsentAsync(String name) throws IllegalArgumentException {
+        return getByNameAsync(name).thenCompose(organization -> organization != null
+                ? CompletableFuture.completedFuture(organization) : createAsync(name));
+    }
+
+    /**
+     * 获得 Grafana 中的所有组织信息，将按每页 1000 个组织分页读取。
+     *
+     * @return 组织信息列表，不会为 {@code null}
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public List<Organization> listAll() throws RuntimeException {
+        List<Organization> organizationList = new ArrayList<>();
+        int page = 1;
+        JsonNode response = null;
+        try {
+            while (true) {
+                response = grafanaHttpClient.get("/api/orgs", getListQuery(page), LIST_SELECTOR);
+                if (!response.isArray()) {
+                    throw new IllegalStateException("Unexpected organization list response.");
+                }
+                for (JsonNode organizationNode : response) {
+                    Organization organization = new Organization();
+                    organization.setId(organizationNode.path("id").intValue());
+                    organization.setName(organizationNode.path("name").asText(""));
+                    organizationList.add(organization);
+                }
+                if (response.size() < LIST_PAGE_SIZE) {
+                    return organizationList;
+                }
+                page++;
+            }
+        } catch (Exception e) {
+            String errorMessage = "Fails to list organizations. page: `" + page + "`. response: `" + response + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+    }
+
+    /**
+     * 删除指定的组织，组织中的所有数据源、文件夹及 dashboard 将被同时删除，如果组织不存在，则返回 {@code false}。
+     *
+     * @param id 组织 ID
+     * @return 是否删除成功
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public boolean delete(int id) throws RuntimeException {
+        JsonNode response;
+        try {
+            response = grafanaHttpClient.delete("/api/orgs/" + id, DELETE_SELECTOR);
+        } catch (Exception e) {
+            String errorMessage = "Fails to delete organization. OrgId: `" + id + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        return response.path("message").asText("").startsWith("Organization deleted");
+    }
+
+    private Map<String, String> getListQuery(int page) {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("perpage", String.valueOf(LIST_PAGE_SIZE));
+        query.put("page", String.valueOf(page));
+        return query;
+    }
+
+    private void checkName(String name, String errorMessage) throws IllegalArgumentException {
+        if (name == null || name.isEmpty()) {
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    private String getByNamePath(String name) {
+        return "/api/orgs/name/" + name;
+    }
+
+    private Organization parseGetByNameResponse(JsonNode response) {
+        if (response.has("id") && response.has("name")) {
+            Organization organization = new Organization();
+            organization.setId(response.get("id").intValue());
+            organization.setName(response.get("name").textValue());
+            return organization;
+        } else {
+            return null;
+        }
+    }
+
+    private Map<String, String> getCreateBody(String name) {
+        Map<String, String> body = new HashMap<>();
+        body.put("name", name);
+        return body;
+    }
+
+    private Organization parseCreateResponse(String name, JsonNode response) {
+        Organization organization = null;
+        if (response.has("orgId")) {
+            organization = new Organization();
+            organization.setId(response.get("orgId").intValue());
+            organization.setName(name);
+        }
+        return organization;
+    }
+
+    private Organization checkCreated(String name, Organization organization, JsonNode response) throws RuntimeException {
+        if (organization == null) {
+            String errorMessage = "Fails to create organization. name: `" + name + "`. response: `" + response + "`.";
+            LOG.error(errorMessage);
+            throw new RuntimeException(errorMessage);
+        }
+        return organization;
+    }
+
+    private String getSwitchOrganizationPath(int id) {
+        return "/api/user/using/" + id;
+    }
+
+    private void checkSwitched(int id, JsonNode response) throws RuntimeException {
+        if (!response.has("message") || !response.get("message").textValue().startsWith("Active")) {
+            String errorMessage = "Fails to switch organization. OrgId: `" + id + "`. response: `" + response + "`.";
+            LOG.error(errorMessage);
+            throw new RuntimeException(errorMessage);
+        }
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.prometheus;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prometheus job 信息客户端，通过 <a href="https://prometheus.io/docs/prometheus/latest/querying/api/#querying-label-values">
+ * Querying label values</a> API 获取 Prometheus 中的 job 名称列表，以及指定 job 上报的监控指标名称列表。
+ *
+ * <p><strong>说明：</strong>PrometheusJobClient 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class PrometheusJobClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PrometheusJobClient.class);
+
+    /**
+     * 默认的请求超时时间，单位：毫秒
+     */
+    public static final int DEFAULT_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * 解析响应内容使用的 ObjectMapper
+     */
+    private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 获取 job 名称列表的请求地址
+     */
+    private final HttpUrl jobValuesUrl;
+
+    /**
+     * 获取监控指标名称列表的请求地址
+     */
+    private final HttpUrl metricNameValuesUrl;
+
+    /**
+     * OkHttp 客户端
+     */
+    private final OkHttpClient httpClient;
+
+    /**
+     * 构造一个 PrometheusJobClient 实例，请求超时时间为 {@link #DEFAULT_TIMEOUT_MILLIS}。
+     *
+     * @param prometheusUrl Prometheus 访问路径，例如：http://localhost:9090
+     * @throws IllegalArgumentException 如果 prometheusUrl 不是有效的 http 或 https 地址，将会抛出此异常
+     */
+    public PrometheusJobClient(String prometheusUrl) throws IllegalArgumentException {
+        this(prometheusUrl, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * 构造一个 PrometheusJobClient 实例。
+     *
+     * @param prometheusUrl Prometheus 访问路径，例如：http://localhost:9090
+     * @param timeoutMillis 请求超时时间，单位：毫秒，不允许小于等于 0
+     * @throws IllegalArgumentException 如果 prometheusUrl 不是有效的 http 或 https 地址，将会抛出此异常
+     * @throws IllegalArgumentException 如果 timeoutMillis 小于等于 0，将会抛出此异常
+     */
+    public PrometheusJobClient(String prometheusUrl, int timeoutMillis) throws IllegalArgumentException {
+        HttpUrl baseUrl = prometheusUrl != null ? HttpUrl.parse(prometheusUrl) : null;
+        if (baseUrl == null) {
+            String errorMessage = "Fails to construct PrometheusJobClient: `invalid prometheusUrl`. prometheusUrl: `"
+                    + prometheusUrl + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        if (timeoutMillis <= 0) {
+            String errorMessage = "Fails to construct PrometheusJobClient: `timeoutMillis must be greater than 0`. timeoutMillis: `"
+                    + timeoutMillis + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.jobValuesUrl = baseUrl.newBuilder().addPathSegments("api/v1/label/job/values").build();
+        this.metricNameValuesUrl = baseUrl.newBuilder().addPathSegments("api/v1/label/__name__/values").build();
+        this.httpClient = new OkHttpClient.Builder()
+                .connectTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .callTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * 获得 Prometheus 中的 job 名称列表，不会返回 {@code null}。
+     *
+     * @return job 名称列表，不会为 {@code null}
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public List<String> getJobNames() throws RuntimeException {
+        return getLabelValues(jobValuesUrl, "Fails to get prometheus job names");
+    }
+
+    /**
+     * 获得最近一段时间内存在监控数据的 job 名称列表，不会返回 {@code null}。
+     *
+     * @param lookbackMillis 回溯时间，单位：毫秒，不允许小于等于 0
+     * @return job 名称列表，不会为 {@code null}
+     * @throws IllegalArgumentException 如果 lookbackMillis 小于等于 0，将会抛出此异常
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public List<String> getJobNames(long lookbackMillis) throws RuntimeException {
+        if (lookbackMillis <= 0) {
+            String errorMessage = "Fails to get prometheus job names: `lookbackMillis must be greater than 0`. lookbackMillis: `"
+                    + lookbackMillis + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        long endSeconds = System.currentTimeMillis() / 1000;
+        HttpUrl url = jobValuesUrl.newBuilder()
+                .addQueryParameter("start", String.valueOf(endSeconds - lookbackMillis / 1000))
+                .addQueryParameter("end", String.valueOf(endSeconds))
+                .build();
+        return getLabelValues(url, "Fails to get prometheus job names. lookbackMillis: `" + lookbackMillis + "`");
+    }
+
+    /**
+     * 获得指定 job 上报的所有监控指标名称列表，仅发送一次请求，不会返回 {@code null}。
+     *
+     * @param jobName job 名称，不允许为 {@code null} 或空
+     * @return 监控指标名称列表，不会为 {@code null}
+     * @throws IllegalArgumentException 如果 jobName 为 {@code null} 或空，将会抛出此异常
+     * @throws RuntimeException 如果执行过程中发生错误，将会抛出此异常
+     */
+    public List<String> getMetricNames(String jobName) throws RuntimeException {
+        if (jobName == null || jobName.isEmpty()) {
+            String errorMessage = "Fails to get prometheus metric names: `jobName could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        String selector = "{job=\"" + jobName.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+        HttpUrl url = metricNameValuesUrl.newBuilder().addQueryParameter("match[]", selector).build();
+        return getLabelValues(url, "Fails to get prometheus metric names. jobName: `" + jobName + "`");
+    }
+
+    private List<String> getLabelValues(HttpUrl url, String errorText) throws RuntimeException {
+        Request request = new Request.Builder().url(url).get().build();
+        JsonNode response = null;
+        try (Response httpResponse = httpClient.newCall(request).execute()) {
+            ResponseBody body = httpResponse.body();
+            response = body != null ? JSON_OBJECT_MAPPER.readTree(body.byteStream()) : null;
+            if (response == null || !"success".equals(response.path("status").asText()) || !response.path("data").isArray()) {
+                throw new IllegalStateException("Unexpected response. status code: `" + httpResponse.code() + "`.");
+            }
+        } catch (Exception e) {
+            String errorMessage = errorText + ". url: `" + url + "`. response: `" + response + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        List<String> valueList = new ArrayList<>();
+        for (JsonNode value : response.get("data")) {
+            valueList.add(value.asText());
+        }
+        return valueList;
+    }
+
+    @Override
+    public String toString() {
+        return "PrometheusJobClient{" +
+                "jobValuesUrl=" + jobValuesUrl +
+                '}';
+    }
+}
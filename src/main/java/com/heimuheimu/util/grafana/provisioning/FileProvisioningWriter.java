@@ -0,0 +1,367 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.provisioning;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heimuheimu.util.grafana.dashboard.Dashboard;
+import com.heimuheimu.util.grafana.dashboard.DashboardFingerprint;
+import com.heimuheimu.util.grafana.dashboard.DashboardTemplate;
+import com.heimuheimu.util.grafana.datasource.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Grafana 文件预配置输出，将 dashboards 以 JSON 文件的形式写入本地目录，并生成对应的
+ * <a href="https://grafana.com/docs/grafana/latest/administration/provisioning/">Provisioning</a> 配置文件，
+ * Grafana 启动时将直接从磁盘加载 dashboards 及数据源，无需调用 Grafana http api。
+ *
+ * <p>输出目录结构如下：</p>
+ * <pre>
+ * dashboards/{组织名称}/{文件夹名称}/{dashboard 标题}.json
+ * provisioning/dashboards/{组织名称}.yaml
+ * provisioning/datasources/{组织名称}-{数据源名称}.yaml
+ * </pre>
+ *
+ * <p>所有文件均先写入同目录下的临时文件，再通过重命名替换目标文件，仅在内容变化时写入，内容未变化的文件不会被修改。
+ * 写入某个文件夹的 dashboards 时，该文件夹中不再生成的 dashboard 文件将被删除。Grafana 文件预配置无法创建组织，
+ * 组织需预先存在，组织 ID 通过构造时传入的函数获得。</p>
+ *
+ * <p><strong>说明：</strong>FileProvisioningWriter 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class FileProvisioningWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileProvisioningWriter.class);
+
+    /**
+     * dashboard JSON 文件扩展名
+     */
+    private static final String DASHBOARD_FILE_SUFFIX = ".json";
+
+    /**
+     * 生成 YAML 字符串使用的 ObjectMapper
+     */
+    private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 本地输出目录
+     */
+    private final Path outputDirectory;
+
+    /**
+     * Grafana 读取输出目录时使用的路径，例如：输出目录被打包至镜像中的 "/etc/grafana/generated"
+     */
+    private final String grafanaDirectory;
+
+    /**
+     * 根据组织名称获得组织 ID 的函数
+     */
+    private final ToIntFunction<String> organizationIdFunction;
+
+    /**
+     * 构造一个 FileProvisioningWriter 实例，Grafana 读取输出目录时使用的路径与本地输出目录的绝对路径一致。
+     *
+     * @param outputDirectory 本地输出目录，不允许为 {@code null}
+     * @param organizationIdFunction 根据组织名称获得组织 ID 的函数，不允许为 {@code null}
+     * @throws NullPointerException 如果 outputDirectory 或 organizationIdFunction 为 {@code null}，将会抛出此异常
+     */
+    public FileProvisioningWriter(Path outputDirectory, ToIntFunction<String> organizationIdFunction) throws NullPointerException {
+        this(outputDirectory, outputDirectory != null ? outputDirectory.toAbsolutePath().toString() : null, organizationIdFunction);
+    }
+
+    /**
+     * 构造一个 FileProvisioningWriter 实例。
+     *
+     * @param outputDirectory 本地输出目录，不允许为 {@code null}
+     * @param grafanaDirectory Grafana 读取输出目录时使用的路径，不允许为 {@code null}
+     * @param organizationIdFunction 根据组织名称获得组织 ID 的函数，不允许为 {@code null}
+     * @throws NullPointerException 如果 outputDirectory、grafanaDirectory 或 organizationIdFunction 为 {@code null}，将会抛出此异常
+     */
+    public FileProvisioningWriter(Path outputDirectory, String grafanaDirectory, ToIntFunction<String> organizationIdFunction)
+            throws NullPointerException {
+        if (outputDirectory == null || grafanaDirectory == null || organizationIdFunction == null) {
+            String errorMessage = "Fails to construct FileProvisioningWriter: `outputDirectory, grafanaDirectory and organizationIdFunction could not be null`. outputDirectory: `"
+                    + outputDirectory + "`. grafanaDirectory: `" + grafanaDirectory + "`. organizationIdFunction: `"
+                    + organizationIdFunction + "`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        this.outputDirectory = outputDirectory;
+        this.grafanaDirectory = grafanaDirectory.endsWith("/") ? grafanaDirectory.substring(0, grafanaDirectory.length() - 1)
+                : grafanaDirectory;
+        this.organizationIdFunction = organizationIdFunction;
+    }
+
+    /**
+     * 写入文件夹中的 dashboard JSON 文件，并删除该文件夹中不再生成的 dashboard 文件，文件内容为 dashboard 的规范化 JSON，
+     * 参考 {@link DashboardFingerprint#toCanonicalJson(Dashboard)}。
+     *
+     * @param organizationName 组织名称
+     * @param folderName 文件夹名称
+     * @param dashboardList dashboard 列表
+     * @return 发生变化（新增、修改或删除）的文件数量
+     * @throws RuntimeException 如果写入过程中发生错误，将会抛出此异常
+     */
+    public int writeDashboards(String organizationName, String folderName, List<Dashboard> dashboardList) throws RuntimeException {
+        List<String> titleList = new ArrayList<>(dashboardList.size());
+        List<String> uidList = new ArrayList<>(dashboardList.size());
+        for (Dashboard dashboard : dashboardList) {
+            titleList.add(dashboard.getTitle());
+            uidList.add(dashboard.getUid());
+        }
+        return writeDashboards(organizationName, folderName, titleList, uidList,
+                index -> DashboardFingerprint.toCanonicalJson(dashboardList.get(index)));
+    }
+
+    /**
+     * 使用 dashboard 模版写入文件夹中的 dashboard JSON 文件，并删除该文件夹中不再生成的 dashboard 文件，
+     * dashboard UID 通过 {@link DashboardFingerprint#getUid(String, String, String)} 生成，组织名称将作为 Prometheus job 名称。
+     *
+     * @param organizationName 组织名称
+     * @param folderName 文件夹名称
+     * @param templateList dashboard 模版列表
+     * @param interval 图表目标数据获取周期
+     * @param datasource 数据源名称
+     * @return 发生变化（新增、修改或删除）的文件数量
+     * @throws RuntimeException 如果写入过程中发生错误，将会抛出此异常
+     */
+    public int writeDashboards(String organizationName, String folderName, List<DashboardTemplate> templateList,
+                               String interval, String datasource) throws RuntimeException {
+        List<String> titleList = new ArrayList<>(templateList.size());
+        List<String> uidList = new ArrayList<>(templateList.size());
+        for (DashboardTemplate template : templateList) {
+            titleList.add(template.getTitle());
+            uidList.add(DashboardFingerprint.getUid(organizationName, folderName, template.getTitle()));
+        }
+        return writeDashboards(organizationName, folderName, titleList, uidList,
+                index -> templateList.get(index).render(organizationName, interval, datasource, uidList.get(index)));
+    }
+
+    /**
+     * 写入数据源预配置文件。
+     *
+     * @param organizationName 数据源所在组织名称
+     * @param dataSource 数据源信息
+     * @return 文件内容是否发生变化
+     * @throws RuntimeException 如果写入过程中发生错误，将会抛出此异常
+     */
+    public boolean writeDataSource(String organizationName, DataSource dataSource) throws RuntimeException {
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("apiVersion: 1\n\n");
+        yaml.append("datasources:\n");
+        yaml.append("  - name: ").append(quote(dataSource.getName())).append('\n');
+        yaml.append("    type: ").append(quote(dataSource.getType())).append('\n');
+        yaml.append("    access: ").append(quote(dataSource.getAccess())).append('\n');
+        yaml.append("    url: ").append(quote(dataSource.getUrl())).append('\n');
+        yaml.append("    orgId: ").append(getOrganizationId(organizationName)).append('\n');
+        yaml.append("    editable: false\n");
+        Path path = outputDirectory.resolve("provisioning").resolve("datasources")
+                .resolve(toFileName(organizationName + "-" + dataSource.getName()) + ".yaml");
+        return writeFile(path, yaml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 写入组织的 dashboards 预配置文件，组织在输出目录中的每个文件夹对应一个 provider。
+     *
+     * @param organizationName 组织名称
+     * @return 文件内容是否发生变化
+     * @throws RuntimeException 如果写入过程中发生错误，将会抛出此异常
+     */
+    public boolean writeDashboardProvider(String organizationName) throws RuntimeException {
+        int organizationId = getOrganizationId(organizationName);
+        String organizationFileName = toFileName(organizationName);
+        List<String> folderFileNameList = new ArrayList<>();
+        Path organizationDirectory = outputDirectory.resolve("dashboards").resolve(organizationFileName);
+        if (Files.isDirectory(organizationDirectory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(organizationDirectory, Files::isDirectory)) {
+                for (Path folderDirectory : stream) {
+                    folderFileNameList.add(folderDirectory.getFileName().toString());
+                }
+            } catch (IOException e) {
+                String errorMessage = "Fails to write dashboard provider. organizationName: `" + organizationName + "`.";
+                LOG.error(errorMessage, e);
+                throw new RuntimeException(errorMessage, e);
+            }
+        }
+        Collections.sort(folderFileNameList);
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("apiVersion: 1\n\n");
+        yaml.append("providers:\n");
+        for (String folderFileName : folderFileNameList) {
+            yaml.append("  - name: ").append(quote(organizationName + "/" + folderFileName)).append('\n');
+            yaml.append("    orgId: ").append(organizationId).append('\n');
+            yaml.append("    folder: ").append(quote(folderFileName)).append('\n');
+            yaml.append("    type: file\n");
+            yaml.append("    disableDeletion: false\n");
+            yaml.append("    allowUiUpdates: false\n");
+            yaml.append("    options:\n");
+            yaml.append("      path: ").append(quote(grafanaDirectory + "/dashboards/" + organizationFileName + "/" + folderFileName))
+                    .append('\n');
+        }
+        Path path = outputDirectory.resolve("provisioning").resolve("dashboards").resolve(organizationFileName + ".yaml");
+        return writeFile(path, yaml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 获得本地输出目录。
+     *
+     * @return 本地输出目录
+     */
+    public Path getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    @Override
+    public String toString() {
+        return "FileProvisioningWriter{" +
+                "outputDirectory=" + outputDirectory +
+                ", grafanaDirectory='" + grafanaDirectory + '\'' +
+                '}';
+    }
+
+    private int writeDashboards(String organizationName, String folderName, List<String> titleList, List<String> uidList,
+                                IntFunction<byte[]> contentFunction) throws RuntimeException {
+        Path folderDirectory = getFolderDirectory(organizationName, folderName);
+        int changedCount = 0;
+        Set<String> fileNameSet = new HashSet<>();
+        for (int i = 0; i < titleList.size(); i++) {
+            String fileName = toFileName(titleList.get(i)) + DASHBOARD_FILE_SUFFIX;
+            if (!fileNameSet.add(fileName)) {
+                fileName = toFileName(titleList.get(i) + "-" + uidList.get(i)) + DASHBOARD_FILE_SUFFIX;
+                fileNameSet.add(fileName);
+            }
+            if (writeFile(folderDirectory.resolve(fileName), contentFunction.apply(i))) {
+                changedCount++;
+            }
+        }
+        changedCount += removeStaleDashboards(folderDirectory, fileNameSet);
+        return changedCount;
+    }
+
+    private Path getFolderDirectory(String organizationName, String folderName) {
+        return outputDirectory.resolve("dashboards").resolve(toFileName(organizationName)).resolve(toFileName(folderName));
+    }
+
+    private int getOrganizationId(String organizationName) {
+        return organizationIdFunction.applyAsInt(organizationName);
+    }
+
+    /**
+     * 如果文件内容发生变化，先写入同目录下的临时文件，再通过重命名替换目标文件。
+     *
+     * @return 文件内容是否发生变化
+     */
+    private boolean writeFile(Path path, byte[] content) throws RuntimeException {
+        Path tempFile = null;
+        try {
+            if (Files.isRegularFile(path) && Files.size(path) == content.length && Arrays.equals(Files.readAllBytes(path), content)) {
+                return false;
+            }
+            Files.createDirectories(path.getParent());
+            tempFile = Files.createTempFile(path.getParent(), "." + path.getFileName(), ".tmp");
+            Files.write(tempFile, content);
+            try {
+                Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (Exception e) {
+            String errorMessage = "Fails to write provisioning file. path: `" + path + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private int removeStaleDashboards(Path folderDirectory, Set<String> fileNameSet) throws RuntimeException {
+        int removedCount = 0;
+        if (Files.isDirectory(folderDirectory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(folderDirectory, "*" + DASHBOARD_FILE_SUFFIX)) {
+                for (Path file : stream) {
+                    if (!fileNameSet.contains(file.getFileName().toString())) {
+                        Files.delete(file);
+                        removedCount++;
+                    }
+                }
+            } catch (IOException e) {
+                String errorMessage = "Fails to remove stale dashboard files. directory: `" + folderDirectory + "`.";
+                LOG.error(errorMessage, e);
+                throw new RuntimeException(errorMessage, e);
+            }
+        }
+        return removedCount;
+    }
+
+    /**
+     * 将名称转换为文件名，"/"、"\" 等文件系统保留字符将被替换为 "_"。
+     */
+    private static String toFileName(String name) {
+        StringBuilder buffer = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            buffer.append(c < 0x20 || "/\\:*?\"<>|".indexOf(c) >= 0 ? '_' : c);
+        }
+        String fileName = buffer.toString().trim();
+        return fileName.isEmpty() || fileName.startsWith(".") ? "_" + fileName : fileName;
+    }
+
+    /**
+     * 将字符串转换为 YAML 双引号字符串，JSON 字符串是合法的 YAML 双引号字符串。
+     */
+    private static String quote(String value) throws RuntimeException {
+        try {
+            return JSON_OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Fails to quote yaml value: `" + value + "`.", e); // should not happen
+        }
+    }
+}
@@ -24,15 +24,23 @@
 
 package com.heimuheimu.util.grafana.support;
 
-import com.heimuheimu.util.grafana.DashboardsBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.heimuheimu.util.grafana.DashboardsPlan;
+import com.heimuheimu.util.grafana.PlannableDashboardsBuilder;
 import com.heimuheimu.util.grafana.dashboard.Dashboard;
 import com.heimuheimu.util.grafana.dashboard.DashboardClient;
+import com.heimuheimu.util.grafana.dashboard.DashboardDiff;
+import com.heimuheimu.util.grafana.dashboard.DashboardFingerprint;
+import com.heimuheimu.util.grafana.dashboard.DashboardSyncResult;
+import com.heimuheimu.util.grafana.dashboard.DashboardTemplate;
 import com.heimuheimu.util.grafana.datasource.DataSource;
 import com.heimuheimu.util.grafana.datasource.DataSourceClient;
 import com.heimuheimu.util.grafana.folder.Folder;
 import com.heimuheimu.util.grafana.folder.FolderClient;
+import com.heimuheimu.util.grafana.journal.ProvisioningJournal;
 import com.heimuheimu.util.grafana.organization.Organization;
 import com.heimuheimu.util.grafana.organization.OrganizationClient;
+import com.heimuheimu.util.grafana.provisioning.FileProvisioningWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,15 +49,23 @@ import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * dashboards 生成器抽象类，提供生成器需要的公用方法。
  *
  * @author heimuheimu
  */
-public abstract class AbstractDashboardsBuilder implements DashboardsBuilder {
+public abstract class AbstractDashboardsBuilder implements PlannableDashboardsBuilder {
 
     protected final Logger LOG = LoggerFactory.getLogger(getClass());
 
@@ -78,6 +94,36 @@ public abstract class AbstractDashboardsBuilder implements DashboardsBuilder {
      */
     protected final DashboardClient dashboardClient;
 
+    /**
+     * 创建 dashboard 使用的线程池，如果为 {@code null}，dashboard 将依次创建
+     */
+    private volatile Executor dashboardExecutor = null;
+
+    /**
+     * 允许同时创建的最大 dashboard 数量，仅在 dashboardExecutor 不为 {@code null} 时生效，默认为 1
+     */
+    private volatile int dashboardParallelism = 1;
+
+    /**
+     * 是否使用增量同步模式，开启后仅保存内容发生变化的 dashboard，默认为 {@code false}
+     */
+    private volatile boolean syncEnabled = false;
+
+    /**
+     * 检查点日志，如果为 {@code null}，则不记录已完成的步骤
+     */
+    private volatile ProvisioningJournal journal = null;
+
+    /**
+     * 文件预配置输出，如果为 {@code null}，将通过 Grafana http api 创建 dashboards
+     */
+    private volatile FileProvisioningWriter fileWriter = null;
+
+    /**
+     * 由 {@link #getDashboardFactoryList()} 编译生成的 dashboard 模版列表，首次使用时编译
+     */
+    private volatile List<DashboardTemplate> dashboardTemplateList = null;
+
     /**
      * 构造一个 AbstractDashboardsBuilder 实例。
      *
@@ -141,12 +187,203 @@ public abstract class AbstractDashboardsBuilder implements DashboardsBuilder {
         if (outputStream != null) {
             writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), true);
         }
-        // create organization if absent
-        Organization organization = organizationClient.createIfAbsent(organizationName);
-        println(writer, "Fetch organization success: " + organization);
-        organizationClient.switchOrganization(organization.getId());
-        println(writer, "Switch organization success.");
-        // create datasource if absent
+        FileProvisioningWriter fileWriter = this.fileWriter;
+        if (fileWriter != null) {
+            // file provisioning output mode, no http request will be sent
+            writeFiles(organizationName, interval, fileWriter, writer);
+            println(writer, "Write dashboard files end. Builder: `" + getClass().getSimpleName() + "`.");
+            return;
+        }
+        ProvisioningJournal journal = this.journal;
+        try {
+            // create organization if absent
+            Organization organization = prepareOrganization(organizationName, journal, writer);
+            // create datasource if absent
+            prepareDataSource(organization, journal, writer);
+            // create folder
+            Folder folder = prepareFolder(organization, journal, writer);
+            // create dashboards
+            List<Dashboard> dashboardList = prepareDashboardList(organizationName, interval, journal, writer);
+            // use organization scoped clients, the current organization of the user will not be changed
+            createDashboards(dashboardList, folder.getId(), dashboardClient.withOrganization(organization.getId()), writer);
+        } finally {
+            if (journal != null) {
+                journal.sync();
+            }
+        }
+        println(writer, "Create dashboards end. Builder: `" + getClass().getSimpleName() + "`.");
+    }
+
+    @Override
+    public DashboardsPlan plan(String organizationName, String interval, OutputStream outputStream) throws RuntimeException {
+        if (organizationName == null || organizationName.trim().isEmpty()) {
+            String errorMessage = "Fails to plan dashboards: `organizationName could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        PrintWriter writer = null;
+        if (outputStream != null) {
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), true);
+        }
+        DashboardsPlan plan = new DashboardsPlan();
+        plan.setOrganizationName(organizationName);
+        plan.setFolderName(getFolderName());
+        List<Dashboard> dashboardList = getDashboardList(organizationName, interval);
+        prepareDashboards(organizationName, dashboardList);
+        // only read requests are sent, organization and folder will not be created
+        Organization organization = organizationClient.getByName(organizationName);
+        if (organization == null) {
+            for (Dashboard dashboard : dashboardList) {
+                plan.getDiffList().add(DashboardDiff.compare(dashboard, null, false));
+            }
+        } else {
+            Folder folder = this.folderClient.withOrganization(organization.getId()).getByTitle(getFolderName());
+            int folderId = folder != null ? folder.getId() : -1;
+            DashboardClient dashboardClient = this.dashboardClient.withOrganization(organization.getId());
+            List<CompletableFuture<DashboardDiff>> futureList = submitDashboardTasks(dashboardList,
+                    dashboard -> diffDashboard(dashboard, folderId, dashboardClient));
+            plan.getDiffList().addAll(joinDashboardTasks(dashboardList, futureList, writer, false, "Plan dashboard failed",
+                    "Fails to plan dashboards", "compared"));
+        }
+        println(writer, plan.getSummary());
+        return plan;
+    }
+
+    /**
+     * 将数据源、dashboards 及 dashboards 预配置写入文件预配置输出目录，不会访问 Grafana。
+     *
+     * @param organizationName 组织名称
+     * @param interval 图表目标数据获取周期
+     * @param fileWriter 文件预配置输出
+     * @param writer 日志输出，允许为 {@code null}
+     */
+    void writeFiles(String organizationName, String interval, FileProvisioningWriter fileWriter, PrintWriter writer) {
+        if (fileWriter.writeDataSource(organizationName, dataSource)) {
+            println(writer, "Write DataSource file success: `" + dataSource.getName() + "`.");
+        }
+        List<DashboardTemplate> templateList = getDashboardTemplateList();
+        int dashboardCount;
+        int changedCount;
+        if (templateList != null) {
+            dashboardCount = templateList.size();
+            changedCount = fileWriter.writeDashboards(organizationName, getFolderName(), templateList, interval,
+                    dataSource.getName());
+        } else {
+            List<Dashboard> dashboardList = getDashboardList(organizationName, interval);
+            prepareDashboards(organizationName, dashboardList);
+            dashboardCount = dashboardList.size();
+            changedCount = fileWriter.writeDashboards(organizationName, getFolderName(), dashboardList);
+        }
+        println(writer, "Write dashboard files success: `" + getFolderName() + "`. dashboards: `" + dashboardCount
+                + "`. changed: `" + changedCount + "`.");
+        if (fileWriter.writeDashboardProvider(organizationName)) {
+            println(writer, "Write dashboard provider file success: `" + organizationName + "`.");
+        }
+    }
+
+    /**
+     * 获取组织信息，如果组织不存在，将会新建组织，如果检查点日志中已记录该步骤，将不会访问 Grafana。
+     *
+     * @param organizationName 组织名称
+     * @param journal 检查点日志，允许为 {@code null}
+     * @param writer 日志输出，允许为 {@code null}
+     * @return 组织信息
+     */
+    Organization prepareOrganization(String organizationName, ProvisioningJournal journal, PrintWriter writer) {
+        Organization organization;
+        int journaledOrganizationId = journal != null ? journal.getOrganizationId(organizationName) : -1;
+        if (journaledOrganizationId >= 0) {
+            organization = new Organization();
+            organization.setId(journaledOrganizationId);
+            organization.setName(organizationName);
+            println(writer, "Skip completed organization step: " + organization);
+        } else {
+            organization = organizationClient.createIfAbsent(organizationName);
+            println(writer, "Fetch organization success: " + organization);
+            if (journal != null) {
+                journal.recordOrganization(organizationName, organization.getId());
+            }
+        }
+        return organization;
+    }
+
+    /**
+     * 在组织中创建当前生成器使用的数据源，如果已存在，将检查是否一致，如果检查点日志中已记录该步骤，将不会访问 Grafana。
+     *
+     * @param organization 组织信息
+     * @param journal 检查点日志，允许为 {@code null}
+     * @param writer 日志输出，允许为 {@code null}
+     * @throws RuntimeException 如果已存在的数据源与期望的数据源不一致，将会抛出此异常
+     */
+    void prepareDataSource(Organization organization, ProvisioningJournal journal, PrintWriter writer) throws RuntimeException {
+        if (journal != null && journal.isDataSourceCompleted(organization.getId(), dataSource.getName())) {
+            println(writer, "Skip completed DataSource step: `" + dataSource.getName() + "`.");
+        } else {
+            createDataSourceIfAbsent(dataSourceClient.withOrganization(organization.getId()), writer);
+            if (journal != null) {
+                journal.recordDataSource(organization.getId(), dataSource.getName());
+            }
+        }
+    }
+
+    /**
+     * 获取当前生成器放置 dashboards 的文件夹，如果不存在，将会新建文件夹，如果检查点日志中已记录该步骤，将不会访问 Grafana。
+     *
+     * @param organization 组织信息
+     * @param journal 检查点日志，允许为 {@code null}
+     * @param writer 日志输出，允许为 {@code null}
+     * @return 文件夹信息
+     */
+    Folder prepareFolder(Organization organization, ProvisioningJournal journal, PrintWriter writer) {
+        Folder folder;
+        int journaledFolderId = journal != null ? journal.getFolderId(organization.getId(), getFolderName()) : -1;
+        if (journaledFolderId >= 0) {
+            folder = new Folder();
+            folder.setId(journaledFolderId);
+            folder.setTitle(getFolderName());
+            println(writer, "Skip completed folder step: " + folder);
+        } else {
+            folder = folderClient.withOrganization(organization.getId()).getOrCreate(getFolderName());
+            println(writer, "Fetch folder success: " + folder);
+            if (journal != null) {
+                journal.recordFolder(organization.getId(), getFolderName(), folder.getId());
+            }
+        }
+        return folder;
+    }
+
+    /**
+     * 获得需要保存的 dashboard 列表，将设置确定性 UID 及生成器标签，并移除检查点日志中已完成的 dashboard。
+     *
+     * @param organizationName 组织名称
+     * @param interval 图表目标数据获取周期
+     * @param journal 检查点日志，允许为 {@code null}
+     * @param writer 日志输出，允许为 {@code null}
+     * @return 需要保存的 dashboard 列表
+     */
+    List<Dashboard> prepareDashboardList(String organizationName, String interval, ProvisioningJournal journal, PrintWriter writer) {
+        List<Dashboard> dashboardList = getDashboardList(organizationName, interval);
+        prepareDashboards(organizationName, dashboardList);
+        if (journal != null) {
+            int dashboardCount = dashboardList.size();
+            dashboardList = new ArrayList<>(dashboardList);
+            dashboardList.removeIf(dashboard -> journal.isDashboardCompleted(dashboard.getUid(),
+                    DashboardFingerprint.getContentHash(dashboard)));
+            if (dashboardList.size() < dashboardCount) {
+                println(writer, "Skip completed dashboard steps: `" + (dashboardCount - dashboardList.size()) + "`.");
+            }
+        }
+        return dashboardList;
+    }
+
+    /**
+     * 如果组织中不存在同名数据源，将创建数据源，如果已存在，将检查数据源类型及访问路径是否一致。
+     *
+     * @param dataSourceClient 当前组织的数据源信息 API 客户端
+     * @param writer 日志输出，允许为 {@code null}
+     * @throws RuntimeException 如果已存在的数据源与期望的数据源不一致，将会抛出此异常
+     */
+    private void createDataSourceIfAbsent(DataSourceClient dataSourceClient, PrintWriter writer) throws RuntimeException {
         DataSource existedDataSource = dataSourceClient.getByName(dataSource.getName());
         if (existedDataSource == null) {
             existedDataSource = dataSourceClient.create(dataSource);
@@ -161,15 +398,300 @@ public abstract class AbstractDashboardsBuilder implements DashboardsBuilder {
                 throw new RuntimeException(errorMessage);
             }
         }
-        // create folder
-        Folder folder = folderClient.create(getFolderName());
-        println(writer, "Create folder success: " + folder);
-        // create dashboards
-        for (Dashboard dashboard : getDashboardList(organizationName, interval)) {
-            dashboardClient.create(dashboard, folder.getId());
-            println(writer, "Create dashboard success: `" + dashboard.getTitle() + "`.");
+    }
+
+    /**
+     * 获得文件预配置输出。
+     *
+     * @return 文件预配置输出，可能为 {@code null}
+     */
+    public FileProvisioningWriter getFileWriter() {
+        return fileWriter;
+    }
+
+    /**
+     * 设置文件预配置输出，设置后 {@link #build(String, String, OutputStream)} 将不再调用 Grafana http api，
+     * 而是将数据源、dashboards 及对应的预配置文件写入输出目录，由 Grafana 启动时加载。
+     *
+     * @param fileWriter 文件预配置输出，允许为 {@code null}，为 {@code null} 时通过 Grafana http api 创建
+     */
+    public void setFileWriter(FileProvisioningWriter fileWriter) {
+        this.fileWriter = fileWriter;
+    }
+
+    /**
+     * 获得检查点日志。
+     *
+     * @return 检查点日志，可能为 {@code null}
+     */
+    public ProvisioningJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * 设置检查点日志，设置后每完成一个步骤（组织、数据源、文件夹、dashboard）将追加一条记录，重新执行时将跳过已完成的步骤，
+     * 且不会访问 Grafana。检查点日志由调用方管理，生成器不会关闭该日志。
+     *
+     * <p>设置检查点日志后，无论是否开启增量同步模式，dashboard 均将通过 {@link DashboardClient#sync(Dashboard, int)} 保存，
+     * 已保存但未记录的 dashboard 在恢复执行时不会因已存在而导致失败。</p>
+     *
+     * @param journal 检查点日志，允许为 {@code null}
+     */
+    public void setJournal(ProvisioningJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * 获得创建 dashboard 使用的线程池，如果为 {@code null}，dashboard 将依次创建。
+     *
+     * @return 创建 dashboard 使用的线程池，可能为 {@code null}
+     */
+    public Executor getDashboardExecutor() {
+        return dashboardExecutor;
+    }
+
+    /**
+     * 设置创建 dashboard 使用的线程池，线程池由调用方管理，生成器不会关闭该线程池。
+     *
+     * @param dashboardExecutor 创建 dashboard 使用的线程池，允许为 {@code null}
+     */
+    public void setDashboardExecutor(Executor dashboardExecutor) {
+        this.dashboardExecutor = dashboardExecutor;
+    }
+
+    /**
+     * 获得允许同时创建或比较的最大 dashboard 数量。
+     *
+     * @return 允许同时创建的最大 dashboard 数量
+     */
+    public int getDashboardParallelism() {
+        return dashboardParallelism;
+    }
+
+    /**
+     * 设置允许同时创建的最大 dashboard 数量，仅在设置了 {@link #setDashboardExecutor(Executor)} 后生效。
+     *
+     * @param dashboardParallelism 允许同时创建的最大 dashboard 数量，不允许小于等于 0
+     * @throws IllegalArgumentException 如果 dashboardParallelism 小于等于 0，将会抛出此异常
+     */
+    public void setDashboardParallelism(int dashboardParallelism) throws IllegalArgumentException {
+        if (dashboardParallelism <= 0) {
+            String errorMessage = "Fails to set dashboard parallelism: `dashboardParallelism must be greater than 0`. dashboardParallelism: `"
+                    + dashboardParallelism + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.dashboardParallelism = dashboardParallelism;
+    }
+
+    /**
+     * 是否使用增量同步模式。
+     *
+     * @return 是否使用增量同步模式
+     */
+    public boolean isSyncEnabled() {
+        return syncEnabled;
+    }
+
+    /**
+     * 设置是否使用增量同步模式，开启后 dashboard 将使用由组织名称、生成器及标题生成的确定性 UID，并根据内容哈希值判断是否需要保存，
+     * 未变化的 dashboard 将被跳过，变化的 dashboard 将以覆盖的方式保存。
+     *
+     * @param syncEnabled 是否使用增量同步模式
+     * @see DashboardClient#sync(Dashboard, int)
+     */
+    public void setSyncEnabled(boolean syncEnabled) {
+        this.syncEnabled = syncEnabled;
+    }
+
+    /**
+     * 在指定的文件夹中创建 dashboard 列表，如果设置了线程池且允许同时创建的 dashboard 数量大于 1，dashboard 将并行创建，
+     * 日志将按 dashboard 列表的顺序输出。某个 dashboard 创建失败不会影响其它 dashboard 的创建，所有 dashboard 处理完成后，
+     * 如果存在失败的 dashboard，将抛出包含所有失败原因的异常。
+     *
+     * @param dashboardList 需要创建的 dashboard 列表
+     * @param folderId 文件夹 ID
+     * @param dashboardClient Dashboard 信息 API 客户端
+     * @param writer 日志输出，允许为 {@code null}
+     * @throws RuntimeException 如果存在创建失败的 dashboard，将会抛出此异常
+     */
+    protected void createDashboards(List<Dashboard> dashboardList, int folderId, DashboardClient dashboardClient,
+                                    PrintWriter writer) throws RuntimeException {
+        createDashboards(dashboardList, dashboard -> folderId, dashboardClient, writer);
+    }
+
+    /**
+     * 创建 dashboard 列表，每个 dashboard 可放置在不同的文件夹中，其它行为与 {@link #createDashboards(List, int, DashboardClient, PrintWriter)} 一致。
+     *
+     * @param dashboardList 需要创建的 dashboard 列表
+     * @param folderIdFunction 获得 dashboard 所在文件夹 ID 的函数
+     * @param dashboardClient Dashboard 信息 API 客户端
+     * @param writer 日志输出，允许为 {@code null}
+     * @throws RuntimeException 如果存在创建失败的 dashboard，将会抛出此异常
+     */
+    void createDashboards(List<Dashboard> dashboardList, ToIntFunction<Dashboard> folderIdFunction, DashboardClient dashboardClient,
+                          PrintWriter writer) throws RuntimeException {
+        List<CompletableFuture<String>> futureList = submitDashboardTasks(dashboardList,
+                dashboard -> saveDashboard(dashboard, folderIdFunction.applyAsInt(dashboard), dashboardClient));
+        joinDashboardTasks(dashboardList, futureList, writer, true, "Create dashboard failed",
+                "Fails to build dashboards", "created");
+    }
+
+    /**
+     * 依次或并行执行 dashboard 任务，如果设置了线程池且允许同时执行的任务数量大于 1，任务将在线程池中并行执行，
+     * 同时执行的任务数量不会超过 {@link #getDashboardParallelism()}。
+     *
+     * @param dashboardList dashboard 列表
+     * @param task dashboard 任务
+     * @param <T> 任务结果类型
+     * @return 与 dashboard 列表顺序一致的任务结果列表
+     * @throws RuntimeException 如果等待执行许可时线程被中断，将会抛出此异常
+     */
+    private <T> List<CompletableFuture<T>> submitDashboardTasks(List<Dashboard> dashboardList, Function<Dashboard, T> task) {
+        Executor executor = this.dashboardExecutor;
+        int parallelism = executor != null ? Math.min(dashboardParallelism, dashboardList.size()) : 1;
+        List<CompletableFuture<T>> futureList = new ArrayList<>(dashboardList.size());
+        if (parallelism <= 1) {
+            for (Dashboard dashboard : dashboardList) {
+                CompletableFuture<T> future = new CompletableFuture<>();
+                try {
+                    future.complete(task.apply(dashboard));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+                futureList.add(future);
+            }
+        } else {
+            Semaphore permits = new Semaphore(parallelism);
+            for (Dashboard dashboard : dashboardList) {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    String errorMessage = "Fails to submit dashboard task: `interrupted while waiting for permit`. dashboard: `"
+                            + dashboard.getTitle() + "`. submitted: `" + futureList.size() + "/" + dashboardList.size() + "`.";
+                    LOG.error(errorMessage, e);
+                    throw new RuntimeException(errorMessage, e);
+                }
+                try {
+                    futureList.add(CompletableFuture.supplyAsync(() -> task.apply(dashboard), executor)
+                            .whenComplete((result, throwable) -> permits.release()));
+                } catch (Exception e) {
+                    permits.release();
+                    CompletableFuture<T> future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                    futureList.add(future);
+                }
+            }
+        }
+        return futureList;
+    }
+
+    /**
+     * 按 dashboard 列表的顺序等待任务执行完成，所有任务完成后，如果存在失败的任务，将抛出包含所有失败原因的异常。
+     *
+     * @param dashboardList dashboard 列表
+     * @param futureList 与 dashboard 列表顺序一致的任务结果列表
+     * @param writer 日志输出，允许为 {@code null}
+     * @param printResult 是否输出任务结果
+     * @param failedText 任务失败时输出的日志前缀
+     * @param errorText 存在失败任务时的异常信息前缀
+     * @param operation 异常信息中使用的操作名称，例如：created
+     * @param <T> 任务结果类型
+     * @return 任务结果列表
+     * @throws RuntimeException 如果存在失败的任务，将会抛出此异常
+     */
+    private <T> List<T> joinDashboardTasks(List<Dashboard> dashboardList, List<CompletableFuture<T>> futureList, PrintWriter writer,
+                                           boolean printResult, String failedText, String errorText, String operation) throws RuntimeException {
+        List<T> resultList = new ArrayList<>(dashboardList.size());
+        List<String> failedTitleList = new ArrayList<>();
+        List<Throwable> failureList = new ArrayList<>();
+        for (int i = 0; i < dashboardList.size(); i++) {
+            String title = dashboardList.get(i).getTitle();
+            try {
+                T result = futureList.get(i).join();
+                if (printResult) {
+                    println(writer, String.valueOf(result));
+                }
+                resultList.add(result);
+            } catch (Exception e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                println(writer, failedText + ": `" + title + "`. error: `" + cause.getMessage() + "`.");
+                failedTitleList.add(title);
+                failureList.add(cause);
+            }
+        }
+        if (!failureList.isEmpty()) {
+            String errorMessage = errorText + ": `" + failedTitleList.size() + " of " + dashboardList.size()
+                    + " dashboards could not be " + operation + "`. failed: `" + failedTitleList + "`.";
+            LOG.error(errorMessage);
+            RuntimeException exception = new RuntimeException(errorMessage);
+            for (Throwable cause : failureList) {
+                exception.addSuppressed(cause);
+            }
+            throw exception;
+        }
+        return resultList;
+    }
+
+    /**
+     * 获取已部署的 dashboard 并与生成的 dashboard 进行比较。
+     *
+     * @param dashboard 生成的 dashboard
+     * @param folderId 文件夹 ID，如果小于 0，表示文件夹尚未创建
+     * @param dashboardClient Dashboard 信息 API 客户端
+     * @return dashboard 差异
+     */
+    private DashboardDiff diffDashboard(Dashboard dashboard, int folderId, DashboardClient dashboardClient) {
+        JsonNode deployed = dashboardClient.getByUid(dashboard.getUid());
+        if (deployed == null) {
+            return DashboardDiff.compare(dashboard, null, false);
         }
-        println(writer, "Create dashboards end. Builder: `" + getClass().getSimpleName() + "`.");
+        boolean folderChanged = folderId < 0 || deployed.path("meta").path("folderId").asInt(-1) != folderId;
+        return DashboardDiff.compare(dashboard, deployed.get("dashboard"), folderChanged);
+    }
+
+    /**
+     * 为未设置 UID 的 dashboard 设置由组织名称、文件夹名称及标题生成的确定性 UID，并添加 {@link DashboardFingerprint#GENERATED_TAG} 标签。
+     *
+     * @param organizationName 组织名称
+     * @param dashboardList dashboard 列表
+     */
+    private void prepareDashboards(String organizationName, List<Dashboard> dashboardList) {
+        for (Dashboard dashboard : dashboardList) {
+            if (dashboard.getUid() == null) {
+                dashboard.setUid(DashboardFingerprint.getUid(organizationName, getFolderName(), dashboard.getTitle()));
+            }
+            if (!dashboard.getTags().contains(DashboardFingerprint.GENERATED_TAG)) {
+                dashboard.getTags().add(DashboardFingerprint.GENERATED_TAG);
+            }
+        }
+    }
+
+    /**
+     * 保存 dashboard，如果开启了增量同步模式或设置了检查点日志，将通过 {@link DashboardClient#sync(Dashboard, int)} 同步，否则直接创建。
+     *
+     * @param dashboard dashboard 信息
+     * @param folderId 文件夹 ID
+     * @param dashboardClient Dashboard 信息 API 客户端
+     * @return 用于输出的保存结果信息
+     */
+    private String saveDashboard(Dashboard dashboard, int folderId, DashboardClient dashboardClient) {
+        ProvisioningJournal journal = this.journal;
+        String contentHash = journal != null ? DashboardFingerprint.getContentHash(dashboard) : null;
+        String result;
+        // 检查点日志中未记录的 dashboard 可能已保存成功，需使用同步模式保存，避免因已存在而失败
+        if (syncEnabled || journal != null) {
+            DashboardSyncResult syncResult = dashboardClient.sync(dashboard, folderId);
+            result = "Sync dashboard success: `" + dashboard.getTitle() + "`. result: `" + syncResult + "`.";
+        } else {
+            dashboardClient.create(dashboard, folderId);
+            result = "Create dashboard success: `" + dashboard.getTitle() + "`.";
+        }
+        if (journal != null) {
+            journal.recordDashboard(dashboard.getUid(), contentHash);
+        }
+        return result;
     }
 
     /**
@@ -188,6 +710,60 @@ public abstract class AbstractDashboardsBuilder implements DashboardsBuilder {
      */
     protected abstract List<Dashboard> getDashboardList(String organizationName, String interval);
 
+    /**
+     * 获得生成 dashboard 列表使用的 dashboard 工厂列表，dashboard 工厂将被编译为 {@link DashboardTemplate}，
+     * 批量生成 dashboard 时直接拼接模版字节，无需重新创建 dashboard 对象图。内置的生成器通过 {@link DashboardDefinitionLoader}
+     * 从资源文件加载声明式的 dashboard 定义。默认返回 {@code null}，表示不支持模版。
+     *
+     * @return dashboard 工厂列表，可能为 {@code null}
+     */
+    protected List<? extends DashboardTemplate.Factory> getDashboardFactoryList() {
+        return null;
+    }
+
+    /**
+     * 使用 {@link #getDashboardFactoryList()} 返回的 dashboard 工厂生成 dashboard 列表。
+     *
+     * @param organizationName 组织名称
+     * @param interval 图表目标数据获取周期，例如：30s、1m ...
+     * @return dashboard 列表
+     * @throws IllegalStateException 如果 {@link #getDashboardFactoryList()} 返回 {@code null}，将会抛出此异常
+     */
+    protected List<Dashboard> createDashboardList(String organizationName, String interval) throws IllegalStateException {
+        List<? extends DashboardTemplate.Factory> factoryList = getDashboardFactoryList();
+        if (factoryList == null) {
+            throw new IllegalStateException("Fails to create dashboard list: `dashboard factory list is null`. Builder: `"
+                    + getClass().getSimpleName() + "`.");
+        }
+        List<Dashboard> dashboardList = new ArrayList<>(factoryList.size());
+        for (DashboardTemplate.Factory factory : factoryList) {
+            dashboardList.add(factory.create(organizationName, interval, dataSource.getName()));
+        }
+        return dashboardList;
+    }
+
+    /**
+     * 获得由 {@link #getDashboardFactoryList()} 编译生成的 dashboard 模版列表，模版仅在首次调用时编译。
+     *
+     * @return dashboard 模版列表，如果不支持模版，将返回 {@code null}
+     */
+    public List<DashboardTemplate> getDashboardTemplateList() {
+        List<DashboardTemplate> templateList = dashboardTemplateList;
+        if (templateList == null) {
+            List<? extends DashboardTemplate.Factory> factoryList = getDashboardFactoryList();
+            if (factoryList == null) {
+                return null;
+            }
+            List<DashboardTemplate> compiledList = new ArrayList<>(factoryList.size());
+            for (DashboardTemplate.Factory factory : factoryList) {
+                compiledList.add(DashboardTemplate.compile(factory));
+            }
+            templateList = Collections.unmodifiableList(compiledList);
+            dashboardTemplateList = templateList;
+        }
+        return templateList;
+    }
+
     /**
      * 打印行日志，如果 writer 为 {@code null}，则不做任何操作。
      *
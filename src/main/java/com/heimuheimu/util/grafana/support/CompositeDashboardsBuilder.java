@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.support;
+
+import com.heimuheimu.util.grafana.DashboardsPlan;
+import com.heimuheimu.util.grafana.PlannableDashboardsBuilder;
+import com.heimuheimu.util.grafana.dashboard.Dashboard;
+import com.heimuheimu.util.grafana.folder.Folder;
+import com.heimuheimu.util.grafana.journal.ProvisioningJournal;
+import com.heimuheimu.util.grafana.organization.Organization;
+import com.heimuheimu.util.grafana.provisioning.FileProvisioningWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 组合 dashboards 生成器，为同一组织执行多个生成器时，组织及数据源的准备步骤仅执行一次，所有成员生成器的 dashboards
+ * 将通过同一个上传流程保存，每个成员生成器的 dashboards 仍放置在各自的文件夹中，UID 与单独执行该生成器时一致。
+ *
+ * <p>组织准备、上传使用的线程池、并行度、增量同步模式、检查点日志及文件预配置输出均使用第一个成员生成器的配置，
+ * 使用不同数据源的成员生成器将分别执行各自的数据源准备步骤。</p>
+ *
+ * <p><strong>说明：</strong>CompositeDashboardsBuilder 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class CompositeDashboardsBuilder implements PlannableDashboardsBuilder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompositeDashboardsBuilder.class);
+
+    /**
+     * 成员生成器列表
+     */
+    private final List<AbstractDashboardsBuilder> builderList;
+
+    /**
+     * 构造一个 CompositeDashboardsBuilder 实例。
+     *
+     * @param builderList 成员生成器列表，不允许为 {@code null} 或空
+     * @throws IllegalArgumentException 如果 builderList 为 {@code null} 或空，将会抛出此异常
+     */
+    public CompositeDashboardsBuilder(List<? extends AbstractDashboardsBuilder> builderList) throws IllegalArgumentException {
+        if (builderList == null || builderList.isEmpty()) {
+            String errorMessage = "Fails to construct CompositeDashboardsBuilder: `builderList could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.builderList = new ArrayList<>(builderList);
+    }
+
+    /**
+     * 根据类型列表从可用的生成器中选择成员生成器，并创建组合生成器，每个类型使用第一个支持该类型的生成器，同一生成器仅会被选择一次。
+     *
+     * @param builderList 可用的生成器列表
+     * @param builderTypes 生成器类型列表
+     * @return 组合生成器
+     * @throws IllegalArgumentException 如果某个类型没有对应的生成器，或没有选中任何生成器，将会抛出此异常
+     */
+    public static CompositeDashboardsBuilder of(List<? extends AbstractDashboardsBuilder> builderList, List<String> builderTypes)
+            throws IllegalArgumentException {
+        List<AbstractDashboardsBuilder> memberList = new ArrayList<>();
+        for (String builderType : builderTypes) {
+            AbstractDashboardsBuilder member = null;
+            for (AbstractDashboardsBuilder builder : builderList) {
+                if (builder.isSupported(builderType)) {
+                    member = builder;
+                    break;
+                }
+            }
+            if (member == null) {
+                String errorMessage = "Fails to create CompositeDashboardsBuilder: `unsupported builder type`. builderType: `"
+                        + builderType + "`.";
+                LOG.error(errorMessage);
+                throw new IllegalArgumentException(errorMessage);
+            }
+            if (!memberList.contains(member)) {
+                memberList.add(member);
+            }
+        }
+        return new CompositeDashboardsBuilder(memberList);
+    }
+
+    @Override
+    public boolean isSupported(String type) {
+        for (AbstractDashboardsBuilder builder : builderList) {
+            if (builder.isSupported(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void build(String organizationName, String interval, OutputStream outputStream) throws RuntimeException {
+        if (organizationName == null || organizationName.trim().isEmpty()) {
+            String errorMessage = "Fails to build dashboards: `organizationName could not be null or empty`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        PrintWriter writer = null;
+        if (outputStream != null) {
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), true);
+        }
+        AbstractDashboardsBuilder primary = builderList.get(0);
+        FileProvisioningWriter fileWriter = primary.getFileWriter();
+        if (fileWriter != null) {
+            // file provisioning output mode, no http request will be sent
+            for (AbstractDashboardsBuilder builder : builderList) {
+                builder.writeFiles(organizationName, interval, fileWriter, writer);
+            }
+            primary.println(writer, "Write dashboard files end. Builder: `" + this + "`.");
+            return;
+        }
+        ProvisioningJournal journal = primary.getJournal();
+        try {
+            // shared steps, executed once per organization
+            Organization organization = primary.prepareOrganization(organizationName, journal, writer);
+            Set<String> preparedDataSourceSet = new HashSet<>();
+            for (AbstractDashboardsBuilder builder : builderList) {
+                if (preparedDataSourceSet.add(builder.dataSource.getName())) {
+                    builder.prepareDataSource(organization, journal, writer);
+                }
+            }
+            // member steps, each builder keeps its own folder
+            List<Dashboard> dashboardList = new ArrayList<>();
+            Map<Dashboard, Integer> folderIdMap = new IdentityHashMap<>();
+            for (AbstractDashboardsBuilder builder : builderList) {
+                Folder folder = builder.prepareFolder(organization, journal, writer);
+                for (Dashboard dashboard : builder.prepareDashboardList(organizationName, interval, journal, writer)) {
+                    dashboardList.add(dashboard);
+                    folderIdMap.put(dashboard, folder.getId());
+                }
+            }
+            // one upload pipeline for all members
+            primary.createDashboards(dashboardList, folderIdMap::get, primary.dashboardClient.withOrganization(organization.getId()),
+                    writer);
+        } finally {
+            if (journal != null) {
+                journal.sync();
+            }
+        }
+        primary.println(writer, "Create dashboards end. Builder: `" + this + "`.");
+    }
+
+    @Override
+    public DashboardsPlan plan(String organizationName, String interval, OutputStream outputStream) throws RuntimeException {
+        DashboardsPlan plan = new DashboardsPlan();
+        plan.setOrganizationName(organizationName);
+        List<String> folderNameList = new ArrayList<>();
+        for (AbstractDashboardsBuilder builder : builderList) {
+            DashboardsPlan memberPlan = builder.plan(organizationName, interval, outputStream);
+            folderNameList.add(memberPlan.getFolderName());
+            plan.getDiffList().addAll(memberPlan.getDiffList());
+        }
+        plan.setFolderName(String.join(", ", folderNameList));
+        return plan;
+    }
+
+    @Override
+    public String toString() {
+        List<String> builderNameList = new ArrayList<>();
+        for (AbstractDashboardsBuilder builder : builderList) {
+            builderNameList.add(builder.getClass().getSimpleName());
+        }
+        return "CompositeDashboardsBuilder" + builderNameList;
+    }
+}
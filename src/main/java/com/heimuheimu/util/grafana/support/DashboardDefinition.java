@@ -0,0 +1,265 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.heimuheimu.util.grafana.dashboard.Dashboard;
+import com.heimuheimu.util.grafana.dashboard.DashboardTemplate;
+import com.heimuheimu.util.grafana.dashboard.panels.Graph;
+import com.heimuheimu.util.grafana.dashboard.panels.GridPos;
+import com.heimuheimu.util.grafana.dashboard.variables.Constant;
+import com.heimuheimu.util.grafana.dashboard.variables.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 声明式的 dashboard 定义，由 {@link DashboardDefinitionLoader} 从资源文件中解析生成，解析后不可修改。
+ *
+ * <p>定义格式如下，字符串中的 "${job}"、"${interval}"、"${datasource}" 在生成 dashboard 时将分别被替换为
+ * Prometheus job 名称、图表目标数据获取周期及数据源名称：</p>
+ * <pre>
+ * {
+ *   "title": "Execution",
+ *   "variables": [
+ *     {"name": "interval", "value": "${interval}"},
+ *     {"name": "name", "label": "Redis 集群名称", "query": "naiveredis_exec_count{job=\"${job}\"}", "regex": "/name=\"([^\"]+)\"/"}
+ *   ],
+ *   "filter": "name=~\"[[name]]\",job=\"[[job]]\"",
+ *   "legend": "{{instance}}",
+ *   "panels": [
+ *     {"metric": "naiveredis_exec_count", "description": "相邻两次采集周期内 Redis 操作执行次数"},
+ *     {"metric": "naiveredis_exec_error_count", "labels": "errorType=\"Timeout\"", "title": "naiveredis_exec_error_count:Timeout", "description": "..."},
+ *     {"expr": "sum(naiveredis_exec_count{job=\"[[job]]\"})", "title": "naiveredis_exec_count:sum", "description": "..."}
+ *   ]
+ * }
+ * </pre>
+ *
+ * <ul>
+ *     <li>variables：变量列表，包含 "query" 字段的为查询变量，否则为常量变量，值为 "value" 字段</li>
+ *     <li>filter：图表的公共标签过滤条件，可选</li>
+ *     <li>legend：图表的默认图例格式，可选，图表可通过 "legend" 字段覆盖</li>
+ *     <li>panels：图表列表，按顺序以两列布局排列，查询语句为 "expr" 字段，如果未设置，则由 "metric"、filter 及 "labels" 拼接生成，
+ *     图表标题未设置时使用 "metric" 字段</li>
+ * </ul>
+ *
+ * <p><strong>说明：</strong>DashboardDefinition 类是线程安全的，可在多个线程中使用同一个实例。</p>
+ *
+ * @author heimuheimu
+ */
+public class DashboardDefinition implements DashboardTemplate.Factory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardDefinition.class);
+
+    /**
+     * dashboard 标题
+     */
+    private final String title;
+
+    /**
+     * 变量定义列表
+     */
+    private final List<VariableDefinition> variableList;
+
+    /**
+     * 图表定义列表
+     */
+    private final List<PanelDefinition> panelList;
+
+    private DashboardDefinition(String title, List<VariableDefinition> variableList, List<PanelDefinition> panelList) {
+        this.title = title;
+        this.variableList = variableList;
+        this.panelList = panelList;
+    }
+
+    /**
+     * 获得 dashboard 标题。
+     *
+     * @return dashboard 标题
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public Dashboard create(String job, String interval, String datasource) {
+        Dashboard dashboard = new Dashboard();
+        dashboard.setTitle(title);
+        for (VariableDefinition variable : variableList) {
+            if (variable.query != null) {
+                dashboard.addVariable(new Query(variable.name, variable.label, substitute(variable.query, job, interval, datasource),
+                        variable.regex, datasource));
+            } else {
+                dashboard.addVariable(new Constant(variable.name, substitute(variable.value, job, interval, datasource)));
+            }
+        }
+        for (int panelIndex = 0; panelIndex < panelList.size(); panelIndex++) {
+            PanelDefinition panel = panelList.get(panelIndex);
+            dashboard.addPanel(new Graph((panelIndex + 1) * 2, panel.title, panel.description,
+                    new Graph.Target(substitute(panel.expr, job, interval, datasource), panel.legend),
+                    GridPos.buildForTwoColumns(panelIndex), "$interval", datasource));
+        }
+        return dashboard;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardDefinition{" +
+                "title='" + title + '\'' +
+                ", variables=" + variableList.size() +
+                ", panels=" + panelList.size() +
+                '}';
+    }
+
+    /**
+     * 解析 dashboard 定义。
+     *
+     * @param node dashboard 定义 JSON 节点
+     * @param source 定义来源，用于错误信息输出
+     * @return dashboard 定义
+     * @throws IllegalArgumentException 如果 dashboard 定义不正确，将会抛出此异常
+     */
+    static DashboardDefinition parse(JsonNode node, String source) throws IllegalArgumentException {
+        String title = getText(node, "title");
+        if (title == null) {
+            throw invalid(source, "title could not be null", node);
+        }
+        List<VariableDefinition> variableList = new ArrayList<>();
+        for (JsonNode variableNode : node.path("variables")) {
+            VariableDefinition variable = new VariableDefinition();
+            variable.name = getText(variableNode, "name");
+            variable.value = getText(variableNode, "value");
+            variable.label = getText(variableNode, "label");
+            variable.query = getText(variableNode, "query");
+            variable.regex = getText(variableNode, "regex");
+            if (variable.name == null || (variable.query == null && variable.value == null)) {
+                throw invalid(source, "variable requires name and value or query", variableNode);
+            }
+            variableList.add(variable);
+        }
+        String filter = getText(node, "filter");
+        String legend = getText(node, "legend");
+        List<PanelDefinition> panelList = new ArrayList<>();
+        for (JsonNode panelNode : node.path("panels")) {
+            PanelDefinition panel = new PanelDefinition();
+            String metric = getText(panelNode, "metric");
+            panel.expr = getText(panelNode, "expr");
+            if (panel.expr == null) {
+                if (metric == null) {
+                    throw invalid(source, "panel requires expr or metric", panelNode);
+                }
+                panel.expr = metric + "{" + join(filter, getText(panelNode, "labels")) + "}";
+            }
+            panel.title = panelNode.has("title") ? getText(panelNode, "title") : metric;
+            panel.description = getText(panelNode, "description");
+            panel.legend = panelNode.has("legend") ? getText(panelNode, "legend") : legend;
+            panelList.add(panel);
+        }
+        if (panelList.isEmpty()) {
+            throw invalid(source, "panels could not be empty", node);
+        }
+        return new DashboardDefinition(title, Collections.unmodifiableList(variableList), Collections.unmodifiableList(panelList));
+    }
+
+    private static String getText(JsonNode node, String fieldName) {
+        JsonNode fieldNode = node.get(fieldName);
+        return fieldNode != null && !fieldNode.isNull() ? fieldNode.asText() : null;
+    }
+
+    private static String join(String filter, String labels) {
+        if (filter == null) {
+            return labels != null ? labels : "";
+        }
+        return labels != null ? filter + "," + labels : filter;
+    }
+
+    private static String substitute(String text, String job, String interval, String datasource) {
+        if (text == null || !text.contains("${")) {
+            return text;
+        }
+        // 从左至右扫描一次，替换后的内容不会被再次解析，未知的占位符保持不变
+        StringBuilder buffer = new StringBuilder(text.length() + 64);
+        int index = 0;
+        int start;
+        while ((start = text.indexOf("${", index)) >= 0) {
+            int end = text.indexOf('}', start + 2);
+            if (end < 0) {
+                break;
+            }
+            String name = text.substring(start + 2, end);
+            String value = "job".equals(name) ? job : "interval".equals(name) ? interval
+                    : "datasource".equals(name) ? datasource : null;
+            buffer.append(text, index, start);
+            if (value != null) {
+                buffer.append(value);
+                index = end + 1;
+            } else {
+                buffer.append("${");
+                index = start + 2;
+            }
+        }
+        return buffer.append(text, index, text.length()).toString();
+    }
+
+    private static IllegalArgumentException invalid(String source, String reason, JsonNode node) {
+        String errorMessage = "Fails to parse dashboard definition: `" + reason + "`. source: `" + source + "`. node: `" + node + "`.";
+        LOG.error(errorMessage);
+        return new IllegalArgumentException(errorMessage);
+    }
+
+    /**
+     * 变量定义
+     */
+    private static class VariableDefinition {
+
+        private String name;
+
+        private String value;
+
+        private String label;
+
+        private String query;
+
+        private String regex;
+    }
+
+    /**
+     * 图表定义
+     */
+    private static class PanelDefinition {
+
+        private String title;
+
+        private String description;
+
+        private String expr;
+
+        private String legend;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 heimuheimu
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.heimuheimu.util.grafana.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dashboard 定义加载器，从 classpath 中的 "/dashboards/{名称}.json" 资源文件加载 {@link DashboardDefinition} 列表，
+ * 资源文件格式为 {"dashboards": [dashboard 定义, ...]}，dashboard 定义格式请参考 {@link DashboardDefinition}。
+ *
+ * <p>资源文件仅在首次加载时解析，解析结果将被缓存，后续加载直接返回缓存的定义列表。新增一类监控图表时，
+ * 仅需新增对应的资源文件，无需编写 dashboard 工厂类。</p>
+ *
+ * <p><strong>说明：</strong>DashboardDefinitionLoader 类是线程安全的，可在多个线程中使用。</p>
+ *
+ * @author heimuheimu
+ */
+public class DashboardDefinitionLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardDefinitionLoader.class);
+
+    /**
+     * dashboard 定义资源文件所在目录
+     */
+    private static final String RESOURCE_DIRECTORY = "/dashboards/";
+
+    /**
+     * 解析资源文件使用的 ObjectMapper
+     */
+    private static final ObjectMapper JSON_OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 已解析的 dashboard 定义列表，Key 为资源名称
+     */
+    private static final ConcurrentHashMap<String, List<DashboardDefinition>> DEFINITION_CACHE = new ConcurrentHashMap<>();
+
+    private DashboardDefinitionLoader() {
+        // private constructor
+    }
+
+    /**
+     * 加载指定名称的 dashboard 定义列表，资源文件仅在首次加载时解析。
+     *
+     * @param name 资源名称，例如："naiveredis-client" 对应资源文件 "/dashboards/naiveredis-client.json"，不允许为 {@code null}
+     * @return dashboard 定义列表，不会为 {@code null}
+     * @throws NullPointerException 如果 name 为 {@code null}，将会抛出此异常
+     * @throws IllegalArgumentException 如果资源文件不存在或 dashboard 定义不正确，将会抛出此异常
+     * @throws RuntimeException 如果读取资源文件时发生错误，将会抛出此异常
+     */
+    public static List<DashboardDefinition> load(String name) throws NullPointerException, IllegalArgumentException, RuntimeException {
+        if (name == null) {
+            String errorMessage = "Fails to load dashboard definitions: `name could not be null`.";
+            LOG.error(errorMessage);
+            throw new NullPointerException(errorMessage);
+        }
+        List<DashboardDefinition> definitionList = DEFINITION_CACHE.get(name);
+        if (definitionList == null) {
+            definitionList = DEFINITION_CACHE.computeIfAbsent(name, DashboardDefinitionLoader::parse);
+        }
+        return definitionList;
+    }
+
+    private static List<DashboardDefinition> parse(String name) throws IllegalArgumentException, RuntimeException {
+        String resource = RESOURCE_DIRECTORY + name + ".json";
+        JsonNode rootNode;
+        try (InputStream inputStream = DashboardDefinitionLoader.class.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                String errorMessage = "Fails to load dashboard definitions: `resource not found`. resource: `" + resource + "`.";
+                LOG.error(errorMessage);
+                throw new IllegalArgumentException(errorMessage);
+            }
+            rootNode = JSON_OBJECT_MAPPER.readTree(inputStream);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            String errorMessage = "Fails to load dashboard definitions. resource: `" + resource + "`.";
+            LOG.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        List<DashboardDefinition> definitionList = new ArrayList<>();
+        for (JsonNode dashboardNode : rootNode.path("dashboards")) {
+            definitionList.add(DashboardDefinition.parse(dashboardNode, resource));
+        }
+        if (definitionList.isEmpty()) {
+            String errorMessage = "Fails to load dashboard definitions: `dashboards could not be empty`. resource: `" + resource + "`.";
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        return Collections.unmodifiableList(definitionList);
+    }
+}
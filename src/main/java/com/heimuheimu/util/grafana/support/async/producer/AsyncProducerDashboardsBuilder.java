@@ -31,8 +31,9 @@ import com.heimuheimu.util.grafana.datasource.DataSourceClient;
 import com.heimuheimu.util.grafana.folder.FolderClient;
 import com.heimuheimu.util.grafana.organization.OrganizationClient;
 import com.heimuheimu.util.grafana.support.AbstractDashboardsBuilder;
+import com.heimuheimu.util.grafana.support.DashboardDefinition;
+import com.heimuheimu.util.grafana.support.DashboardDefinitionLoader;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -71,10 +72,12 @@ public class AsyncProducerDashboardsBuilder extends AbstractDashboardsBuilder {
 
     @Override
     protected List<Dashboard> getDashboardList(String organizationName, String interval) {
-        List<Dashboard> dashboardList = new ArrayList<>();
-        dashboardList.add(ExecutionDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        dashboardList.add(OverviewDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        return dashboardList;
+        return createDashboardList(organizationName, interval);
+    }
+
+    @Override
+    protected List<DashboardDefinition> getDashboardFactoryList() {
+        return DashboardDefinitionLoader.load("naiveasync-producer");
     }
 
     @Override
@@ -31,8 +31,9 @@ import com.heimuheimu.util.grafana.datasource.DataSourceClient;
 import com.heimuheimu.util.grafana.folder.FolderClient;
 import com.heimuheimu.util.grafana.organization.OrganizationClient;
 import com.heimuheimu.util.grafana.support.AbstractDashboardsBuilder;
+import com.heimuheimu.util.grafana.support.DashboardDefinition;
+import com.heimuheimu.util.grafana.support.DashboardDefinitionLoader;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -71,16 +72,12 @@ public class RavenDashboardsBuilder extends AbstractDashboardsBuilder {
 
     @Override
     protected List<Dashboard> getDashboardList(String organizationName, String interval) {
-        List<Dashboard> dashboardList = new ArrayList<>();
-        dashboardList.add(ByteMessageDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        dashboardList.add(ByteMessageOverviewDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        dashboardList.add(IMClientDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        dashboardList.add(IMClientOverviewDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        dashboardList.add(ManagerDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        dashboardList.add(ManagerExecutionDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        dashboardList.add(ManagerSocketDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        dashboardList.add(ManagerSocketOverviewDashboardFactory.create(organizationName, interval, dataSource.getName()));
-        return dashboardList;
+        return createDashboardList(organizationName, interval);
+    }
+
+    @Override
+    protected List<DashboardDefinition> getDashboardFactoryList() {
+        return DashboardDefinitionLoader.load("raven");
     }
 
     @Override